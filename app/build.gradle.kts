@@ -25,6 +25,12 @@ android {
         manifestPlaceholders["MAPS_API_KEY"] = properties.getProperty("MAPS_API_KEY", "")
         buildConfigField("String", "WEATHER_API_KEY", "\"${properties.getProperty("WEATHER_API_KEY")}\"")
 
+        // Export Room schemas so every database version is checked in next to its migration
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
     buildFeatures {
         buildConfig = true
@@ -43,6 +49,22 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+
+    testOptions {
+        // android.util.Log and friends are no-ops in unit tests instead of throwing
+        unitTests.isReturnDefaultValues = true
+        unitTests.all {
+            // Benchmarks only time code, run them on demand: ./gradlew testDebugUnitTest -Pbenchmark
+            if (project.hasProperty("benchmark")) {
+                it.systemProperty("benchmark.reportDir",
+                    layout.buildDirectory.dir("reports/benchmarks").get().asFile.path)
+                it.systemProperty("stormglass.payload",
+                    project.findProperty("stormglass.payload")?.let { path -> file(path).path } ?: "")
+            } else {
+                it.exclude("**/*Benchmark.class")
+            }
+        }
+    }
 }
 
 dependencies {
@@ -50,8 +72,13 @@ dependencies {
     implementation(libs.appcompat)
     implementation(libs.material)
     testImplementation(libs.junit)
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.11.0")
+    // Host SQLite for the *Benchmark harnesses
+    testImplementation("org.xerial:sqlite-jdbc:3.41.2.2")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    // Local stand-in for the sync backend
+    androidTestImplementation("com.squareup.okhttp3:mockwebserver:4.11.0")
 
     // Room database dependencies
     implementation("androidx.room:room-runtime:2.6.1")
@@ -66,6 +93,12 @@ dependencies {
     // RecyclerView for lists
     implementation("androidx.recyclerview:recyclerview:1.3.2")
 
+    // Paging 3 for the hike list (Guava artifact for ListenableFuture-based PagingSource in Java)
+    implementation("androidx.paging:paging-runtime:3.2.1")
+    implementation("androidx.paging:paging-guava:3.2.1")
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.7.0")
+    implementation("com.google.guava:guava:32.1.3-android")
+
     // CardView for UI components
     implementation("androidx.cardview:cardview:1.0.0")
 
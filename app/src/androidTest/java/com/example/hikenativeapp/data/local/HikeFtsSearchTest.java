@@ -0,0 +1,163 @@
+package com.example.hikenativeapp.data.local;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.dao.ObservationDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.entity.User;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
+import com.example.hikenativeapp.util.FtsQueryUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prefix MATCH over hikes_fts and observations_fts, kept in step with their tables by Room's content triggers
+ */
+@RunWith(AndroidJUnit4.class)
+public class HikeFtsSearchTest {
+
+    private AppDatabase database;
+    private HikeDao hikeDao;
+    private ObservationDao observationDao;
+    private int userId;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        hikeDao = database.hikeDao();
+        observationDao = database.observationDao();
+        userId = (int) database.userDao().insertUser(new User("google-1", "a@example.com", "A", null));
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    private int insertHike(int owner, String name, String location, String description) {
+        Hike hike = new Hike(owner, name, location, LocalDate.of(2025, 5, 1), true, 8.5,
+                "Moderate", description, null, 20, 3);
+        return (int) hikeDao.insertHike(hike);
+    }
+
+    private List<String> search(String input) {
+        List<String> names = new ArrayList<>();
+        for (HikeListItem item : hikeDao.searchHikesFts(userId, FtsQueryUtil.toPrefixQuery(input))) {
+            names.add(item.getName());
+        }
+        return names;
+    }
+
+    private int insertObservation(int hikeId, String text, String comments) {
+        Observation observation = new Observation(hikeId, text, LocalDateTime.of(2025, 5, 1, 9, 30), comments);
+        return (int) observationDao.insertObservation(observation);
+    }
+
+    private List<ObservationSearchResult> searchObservations(int hikeId, String input) {
+        return observationDao.searchObservationsInHike(hikeId, FtsQueryUtil.toPrefixQuery(input));
+    }
+
+    @Test
+    public void prefixesOfEveryWordMatch() {
+        insertHike(userId, "Mountain Ridge Trail", "Sa Pa", "Terraced fields");
+        insertHike(userId, "Lake Loop", "Ba Be", "Flat walk around the lake");
+
+        List<String> names = search("mou ridg");
+        assertEquals(1, names.size());
+        assertEquals("Mountain Ridge Trail", names.get(0));
+        // Location and description are indexed too
+        assertEquals("Lake Loop", search("be").get(0));
+        assertEquals("Mountain Ridge Trail", search("terrace").get(0));
+        assertTrue(search("ridge lake").isEmpty());
+    }
+
+    @Test
+    public void operatorsInInputAreSearchedAsWords() {
+        insertHike(userId, "Ridge OR Valley", "Da Lat", null);
+        insertHike(userId, "Valley View", "Da Lat", null);
+
+        // Lower-cased, "or" is a term and not the OR operator
+        assertEquals(1, search("ridge OR").size());
+        assertEquals(2, search("\"valley\"*").size());
+        assertNull(FtsQueryUtil.toPrefixQuery("*\"()"));
+    }
+
+    @Test
+    public void indexFollowsUpdatesAndSkipsDeletedAndOtherUsers() {
+        int hikeId = insertHike(userId, "Old Name", "Hue", null);
+        int otherUser = (int) database.userDao().insertUser(new User("google-2", "b@example.com", "B", null));
+        insertHike(otherUser, "Old Name", "Hue", null);
+
+        Hike hike = hikeDao.getHikeById(hikeId);
+        hike.setName("Renamed Pass");
+        hikeDao.updateHike(hike);
+        assertTrue(search("old").isEmpty());
+        assertEquals(1, search("renam").size());
+
+        hikeDao.softDeleteHike(hikeId, Instant.now());
+        assertTrue(search("renam").isEmpty());
+    }
+
+    @Test
+    public void observationSearchIsScopedToTheHike() {
+        int hikeId = insertHike(userId, "Mountain Ridge Trail", "Sa Pa", null);
+        int otherHike = insertHike(userId, "Lake Loop", "Ba Be", null);
+        int kept = insertObservation(hikeId, "Waterfall below the pass", null);
+        int deleted = insertObservation(hikeId, "Second waterfall", null);
+        insertObservation(otherHike, "Waterfall at the lake", null);
+        observationDao.softDeleteObservation(deleted, Instant.now());
+
+        List<ObservationSearchResult> results = searchObservations(hikeId, "water");
+        assertEquals(1, results.size());
+        assertEquals(kept, results.get(0).getObservation().getId());
+        assertTrue(searchObservations(hikeId, "lake").isEmpty());
+    }
+
+    @Test
+    public void snippetsMarkTheMatchedTermsOfEachColumn() {
+        int hikeId = insertHike(userId, "Mountain Ridge Trail", "Sa Pa", null);
+        insertObservation(hikeId, "Saw a waterfall near camp", "Cold wind on the ridge");
+
+        ObservationSearchResult inText = searchObservations(hikeId, "waterf").get(0);
+        String marked = ObservationSearchResult.MATCH_START + "waterfall" + ObservationSearchResult.MATCH_END;
+        assertTrue(inText.getTextSnippet().contains(marked));
+        assertFalse(ObservationSearchResult.hasMatch(inText.getCommentsSnippet()));
+
+        ObservationSearchResult inComments = searchObservations(hikeId, "cold").get(0);
+        assertFalse(ObservationSearchResult.hasMatch(inComments.getTextSnippet()));
+        assertTrue(ObservationSearchResult.hasMatch(inComments.getCommentsSnippet()));
+    }
+
+    @Test
+    public void observationIndexFollowsUpdates() {
+        int hikeId = insertHike(userId, "Mountain Ridge Trail", "Sa Pa", null);
+        int observationId = insertObservation(hikeId, "Fog in the valley", null);
+
+        Observation observation = observationDao.getObservationById(observationId);
+        observation.setObservationText("Clear sky at the summit");
+        observationDao.updateObservation(observation);
+        assertTrue(searchObservations(hikeId, "fog").isEmpty());
+        assertEquals(1, searchObservations(hikeId, "summ").size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.hikenativeapp.data.local;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.entity.User;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * HikeListItem rows of the list screen, read without loading full Hike entities
+ */
+@RunWith(AndroidJUnit4.class)
+public class HikeListItemQueryTest {
+
+    private AppDatabase database;
+    private HikeDao hikeDao;
+    private int userId;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        hikeDao = database.hikeDao();
+        userId = (int) database.userDao().insertUser(new User("google-1", "a@example.com", "A", null));
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    private int insertHike(String name, LocalDate date) {
+        Hike hike = new Hike(userId, name, "Sa Pa", date, true, 12.5, "Hard",
+                "A long description the list never shows", "Sunny", 18, 6);
+        hike.setLatitude(22.34);
+        hike.setLongitude(103.84);
+        return (int) hikeDao.insertHike(hike);
+    }
+
+    @Test
+    public void itemCarriesTheListColumns() {
+        int hikeId = insertHike("Fansipan", LocalDate.of(2025, 4, 2));
+        Hike hike = hikeDao.getHikeById(hikeId);
+
+        List<HikeListItem> items = hikeDao.getHikeListItemsByUserId(userId);
+        assertEquals(1, items.size());
+        HikeListItem item = items.get(0);
+        assertEquals(hikeId, item.getId());
+        assertEquals("Fansipan", item.getName());
+        assertEquals("Sa Pa", item.getLocation());
+        assertEquals(22.34, item.getLatitude(), 0.0);
+        assertEquals(103.84, item.getLongitude(), 0.0);
+        assertEquals(LocalDate.of(2025, 4, 2), item.getHikeDate());
+        assertTrue(item.isParkingAvailable());
+        assertEquals(12.5, item.getLength(), 0.0);
+        assertEquals("Hard", item.getDifficulty());
+        assertEquals(hike.getLastUpdated(), item.getLastUpdated());
+    }
+
+    @Test
+    public void newestFirstWithoutDeletedHikes() {
+        insertHike("Older", LocalDate.of(2025, 1, 5));
+        int deleted = insertHike("Deleted", LocalDate.of(2025, 3, 1));
+        insertHike("Newer", LocalDate.of(2025, 2, 5));
+        hikeDao.softDeleteHike(deleted, Instant.now());
+
+        List<HikeListItem> items = hikeDao.getHikeListItemsByUserId(userId);
+        assertEquals(2, items.size());
+        assertEquals("Newer", items.get(0).getName());
+        assertEquals("Older", items.get(1).getName());
+    }
+
+    private int insertObservation(int hikeId, String text) {
+        return (int) database.observationDao().insertObservation(
+                new Observation(hikeId, text, LocalDateTime.of(2025, 4, 2, 9, 30), null));
+    }
+
+    @Test
+    public void observationCountLeavesOutDeletedObservations() {
+        int withObservations = insertHike("Fansipan", LocalDate.of(2025, 4, 2));
+        int withoutObservations = insertHike("Lang Biang", LocalDate.of(2025, 3, 2));
+        insertObservation(withObservations, "Clouds below the summit");
+        insertObservation(withObservations, "Rhododendron");
+        int deleted = insertObservation(withObservations, "Wrong photo");
+        database.observationDao().softDeleteObservation(deleted, Instant.now());
+
+        List<HikeListItem> items = hikeDao.getHikeListItemsByUserId(userId);
+        assertEquals(2, items.size());
+        assertEquals(withObservations, items.get(0).getId());
+        assertEquals(2, items.get(0).getObservationCount());
+        assertEquals(withoutObservations, items.get(1).getId());
+        assertEquals(0, items.get(1).getObservationCount());
+
+        // Same per-row count as the single hike query
+        assertEquals(database.observationDao().getObservationCountByHikeId(withObservations),
+                items.get(0).getObservationCount());
+    }
+
+    @Test
+    public void observationCountOnPagesAndSearch() {
+        int hikeId = insertHike("Fansipan", LocalDate.of(2025, 4, 2));
+        insertObservation(hikeId, "Clouds below the summit");
+        int deleted = insertObservation(hikeId, "Wrong photo");
+        database.observationDao().softDeleteObservation(deleted, Instant.now());
+
+        assertEquals(1, hikeDao.getHikesPage(userId, 10).get(0).getObservationCount());
+        assertEquals(1, hikeDao.searchHikesByName(userId, "Fansi").get(0).getObservationCount());
+        assertEquals(1, hikeDao.searchHikesFts(userId, "fansi*").get(0).getObservationCount());
+
+        // All observations of the hike deleted
+        database.observationDao().softDeleteObservationsByHikeId(hikeId, Instant.now());
+        assertEquals(0, hikeDao.getHikesPage(userId, 10).get(0).getObservationCount());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.hikenativeapp.data.local;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.dao.HikeStatsDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.HikeStats;
+import com.example.hikenativeapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+/**
+ * hike_stats follows every write to hikes through the triggers,
+ * and always equals what rebuildStatsByUserId recomputes from the table
+ */
+@RunWith(AndroidJUnit4.class)
+public class HikeStatsTriggerTest {
+
+    private AppDatabase database;
+    private HikeDao hikeDao;
+    private HikeStatsDao statsDao;
+    private int userId;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // Same callback as the app database, an in-memory database is built by Room too
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGER_CALLBACK)
+                .allowMainThreadQueries()
+                .build();
+        hikeDao = database.hikeDao();
+        statsDao = database.hikeStatsDao();
+        userId = (int) database.userDao().insertUser(new User("google-1", "a@example.com", "A", null));
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    private int insertHike(double length, String difficulty, boolean parking, double temperature) {
+        Hike hike = new Hike(userId, "Hike", "Sa Pa", LocalDate.of(2025, 4, 2), parking, length, difficulty,
+                null, "Sunny", temperature, 2);
+        return (int) hikeDao.insertHike(hike);
+    }
+
+    // Stats kept by the triggers must match a full recompute
+    private HikeStats assertMatchesRebuild() {
+        HikeStats kept = statsDao.getStatsByUserId(userId);
+        statsDao.rebuildStatsByUserId(userId);
+        HikeStats rebuilt = statsDao.getStatsByUserId(userId);
+        if (rebuilt == null) {
+            // No live hikes left, the kept row is all zero
+            assertEquals(0, kept.getTotalHikes());
+            assertEquals(0.0, kept.getTotalDistance(), 1e-9);
+            return kept;
+        }
+        assertEquals(rebuilt.getTotalHikes(), kept.getTotalHikes());
+        assertEquals(rebuilt.getTotalDistance(), kept.getTotalDistance(), 1e-9);
+        assertEquals(rebuilt.getTotalDuration(), kept.getTotalDuration(), 1e-9);
+        assertEquals(rebuilt.getTemperatureSum(), kept.getTemperatureSum(), 1e-9);
+        assertEquals(rebuilt.getTemperatureCount(), kept.getTemperatureCount());
+        assertEquals(rebuilt.getEasyHikes(), kept.getEasyHikes());
+        assertEquals(rebuilt.getModerateHikes(), kept.getModerateHikes());
+        assertEquals(rebuilt.getHardHikes(), kept.getHardHikes());
+        assertEquals(rebuilt.getHikesWithParking(), kept.getHikesWithParking());
+        return kept;
+    }
+
+    @Test
+    public void insertAddsToTotals() {
+        insertHike(10, "Hard", true, 20);
+        insertHike(4.5, "easy", false, 0);
+
+        HikeStats stats = assertMatchesRebuild();
+        assertEquals(2, stats.getTotalHikes());
+        assertEquals(14.5, stats.getTotalDistance(), 1e-9);
+        assertEquals(4.0, stats.getTotalDuration(), 1e-9);
+        // 0 degrees means no temperature, it is left out of the average
+        assertEquals(20.0, stats.getTemperatureSum(), 1e-9);
+        assertEquals(1, stats.getTemperatureCount());
+        assertEquals(1, stats.getEasyHikes());
+        assertEquals(1, stats.getHardHikes());
+        assertEquals(1, stats.getHikesWithParking());
+    }
+
+    @Test
+    public void updateMovesTheHikeBetweenBuckets() {
+        int hikeId = insertHike(10, "Easy", false, 15);
+
+        Hike hike = hikeDao.getHikeById(hikeId);
+        hike.setLength(7);
+        hike.setDifficulty("Moderate");
+        hike.setParkingAvailable(true);
+        hikeDao.updateHike(hike);
+
+        HikeStats stats = assertMatchesRebuild();
+        assertEquals(1, stats.getTotalHikes());
+        assertEquals(7.0, stats.getTotalDistance(), 1e-9);
+        assertEquals(0, stats.getEasyHikes());
+        assertEquals(1, stats.getModerateHikes());
+        assertEquals(1, stats.getHikesWithParking());
+    }
+
+    @Test
+    public void softDeleteAndRestore() {
+        insertHike(3, "Easy", false, 10);
+        int hikeId = insertHike(10, "Hard", true, 20);
+
+        hikeDao.softDeleteHike(hikeId, Instant.now());
+        HikeStats stats = assertMatchesRebuild();
+        assertEquals(1, stats.getTotalHikes());
+        assertEquals(3.0, stats.getTotalDistance(), 1e-9);
+        assertEquals(0, stats.getHardHikes());
+
+        // Soft deleting again must not subtract twice
+        hikeDao.softDeleteHike(hikeId, Instant.now());
+        assertEquals(1, assertMatchesRebuild().getTotalHikes());
+
+        hikeDao.restoreHike(hikeId, Instant.now());
+        stats = assertMatchesRebuild();
+        assertEquals(2, stats.getTotalHikes());
+        assertEquals(13.0, stats.getTotalDistance(), 1e-9);
+        assertEquals(1, stats.getHardHikes());
+    }
+
+    @Test
+    public void hardDeleteOnlyCountsLiveHikes() {
+        int liveId = insertHike(5, "Moderate", true, 12);
+        int deletedId = insertHike(8, "Hard", false, 18);
+        hikeDao.softDeleteHike(deletedId, Instant.now());
+
+        // Removing an already soft deleted hike leaves the totals alone
+        hikeDao.deleteHike(hikeDao.getHikeByIdIncludingDeleted(deletedId));
+        assertEquals(1, assertMatchesRebuild().getTotalHikes());
+
+        hikeDao.deleteHike(hikeDao.getHikeById(liveId));
+        HikeStats stats = assertMatchesRebuild();
+        assertEquals(0, stats.getTotalHikes());
+        assertEquals(0, stats.getModerateHikes());
+        assertEquals(0, stats.getHikesWithParking());
+    }
+}
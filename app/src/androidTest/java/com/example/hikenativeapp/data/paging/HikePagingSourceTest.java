@@ -0,0 +1,269 @@
+package com.example.hikenativeapp.data.paging;
+
+import android.content.Context;
+
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingSource;
+import androidx.paging.PagingState;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.User;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Keyset pages of HikePagingSource: newest first with hike_date ties split by id,
+ * hikes without a date last, in both directions and from a refresh anchor
+ */
+@RunWith(AndroidJUnit4.class)
+public class HikePagingSourceTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private AppDatabase database;
+    private HikeDao hikeDao;
+    private int userId;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        hikeDao = database.hikeDao();
+        userId = (int) database.userDao().insertUser(new User("google-1", "a@example.com", "A", null));
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    private int insertHike(LocalDate date) {
+        Hike hike = new Hike(userId, "Hike", "Sa Pa", date, true, 12.5, "Hard", null, "Sunny", 18, 6);
+        return (int) hikeDao.insertHike(hike);
+    }
+
+    private HikePagingSource newSource() {
+        return new HikePagingSource(hikeDao, database.getInvalidationTracker(), userId,
+                MoreExecutors.newDirectExecutorService());
+    }
+
+    private PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> load(
+            HikePagingSource source, PagingSource.LoadParams<HikePagingSource.PageKey> params) throws Exception {
+        PagingSource.LoadResult<HikePagingSource.PageKey, HikeListItem> result = source.loadFuture(params).get();
+        if (result instanceof PagingSource.LoadResult.Error) {
+            throw new AssertionError(((PagingSource.LoadResult.Error<?, ?>) result).getThrowable());
+        }
+        return (PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>) result;
+    }
+
+    private static List<Integer> ids(List<HikeListItem> hikes) {
+        List<Integer> ids = new ArrayList<>();
+        for (HikeListItem hike : hikes) {
+            ids.add(hike.getId());
+        }
+        return ids;
+    }
+
+    // Every page from the top, appended until the source has no next key
+    private List<PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>> loadAll(
+            HikePagingSource source) throws Exception {
+        List<PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>> pages = new ArrayList<>();
+        pages.add(load(source, new PagingSource.LoadParams.Refresh<>(null, PAGE_SIZE, false)));
+        HikePagingSource.PageKey next = pages.get(0).getNextKey();
+        while (next != null) {
+            PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page =
+                    load(source, new PagingSource.LoadParams.Append<>(next, PAGE_SIZE, false));
+            pages.add(page);
+            next = page.getNextKey();
+        }
+        return pages;
+    }
+
+    private static List<Integer> concat(List<PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>> pages) {
+        List<Integer> ids = new ArrayList<>();
+        for (PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page : pages) {
+            ids.addAll(ids(page.getData()));
+        }
+        return ids;
+    }
+
+    @Test
+    public void appendSplitsDateTiesByIdAndPutsUndatedHikesLast() throws Exception {
+        int undatedOld = insertHike(null);
+        int tieLow = insertHike(LocalDate.of(2025, 3, 1));
+        int newest = insertHike(LocalDate.of(2025, 4, 2));
+        int tieMid = insertHike(LocalDate.of(2025, 3, 1));
+        int undatedNew = insertHike(null);
+        int tieHigh = insertHike(LocalDate.of(2025, 3, 1));
+        int oldest = insertHike(LocalDate.of(2024, 12, 24));
+
+        List<Integer> expected = Arrays.asList(newest, tieHigh, tieMid, tieLow, oldest, undatedNew, undatedOld);
+        assertEquals(expected, concat(loadAll(newSource())));
+    }
+
+    @Test
+    public void pageThatReachesTheUndatedHikesIsFilledFromThem() throws Exception {
+        int dated = insertHike(LocalDate.of(2025, 4, 2));
+        insertHike(null);
+        int undatedNew = insertHike(null);
+
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> first =
+                load(newSource(), new PagingSource.LoadParams.Refresh<>(null, PAGE_SIZE, false));
+        assertEquals(Arrays.asList(dated, undatedNew), ids(first.getData()));
+        assertNull(first.getPrevKey());
+        assertNotNull(first.getNextKey());
+        assertNull(first.getNextKey().hikeDate);
+    }
+
+    @Test
+    public void onlyUndatedHikes() throws Exception {
+        int first = insertHike(null);
+        int second = insertHike(null);
+        int third = insertHike(null);
+
+        List<PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>> pages = loadAll(newSource());
+        assertEquals(Arrays.asList(third, second, first), concat(pages));
+        assertNull(pages.get(pages.size() - 1).getNextKey());
+    }
+
+    @Test
+    public void lastPageHasNoNextKey() throws Exception {
+        insertHike(LocalDate.of(2025, 4, 2));
+        insertHike(LocalDate.of(2025, 4, 1));
+        insertHike(LocalDate.of(2025, 3, 31));
+
+        List<PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>> pages = loadAll(newSource());
+        assertEquals(2, pages.size());
+        assertEquals(1, pages.get(1).getData().size());
+        assertNull(pages.get(1).getNextKey());
+    }
+
+    @Test
+    public void prependFromTheBottomWalksBackToTheTop() throws Exception {
+        insertHike(null);
+        insertHike(LocalDate.of(2025, 3, 1));
+        insertHike(LocalDate.of(2025, 4, 2));
+        insertHike(LocalDate.of(2025, 3, 1));
+        insertHike(null);
+        insertHike(null);
+        insertHike(LocalDate.of(2025, 3, 1));
+        HikePagingSource source = newSource();
+        List<Integer> expected = concat(loadAll(source));
+
+        // Start on the last row and prepend until there is nothing newer, across the undated/dated boundary
+        int last = expected.get(expected.size() - 1);
+        List<Integer> walked = new ArrayList<>();
+        walked.add(last);
+        HikePagingSource.PageKey prev = new HikePagingSource.PageKey(null, last);
+        while (prev != null) {
+            PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page =
+                    load(source, new PagingSource.LoadParams.Prepend<>(prev, PAGE_SIZE, false));
+            walked.addAll(0, ids(page.getData()));
+            prev = page.getPrevKey();
+        }
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    public void prependFromTheTopIsEmpty() throws Exception {
+        int newest = insertHike(LocalDate.of(2025, 4, 2));
+        insertHike(LocalDate.of(2025, 4, 1));
+
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page = load(newSource(),
+                new PagingSource.LoadParams.Prepend<>(
+                        new HikePagingSource.PageKey(LocalDate.of(2025, 4, 2), newest), PAGE_SIZE, false));
+        assertTrue(page.getData().isEmpty());
+        assertNull(page.getPrevKey());
+    }
+
+    @Test
+    public void prependWithinADateTie() throws Exception {
+        LocalDate tie = LocalDate.of(2025, 3, 1);
+        int low = insertHike(tie);
+        int mid = insertHike(tie);
+        int high = insertHike(tie);
+
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page = load(newSource(),
+                new PagingSource.LoadParams.Prepend<>(new HikePagingSource.PageKey(tie, low), PAGE_SIZE, false));
+        assertEquals(Arrays.asList(high, mid), ids(page.getData()));
+    }
+
+    @Test
+    public void refreshStartsHalfAPageAboveTheAnchor() throws Exception {
+        for (int day = 1; day <= 5; day++) {
+            insertHike(LocalDate.of(2025, 3, day));
+        }
+        insertHike(null);
+        insertHike(null);
+        HikePagingSource source = newSource();
+        List<PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem>> pages = loadAll(source);
+        List<Integer> all = concat(pages);
+
+        // User looking at the first undated hike
+        int anchor = 5;
+        PagingState<HikePagingSource.PageKey, HikeListItem> state =
+                new PagingState<>(pages, anchor, new PagingConfig(PAGE_SIZE), 0);
+        HikePagingSource.PageKey refreshKey = source.getRefreshKey(state);
+        assertNotNull(refreshKey);
+        assertEquals((int) all.get(anchor - PAGE_SIZE / 2), refreshKey.id);
+
+        // A new hike on top must not move the refreshed page
+        insertHike(LocalDate.of(2025, 4, 2));
+        HikePagingSource refreshed = newSource();
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page =
+                load(refreshed, new PagingSource.LoadParams.Refresh<>(refreshKey, PAGE_SIZE, false));
+        assertEquals(all.subList(anchor - PAGE_SIZE / 2, anchor - PAGE_SIZE / 2 + PAGE_SIZE), ids(page.getData()));
+        assertNotNull(page.getPrevKey());
+
+        // The rows above it are one prepend away, the new hike further up
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> above =
+                load(refreshed, new PagingSource.LoadParams.Prepend<>(page.getPrevKey(), PAGE_SIZE, false));
+        assertEquals(all.subList(anchor - PAGE_SIZE / 2 - PAGE_SIZE, anchor - PAGE_SIZE / 2), ids(above.getData()));
+    }
+
+    @Test
+    public void refreshOnAnUndatedAnchorIncludesIt() throws Exception {
+        insertHike(LocalDate.of(2025, 3, 1));
+        int undatedOld = insertHike(null);
+        int undatedNew = insertHike(null);
+
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page = load(newSource(),
+                new PagingSource.LoadParams.Refresh<>(new HikePagingSource.PageKey(null, undatedNew), PAGE_SIZE, false));
+        assertEquals(Arrays.asList(undatedNew, undatedOld), ids(page.getData()));
+        assertNotNull(page.getPrevKey());
+    }
+
+    @Test
+    public void refreshWhoseAnchorIsGoneStartsAtTheTop() throws Exception {
+        int newest = insertHike(LocalDate.of(2025, 4, 2));
+        int next = insertHike(LocalDate.of(2025, 4, 1));
+        int anchor = insertHike(LocalDate.of(2025, 3, 1));
+        hikeDao.softDeleteHike(anchor, Instant.now());
+
+        PagingSource.LoadResult.Page<HikePagingSource.PageKey, HikeListItem> page = load(newSource(),
+                new PagingSource.LoadParams.Refresh<>(
+                        new HikePagingSource.PageKey(LocalDate.of(2025, 3, 1), anchor), PAGE_SIZE, false));
+        assertEquals(Arrays.asList(newest, next), ids(page.getData()));
+        assertNull(page.getPrevKey());
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.hikenativeapp.data.sync;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hikenativeapp.api.SyncService;
+import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.local.dao.SyncOutboxDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.entity.User;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Uploads of the sync outbox against a local stand-in backend
+ */
+@RunWith(AndroidJUnit4.class)
+public class SyncOutboxUploadTest {
+
+    private static final String OK = "{\"success\": true, \"message\": \"Synced\"}";
+
+    private MockWebServer server;
+    private AppDatabase database;
+    private SyncOutboxDao outboxDao;
+    private SyncOutbox outbox;
+    private int userId;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        outboxDao = database.syncOutboxDao();
+        userId = (int) database.userDao().insertUser(new User("google-1", "a@example.com", "A", null));
+
+        outbox = new SyncOutbox(context, database,
+                SyncService.createApi(server.url("/").toString(), new OkHttpClient()), () -> "Bearer test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        outbox.shutdown();
+        database.close();
+        server.shutdown();
+    }
+
+    private int insertHike(String name) {
+        Hike hike = new Hike(userId, name, "Sa Pa", LocalDate.of(2025, 4, 2), true, 12.5, "Hard",
+                null, "Sunny", 18, 6);
+        return (int) database.hikeDao().insertHike(hike);
+    }
+
+    private Observation insertObservation(int hikeId, String text) {
+        Observation observation = new Observation(hikeId, text, LocalDateTime.of(2025, 4, 2, 9, 30), null);
+        observation.setId((int) database.observationDao().insertObservation(observation));
+        return observation;
+    }
+
+    // Edit saved clearly after the last watermark, millisecond timestamps could otherwise tie
+    private void edit(Observation observation, String text) {
+        observation.setObservationText(text);
+        observation.setLastUpdated(Instant.now().plusSeconds(1));
+        database.observationDao().updateObservation(observation);
+    }
+
+    private void softDelete(Observation observation) {
+        observation.setDeleted(true);
+        observation.setLastUpdated(Instant.now().plusSeconds(1));
+        database.observationDao().updateObservation(observation);
+    }
+
+    private void enqueue(int hikeId) {
+        outboxDao.enqueue(hikeId, false, null, Instant.now());
+    }
+
+    private RecordedRequest takeRequest() throws InterruptedException {
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull("No request reached the backend", request);
+        return request;
+    }
+
+    private JsonObject takeBody() throws InterruptedException {
+        return bodyOf(takeRequest());
+    }
+
+    private static JsonObject bodyOf(RecordedRequest request) {
+        return new JsonParser().parse(request.getBody().readUtf8()).getAsJsonObject();
+    }
+
+    private static String result(int hikeId, boolean success, String message) {
+        return "{\"id_local\": " + hikeId + ", \"success\": " + success + ", \"message\": \"" + message + "\"}";
+    }
+
+    @Test
+    public void fullPayloadUntilTheBackendAdvertisesDelta() throws Exception {
+        int hikeId = insertHike("Fansipan");
+        Observation clouds = insertObservation(hikeId, "Clouds");
+        insertObservation(hikeId, "Rhododendron");
+
+        server.enqueue(new MockResponse().setBody(OK));
+        enqueue(hikeId);
+        outbox.drainNow();
+        JsonObject first = takeBody();
+        assertFalse(first.has("delta"));
+        assertEquals(2, first.getAsJsonArray("observations").size());
+        assertNotNull(outboxDao.getSyncedUntil(hikeId));
+
+        // A watermark exists, but this backend never said it merges deltas
+        edit(clouds, "Clouds lifting");
+        server.enqueue(new MockResponse().setBody(OK));
+        enqueue(hikeId);
+        outbox.drainNow();
+        JsonObject second = takeBody();
+        assertFalse(second.has("delta"));
+        assertEquals(2, second.getAsJsonArray("observations").size());
+    }
+
+    @Test
+    public void deltaOnceTheBackendAdvertisesIt() throws Exception {
+        int hikeId = insertHike("Fansipan");
+        Observation clouds = insertObservation(hikeId, "Clouds");
+        Observation wrong = insertObservation(hikeId, "Wrong photo");
+        insertObservation(hikeId, "Rhododendron");
+
+        server.enqueue(new MockResponse().setBody(OK)
+                .setHeader(SyncOutbox.CAPABILITIES_HEADER, "gzip, Delta"));
+        enqueue(hikeId);
+        outbox.drainNow();
+        assertFalse(takeBody().has("delta"));
+
+        edit(clouds, "Clouds lifting");
+        softDelete(wrong);
+        server.enqueue(new MockResponse().setBody(OK)
+                .setHeader(SyncOutbox.CAPABILITIES_HEADER, "delta"));
+        enqueue(hikeId);
+        outbox.drainNow();
+        JsonObject delta = takeBody();
+        assertTrue(delta.get("delta").getAsBoolean());
+        assertEquals(1, delta.getAsJsonArray("observations").size());
+        assertEquals(wrong.getUuid(), delta.getAsJsonArray("deleted_observation_uuids").get(0).getAsString());
+    }
+
+    @Test
+    public void backendDroppingTheCapabilityGetsFullPayloadsAgain() throws Exception {
+        int hikeId = insertHike("Fansipan");
+        Observation clouds = insertObservation(hikeId, "Clouds");
+
+        server.enqueue(new MockResponse().setBody(OK).setHeader(SyncOutbox.CAPABILITIES_HEADER, "delta"));
+        enqueue(hikeId);
+        outbox.drainNow();
+        takeBody();
+
+        // The last response no longer lists delta
+        edit(clouds, "Clouds lifting");
+        server.enqueue(new MockResponse().setBody(OK));
+        enqueue(hikeId);
+        outbox.drainNow();
+        assertTrue(takeBody().get("delta").getAsBoolean());
+
+        edit(clouds, "Clear sky");
+        server.enqueue(new MockResponse().setBody(OK));
+        enqueue(hikeId);
+        outbox.drainNow();
+        assertFalse(takeBody().has("delta"));
+    }
+
+    @Test
+    public void watermarkMovesOnlyAfterSuccess() throws Exception {
+        int hikeId = insertHike("Fansipan");
+        Observation clouds = insertObservation(hikeId, "Clouds");
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        enqueue(hikeId);
+        outbox.drainNow();
+        takeBody();
+        assertNull(outboxDao.getSyncedUntil(hikeId));
+        assertTrue(outboxDao.hasPendingEntry(hikeId));
+
+        server.enqueue(new MockResponse().setBody(OK));
+        outboxDao.makeAllDue(Instant.now());
+        outbox.drainNow();
+        takeBody();
+        Instant syncedUntil = outboxDao.getSyncedUntil(hikeId);
+        assertNotNull(syncedUntil);
+        assertFalse(outboxDao.hasPendingEntry(hikeId));
+
+        // A failed upload of a later edit leaves the acknowledged watermark alone
+        edit(clouds, "Clouds lifting");
+        server.enqueue(new MockResponse().setBody("{\"success\": false, \"message\": \"Busy\"}"));
+        enqueue(hikeId);
+        outbox.drainNow();
+        takeBody();
+        assertEquals(syncedUntil, outboxDao.getSyncedUntil(hikeId));
+        assertTrue(outboxDao.hasPendingEntry(hikeId));
+    }
+
+    @Test
+    public void batchResultKeepsOnlyTheFailedHikesInTheOutbox() throws Exception {
+        int synced = insertHike("Fansipan");
+        int rejected = insertHike("Lang Biang");
+        int missing = insertHike("Ta Xua");
+        int alsoSynced = insertHike("Bach Moc");
+        insertObservation(rejected, "Clouds");
+
+        server.enqueue(new MockResponse().setBody("{\"success\": true, \"message\": \"Partial\", \"results\": ["
+                + result(synced, true, "Synced") + ", "
+                + result(rejected, false, "Validation failed") + ", "
+                + result(alsoSynced, true, "Synced") + "]}"));
+        enqueue(synced);
+        enqueue(rejected);
+        enqueue(missing);
+        enqueue(alsoSynced);
+        outbox.drainNow();
+
+        // One round trip for all four
+        RecordedRequest request = takeRequest();
+        assertEquals("/sync/hikes/batch", request.getPath());
+        JsonArray items = bodyOf(request).getAsJsonArray("items");
+        Set<Integer> sent = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            sent.add(items.get(i).getAsJsonObject().getAsJsonObject("hike").get("id_local").getAsInt());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(synced, rejected, missing, alsoSynced)), sent);
+        assertEquals(1, server.getRequestCount());
+
+        assertFalse(outboxDao.hasPendingEntry(synced));
+        assertFalse(outboxDao.hasPendingEntry(alsoSynced));
+        assertNotNull(outboxDao.getSyncedUntil(synced));
+        assertNotNull(outboxDao.getSyncedUntil(alsoSynced));
+
+        // A failed item and one the backend did not answer for stay queued, without a watermark
+        assertTrue(outboxDao.hasPendingEntry(rejected));
+        assertTrue(outboxDao.hasPendingEntry(missing));
+        assertNull(outboxDao.getSyncedUntil(rejected));
+        assertNull(outboxDao.getSyncedUntil(missing));
+    }
+
+    @Test
+    public void backendWithoutBatchEndpointGetsPerHikeCalls() throws Exception {
+        int first = insertHike("Fansipan");
+        int second = insertHike("Lang Biang");
+
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody(OK));
+        server.enqueue(new MockResponse().setBody(OK));
+        enqueue(first);
+        enqueue(second);
+        outbox.drainNow();
+
+        assertEquals("/sync/hikes/batch", takeRequest().getPath());
+        Set<Integer> sent = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            RecordedRequest request = takeRequest();
+            assertEquals("/sync/hike", request.getPath());
+            sent.add(bodyOf(request).getAsJsonObject("hike").get("id_local").getAsInt());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), sent);
+        assertFalse(outboxDao.hasPendingEntry(first));
+        assertFalse(outboxDao.hasPendingEntry(second));
+
+        // The 404 is remembered, later passes skip the batch endpoint
+        server.enqueue(new MockResponse().setBody(OK));
+        server.enqueue(new MockResponse().setBody(OK));
+        enqueue(first);
+        enqueue(second);
+        outbox.drainNow();
+        assertEquals("/sync/hike", takeRequest().getPath());
+        assertEquals("/sync/hike", takeRequest().getPath());
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    public void resyncStoresTheContentHashSoAnUnchangedHikeIsSkippedAfterwards() throws Exception {
+        int kept = insertHike("Fansipan");
+        insertObservation(kept, "Clouds");
+        int deleted = insertHike("Lang Biang");
+        database.hikeDao().softDeleteHike(deleted, Instant.now());
+
+        server.enqueue(new MockResponse().setBody("{\"success\": true, \"message\": \"Synced\", \"results\": ["
+                + result(kept, true, "Synced") + ", " + result(deleted, true, "Deleted") + "]}"));
+        outbox.enqueueAll(Arrays.asList(kept, deleted));
+
+        JsonArray items = takeBody().getAsJsonArray("items");
+        assertEquals(2, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            JsonObject item = items.get(i).getAsJsonObject();
+            int hikeId = item.getAsJsonObject("hike").get("id_local").getAsInt();
+            assertEquals(hikeId == deleted, item.get("is_deleted").getAsBoolean());
+        }
+
+        // The upload runs on the outbox threads, wait for its acknowledgement
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outboxDao.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, outboxDao.getPendingCount());
+        String expected = SyncDataMapper.contentHash(database.hikeDao().getHikeById(kept),
+                database.observationDao().getObservationsByHikeId(kept));
+        assertEquals(expected, outboxDao.getSyncedContentHash(kept));
+        assertNull(outboxDao.getSyncedContentHash(deleted));
+
+        // Saving the hike again without a change never reaches the backend
+        outbox.enqueue(kept, false, null);
+        assertFalse(outboxDao.hasPendingEntry(kept));
+        assertEquals(1, outbox.getSkippedCount());
+        assertEquals(1, server.getRequestCount());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.hikenativeapp.data.weather;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.local.dao.WeatherForecastDao;
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * WeatherCache on top of the weather_forecasts table: stores keep the other days of a cell,
+ * only the age-based prune removes rows
+ */
+@RunWith(AndroidJUnit4.class)
+public class WeatherCacheStoreTest {
+
+    private static final int CELL_LAT = 223;
+    private static final int CELL_LNG = 1038;
+
+    private AppDatabase database;
+    private WeatherForecastDao forecastDao;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        forecastDao = database.weatherForecastDao();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    // Hourly series over whole UTC days, the temperature tells the series apart
+    private static HourlySeries series(LocalDate from, int days, float temperature, Instant fetchedAt) {
+        int size = days * 24;
+        long[] times = new long[size];
+        float[] temperatures = new float[size];
+        long start = from.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        for (int i = 0; i < size; i++) {
+            times[i] = start + i * 3600L;
+            temperatures[i] = temperature;
+        }
+        return new HourlySeries(times, temperatures, new float[size], new float[size], size, fetchedAt);
+    }
+
+    @Test
+    public void pastDateIsStoredAndTheWindowKept() {
+        LocalDate today = HourlySeries.today();
+        LocalDate pastDate = today.minusDays(5);
+        Instant now = Instant.now();
+        WeatherCache cache = new WeatherCache(forecastDao);
+
+        cache.putSeries(CELL_LAT, CELL_LNG, series(today, 17, 18, now));
+        cache.putSeries(CELL_LAT, CELL_LNG, series(pastDate, 1, 9, now));
+
+        // The window is still answered from memory for a date nothing else covers
+        WeatherForecast inWindow = cache.peek(CELL_LAT, CELL_LNG, today.plusDays(10));
+        assertNotNull(inWindow);
+        assertEquals(18, inWindow.getTemperature(), 0.0);
+
+        // The past day was stored, not pruned by the same call, and survives a restart
+        WeatherForecast stored = new WeatherCache(forecastDao).get(CELL_LAT, CELL_LNG, pastDate);
+        assertNotNull(stored);
+        assertEquals(9, stored.getTemperature(), 0.0);
+        assertNotNull(forecastDao.getForecast(CELL_LAT, CELL_LNG, today.plusDays(10)));
+    }
+
+    @Test
+    public void refetchedDayReplacesItsRowOnly() {
+        LocalDate today = HourlySeries.today();
+        Instant now = Instant.now();
+        WeatherCache cache = new WeatherCache(forecastDao);
+        cache.putSeries(CELL_LAT, CELL_LNG, series(today, 17, 18, now.minusSeconds(3600)));
+
+        cache.putSeries(CELL_LAT, CELL_LNG, series(today, 17, 21, now));
+
+        assertEquals(21, forecastDao.getForecast(CELL_LAT, CELL_LNG, today).getTemperature(), 0.0);
+        assertEquals(21, cache.peek(CELL_LAT, CELL_LNG, today.plusDays(16)).getTemperature(), 0.0);
+    }
+
+    @Test
+    public void pruneDropsRowsByFetchAgeNotByDate() {
+        LocalDate today = HourlySeries.today();
+        Instant now = Instant.now();
+        Instant tooOld = now.minus(WeatherCache.maxUsableAge()).minusSeconds(60);
+        forecastDao.saveForecasts(Arrays.asList(
+                new WeatherForecast(CELL_LAT, CELL_LNG, today.plusDays(7), 18, 40, 0, tooOld),
+                new WeatherForecast(CELL_LAT, CELL_LNG, today.minusDays(5), 9, 40, 0, now),
+                new WeatherForecast(CELL_LAT, CELL_LNG, today.plusDays(1), 20, 40, 0, now.minusSeconds(3600))));
+
+        new WeatherCache(forecastDao).prune(now);
+
+        assertNull(forecastDao.getForecast(CELL_LAT, CELL_LNG, today.plusDays(7)));
+        // A past date fetched just now stays until it is as old as any other row
+        assertNotNull(forecastDao.getForecast(CELL_LAT, CELL_LNG, today.minusDays(5)));
+        assertNotNull(forecastDao.getForecast(CELL_LAT, CELL_LNG, today.plusDays(1)));
+    }
+}
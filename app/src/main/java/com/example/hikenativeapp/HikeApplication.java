@@ -0,0 +1,20 @@
+package com.example.hikenativeapp;
+
+import android.app.Application;
+
+import com.example.hikenativeapp.api.HttpClientProvider;
+import com.example.hikenativeapp.api.WeatherService;
+import com.example.hikenativeapp.data.weather.WeatherPrefetcher;
+
+public class HikeApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Before any service builds its API, so the shared client gets its disk cache
+        HttpClientProvider.init(this);
+        WeatherService.init(this);
+        // Keeps the forecast stored on upcoming hikes current
+        WeatherPrefetcher.start(this);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hikenativeapp.api;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Adds the cached Firebase ID token to requests that do not carry one, and on a 401
+ * refreshes the token once and resends the request.
+ */
+public class AuthInterceptor implements Interceptor {
+
+    private static final String TAG = "AuthInterceptor";
+    private static final String HEADER = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final FirebaseTokenProvider tokenProvider;
+
+    public AuthInterceptor(FirebaseTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header(HEADER) == null) {
+            try {
+                request = request.newBuilder().header(HEADER, tokenProvider.getAuthorizationHeader()).build();
+            } catch (Exception e) {
+                // Not signed in, let the backend decide
+                Log.w(TAG, "No ID token for request: " + e.getMessage());
+            }
+        }
+
+        Response response = chain.proceed(request);
+        String sent = request.header(HEADER);
+        if (response.code() != 401 || sent == null || !sent.startsWith(BEARER)) {
+            return response;
+        }
+
+        // Token revoked or expired early: refresh once and retry
+        tokenProvider.invalidate(sent.substring(BEARER.length()));
+        String freshToken;
+        try {
+            freshToken = tokenProvider.getToken(true);
+        } catch (Exception e) {
+            Log.w(TAG, "Token refresh failed: " + e.getMessage());
+            return response;
+        }
+        response.close();
+        return chain.proceed(request.newBuilder().header(HEADER, BEARER + freshToken).build());
+    }
+}
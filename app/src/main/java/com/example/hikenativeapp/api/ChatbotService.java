@@ -1,36 +1,30 @@
 package com.example.hikenativeapp.api;
 
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
-
-import java.util.concurrent.TimeUnit;
 
 public class ChatbotService {
 
+    // Same host as SyncService, both share the connections of HttpClientProvider
     private static final String BASE_URL = "https://undertanker86-rag-mobile-backend.hf.space";
 
-    private static Retrofit retrofit = null;
+    private static volatile ChatbotApi api = null;
 
     public static ChatbotApi getApi() {
-        if (retrofit == null) {
-            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(logging)
-                    .connectTimeout(30, TimeUnit.SECONDS)
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(30, TimeUnit.SECONDS)
-                    .build();
-
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .client(client)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
+        if (api == null) {
+            synchronized (ChatbotService.class) {
+                if (api == null) {
+                    api = HttpClientProvider.createRetrofit(BASE_URL, createClient())
+                            .create(ChatbotApi.class);
+                }
+            }
         }
-        return retrofit.create(ChatbotApi.class);
+        return api;
+    }
+
+    // Same cached ID token as the sync calls
+    static OkHttpClient createClient() {
+        return HttpClientProvider.getClient().newBuilder()
+                .addInterceptor(new AuthInterceptor(FirebaseTokenProvider.getInstance()))
+                .build();
     }
 }
@@ -0,0 +1,82 @@
+package com.example.hikenativeapp.api;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.auth.GetTokenResult;
+
+/**
+ * Firebase ID token cache shared by the sync and chatbot calls.
+ * The token is reused until it is close to expiry, a forced refresh (a round trip to
+ * Firebase) only happens then or after the backend answered 401 (see AuthInterceptor).
+ * Blocking, call from background threads only.
+ */
+public class FirebaseTokenProvider {
+
+    private static final String TAG = "FirebaseTokenProvider";
+
+    // Refresh this long before the token actually expires
+    private static final long EXPIRY_MARGIN_MS = 5 * 60_000;
+
+    private static volatile FirebaseTokenProvider instance;
+
+    private String cachedToken;
+    private String cachedUid;
+    private long expiresAtMs;
+
+    private FirebaseTokenProvider() {
+    }
+
+    public static FirebaseTokenProvider getInstance() {
+        if (instance == null) {
+            synchronized (FirebaseTokenProvider.class) {
+                if (instance == null) {
+                    instance = new FirebaseTokenProvider();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param forceRefresh Ignore the cached token and ask Firebase for a new one
+     * @return ID token of the signed-in user
+     * @throws IllegalStateException if no user is signed in
+     */
+    public synchronized String getToken(boolean forceRefresh) throws Exception {
+        FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
+        if (currentUser == null) {
+            cachedToken = null;
+            throw new IllegalStateException("User not authenticated");
+        }
+
+        boolean sameUser = currentUser.getUid().equals(cachedUid);
+        if (!forceRefresh && sameUser && cachedToken != null
+                && System.currentTimeMillis() < expiresAtMs - EXPIRY_MARGIN_MS) {
+            return cachedToken;
+        }
+
+        // Without forceRefresh Firebase only goes to the network if its own copy has expired
+        GetTokenResult result = Tasks.await(currentUser.getIdToken(forceRefresh));
+        cachedToken = result.getToken();
+        cachedUid = currentUser.getUid();
+        expiresAtMs = result.getExpirationTimestamp() * 1000;
+        Log.d(TAG, "Fetched ID token (forced: " + forceRefresh + ")");
+        return cachedToken;
+    }
+
+    public String getAuthorizationHeader() throws Exception {
+        return "Bearer " + getToken(false);
+    }
+
+    /**
+     * Drop the cached token if it is the one the backend rejected
+     */
+    public synchronized void invalidate(String token) {
+        if (token != null && token.equals(cachedToken)) {
+            cachedToken = null;
+        }
+    }
+}
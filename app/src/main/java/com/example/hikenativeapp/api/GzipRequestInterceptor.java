@@ -0,0 +1,61 @@
+package com.example.hikenativeapp.api;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Gzip-compresses JSON request bodies once the backend has said it accepts them.
+ * The backend advertises the capability with an "X-Accept-Content-Encoding: gzip" response
+ * header, until then (and on backends that never send it) requests go out uncompressed.
+ * A 415 reply to a compressed request turns compression off again and resends the request plain.
+ */
+public class GzipRequestInterceptor implements Interceptor {
+
+    private static final String TAG = "GzipRequestInterceptor";
+    static final String CAPABILITY_HEADER = "X-Accept-Content-Encoding";
+
+    // Shared by every client that uses this interceptor instance
+    private volatile boolean gzipAccepted = false;
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (!gzipAccepted || !(request.body() instanceof StreamingJsonRequestBody)
+                || request.header("Content-Encoding") != null) {
+            return readCapability(chain.proceed(request));
+        }
+
+        StreamingJsonRequestBody<?> body = (StreamingJsonRequestBody<?>) request.body();
+        Request compressed = request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), body.gzipped())
+                .build();
+
+        Response response = chain.proceed(compressed);
+        if (response.code() == 415) {
+            Log.w(TAG, "Backend rejected gzip request body, sending uncompressed from now on");
+            gzipAccepted = false;
+            response.close();
+            return chain.proceed(request);
+        }
+        return readCapability(response);
+    }
+
+    private Response readCapability(Response response) {
+        String accepted = response.header(CAPABILITY_HEADER);
+        if (accepted != null && accepted.toLowerCase().contains("gzip") && !gzipAccepted) {
+            Log.d(TAG, "Backend accepts gzip request bodies");
+            gzipAccepted = true;
+        }
+        return response;
+    }
+}
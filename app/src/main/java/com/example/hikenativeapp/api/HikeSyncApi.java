@@ -1,12 +1,23 @@
 package com.example.hikenativeapp.api;
 
+import com.example.hikenativeapp.data.sync.HikeBatchSyncRequest;
+import com.example.hikenativeapp.data.sync.HikeBatchSyncResponse;
+import com.example.hikenativeapp.data.sync.HikeChangesResponse;
 import com.example.hikenativeapp.data.sync.HikeSyncRequest;
 import com.example.hikenativeapp.data.sync.HikeSyncResponse;
+import com.example.hikenativeapp.data.sync.PhotoUploadSession;
+import com.example.hikenativeapp.data.sync.PhotoUploadStartRequest;
+
+import okhttp3.RequestBody;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
+import retrofit2.http.GET;
 import retrofit2.http.Header;
 import retrofit2.http.POST;
+import retrofit2.http.PUT;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 public interface HikeSyncApi {
 
@@ -15,5 +26,35 @@ public interface HikeSyncApi {
             @Header("Authorization") String authToken,
             @Body HikeSyncRequest request
     );
-}
 
+    // Several hikes in one round trip, with a result per hike
+    @POST("sync/hikes/batch")
+    Call<HikeBatchSyncResponse> syncHikes(
+            @Header("Authorization") String authToken,
+            @Body HikeBatchSyncRequest request
+    );
+
+    // Hikes changed after the cursor, one page at a time. A null cursor starts from the beginning
+    @GET("sync/changes")
+    Call<HikeChangesResponse> getChanges(
+            @Header("Authorization") String authToken,
+            @Query("cursor") String cursor,
+            @Query("limit") int limit
+    );
+
+    // Start the upload of a photo, or get the progress of an earlier one with the same content hash
+    @POST("photos/uploads")
+    Call<PhotoUploadSession> startPhotoUpload(
+            @Header("Authorization") String authToken,
+            @Body PhotoUploadStartRequest request
+    );
+
+    // Append one chunk, Content-Range is "bytes first-last/total"
+    @PUT("photos/uploads/{uploadId}")
+    Call<PhotoUploadSession> uploadPhotoChunk(
+            @Header("Authorization") String authToken,
+            @Path("uploadId") String uploadId,
+            @Header("Content-Range") String contentRange,
+            @Body RequestBody chunk
+    );
+}
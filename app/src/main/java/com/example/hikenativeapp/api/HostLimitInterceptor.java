@@ -0,0 +1,54 @@
+package com.example.hikenativeapp.api;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Bounds the calls to one host that are waiting for a response, synchronous ones included.
+ * The Dispatcher only limits enqueue()d calls, while SyncOutbox and PhotoUploader upload with
+ * execute() on their own threads. With this interceptor on the shared client, every service
+ * together stays within the same per-host limit as the Dispatcher.
+ * A call holds its permit until the response headers arrive, the body is read outside of it.
+ */
+public class HostLimitInterceptor implements Interceptor {
+
+    private final int maxPerHost;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public HostLimitInterceptor(int maxPerHost) {
+        this.maxPerHost = maxPerHost;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        // Same key as the Dispatcher: the host name, whatever the port
+        Semaphore hostPermits = permits.computeIfAbsent(chain.request().url().host(),
+                host -> new Semaphore(maxPerHost, true));
+        try {
+            hostPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection slot");
+        }
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            hostPermits.release();
+        }
+    }
+
+    // Calls to the host on the wire right now
+    int inFlight(String host) {
+        Semaphore hostPermits = permits.get(host);
+        return hostPermits != null ? maxPerHost - hostPermits.availablePermits() : 0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hikenativeapp.api;
+
+import android.content.Context;
+
+import com.example.hikenativeapp.BuildConfig;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Application-wide HTTP stack shared by SyncService, ChatbotService and WeatherService.
+ * One OkHttpClient means one connection pool and one dispatcher, so calls to the
+ * same backend host reuse warm TLS connections instead of each service opening its own.
+ */
+public final class HttpClientProvider {
+
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+
+    // Asynchronous calls queue in the dispatcher beyond these limits instead of opening more sockets,
+    // synchronous ones wait in HostLimitInterceptor for the same per-host limit
+    private static final int MAX_REQUESTS = 16;
+    static final int MAX_REQUESTS_PER_HOST = 4;
+
+    private static volatile OkHttpClient client;
+    private static File cacheDir;
+
+    private HttpClientProvider() {
+        throw new AssertionError("Cannot instantiate HttpClientProvider class");
+    }
+
+    /**
+     * Called once from HikeApplication, enables the on-disk HTTP cache
+     */
+    public static void init(Context context) {
+        cacheDir = new File(context.getApplicationContext().getCacheDir(), "http_cache");
+    }
+
+    public static OkHttpClient getClient() {
+        if (client == null) {
+            synchronized (HttpClientProvider.class) {
+                if (client == null) {
+                    client = buildClient();
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Client with other timeouts that still shares the pool, dispatcher and cache
+     */
+    public static OkHttpClient getClient(long timeoutSeconds) {
+        return getClient().newBuilder()
+                .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public static Retrofit createRetrofit(String baseUrl, OkHttpClient client) {
+        return createRetrofit(baseUrl, client, new Gson());
+    }
+
+    /**
+     * Retrofit with a Gson that has extra type adapters, e.g. a streaming parser for one response type
+     */
+    public static Retrofit createRetrofit(String baseUrl, OkHttpClient client, Gson gson) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build();
+    }
+
+    private static OkHttpClient buildClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .addInterceptor(new HostLimitInterceptor(dispatcher.getMaxRequestsPerHost()))
+                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS);
+
+        if (cacheDir != null) {
+            builder.cache(new Cache(cacheDir, CACHE_SIZE_BYTES));
+        }
+
+        // Bodies are only logged in debug builds, release builds do not buffer them at all
+        if (BuildConfig.DEBUG) {
+            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
+            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
+            builder.addInterceptor(logging);
+        }
+
+        return builder.build();
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.hikenativeapp.api;
 
-import com.example.hikenativeapp.data.weather.StormGlassResponse;
+import com.example.hikenativeapp.data.weather.HourlySeries;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
@@ -9,8 +9,9 @@ import retrofit2.http.Query;
 
 public interface StormGlassApi {
 
+    // Parsed by StormGlassSeriesAdapter, register it on the Gson of the Retrofit instance
     @GET("weather/point")
-    Call<StormGlassResponse> getPointForecast(
+    Call<HourlySeries> getPointForecast(
             @Header("Authorization") String apiKey,
             @Query("lat") double latitude,
             @Query("lng") double longitude,
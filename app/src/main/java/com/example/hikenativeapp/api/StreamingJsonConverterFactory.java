@@ -0,0 +1,41 @@
+package com.example.hikenativeapp.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Request converter that serializes @Body objects lazily, straight into the request sink
+ * (see StreamingJsonRequestBody). Responses are left to the next converter (Gson).
+ */
+public final class StreamingJsonConverterFactory extends Converter.Factory {
+
+    private final Gson gson;
+
+    private StreamingJsonConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    public static StreamingJsonConverterFactory create() {
+        return new StreamingJsonConverterFactory(new Gson());
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        return value -> new StreamingJsonRequestBody<>(gson, castAdapter(adapter), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TypeAdapter<T> castAdapter(TypeAdapter<?> adapter) {
+        return (TypeAdapter<T>) adapter;
+    }
+}
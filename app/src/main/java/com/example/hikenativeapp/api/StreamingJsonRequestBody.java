@@ -0,0 +1,81 @@
+package com.example.hikenativeapp.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * JSON request body written by Gson directly into the sink while the request is sent,
+ * the payload is never built as a String or full buffer first.
+ * writeTo can run more than once (logging, retries), each run serializes again.
+ */
+public class StreamingJsonRequestBody<T> extends RequestBody {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=UTF-8");
+
+    private final Gson gson;
+    private final TypeAdapter<T> adapter;
+    private final T value;
+
+    StreamingJsonRequestBody(Gson gson, TypeAdapter<T> adapter, T value) {
+        this.gson = gson;
+        this.adapter = adapter;
+        this.value = value;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+        // Unknown until written, sent chunked
+        return -1;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        Writer writer = new OutputStreamWriter(sink.outputStream(), StandardCharsets.UTF_8);
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        adapter.write(jsonWriter, value);
+        // Flush to the sink without closing it, OkHttp owns the sink
+        jsonWriter.flush();
+    }
+
+    /**
+     * Same body, gzip-compressed on the fly (Content-Encoding: gzip is added by GzipRequestInterceptor)
+     */
+    public RequestBody gzipped() {
+        StreamingJsonRequestBody<T> plain = this;
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MEDIA_TYPE;
+            }
+
+            @Override
+            public long contentLength() {
+                return -1;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+                plain.writeTo(gzipSink);
+                gzipSink.close();
+            }
+        };
+    }
+}
@@ -1,36 +1,46 @@
 package com.example.hikenativeapp.api;
 
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
-import java.util.concurrent.TimeUnit;
-
 public class SyncService {
 
     private static final String BASE_URL = "https://undertanker86-rag-mobile-backend.hf.space";
 
-    private static Retrofit retrofit = null;
+    // Retrofit proxies are built once, creating them is reflection-heavy
+    private static volatile HikeSyncApi api = null;
 
     public static HikeSyncApi getApi() {
-        if (retrofit == null) {
-            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(logging)
-                    .connectTimeout(30, TimeUnit.SECONDS)
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(30, TimeUnit.SECONDS)
-                    .build();
-
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .client(client)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
+        if (api == null) {
+            synchronized (SyncService.class) {
+                if (api == null) {
+                    api = createApi(BASE_URL, createClient());
+                }
+            }
         }
+        return api;
+    }
+
+    // Sync payloads carry free text and compress well: bodies are streamed
+    // by Gson and gzipped once the backend advertises support
+    static OkHttpClient createClient() {
+        return HttpClientProvider.getClient().newBuilder()
+                .addInterceptor(new AuthInterceptor(FirebaseTokenProvider.getInstance()))
+                .addInterceptor(new GzipRequestInterceptor())
+                .build();
+    }
 
-        return retrofit.create(HikeSyncApi.class);
+    /**
+     * Sync API on any backend, the tests point it at a local server
+     */
+    public static HikeSyncApi createApi(String baseUrl, OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(StreamingJsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(HikeSyncApi.class);
     }
 }
@@ -1,58 +1,78 @@
 package com.example.hikenativeapp.api;
 
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
-import com.example.hikenativeapp.data.weather.StormGlassResponse;
+import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+import com.example.hikenativeapp.data.weather.HourlySeries;
+import com.example.hikenativeapp.data.weather.StormGlassSeriesAdapter;
+import com.example.hikenativeapp.data.weather.WeatherCache;
 import com.example.hikenativeapp.data.weather.WeatherInfo;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Locale;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
-import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 import com.example.hikenativeapp.util.Constants;
+import com.example.hikenativeapp.util.DateTimeUtil;
 public class WeatherService {
     private static final String TAG = "WeatherService";
     private static final String BASE_URL = "https://api.stormglass.io/v2/";
     private static final String PARAMS = "airTemperature,cloudCover,precipitation";
     private static final int MAX_FORECAST_DAYS = Constants.MAX_FORECAST_DAYS; // StormGlass limit
+    private static final long WINDOW_FETCH_TIMEOUT_SECONDS = 60;
 
     private String apiKey;
     private StormGlassApi stormGlassApi;
     private static WeatherService instance;
 
-    private WeatherService() {
-        // Create logging interceptor
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-        // Create OkHttp client
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(loggingInterceptor)
-                .connectTimeout(15, TimeUnit.SECONDS)
-                .readTimeout(15, TimeUnit.SECONDS)
-                .build();
-
-        // Create Retrofit instance
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
+    // Set by init(), without it every lookup goes to StormGlass
+    private static volatile WeatherCache cache;
+
+    // Cache reads and writes, never on the main thread
+    private final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
+    // StormGlass calls on the wire by cell and date window, guarded by itself
+    private final Map<String, PendingFetch> inFlight = new HashMap<>();
+
+    private WeatherService() {
+        // Shared HTTP stack, with the shorter timeouts of the weather calls.
+        // Forecasts are streamed into primitive arrays instead of a reflective object per hour
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(HourlySeries.class, new StormGlassSeriesAdapter())
+                .create();
+        Retrofit retrofit = HttpClientProvider.createRetrofit(BASE_URL, HttpClientProvider.getClient(15), gson);
         stormGlassApi = retrofit.create(StormGlassApi.class);
     }
 
+    /**
+     * Called once from HikeApplication, enables the forecast cache
+     */
+    public static void init(Context context) {
+        cache = new WeatherCache(AppDatabase.getDatabase(context).weatherForecastDao());
+    }
+
     public static synchronized WeatherService getInstance() {
         if (instance == null) {
             instance = new WeatherService();
@@ -64,149 +84,342 @@ public class WeatherService {
         this.apiKey = apiKey;
     }
 
+    public boolean hasApiKey() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
     /**
-     * Check if the selected date is within the allowed forecast range
-     * @param selectedDate The selected date (format: YYYY-MM-DD)
-     * @return true if the date is within the allowed forecast range, false otherwise
+     * Forecast cache shared with background jobs, null until init() ran
      */
-    public boolean isDateWithinForecastRange(String selectedDate) {
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-
-            Date currentDate = new Date();
-            Date hikeDate = dateFormat.parse(selectedDate);
+    public static WeatherCache getCache() {
+        return cache;
+    }
 
-            if (hikeDate == null) return false;
+    /**
+     * Fetch the whole forecast window of a grid cell and wait until it is stored in the cache.
+     * Goes through the same single-flight path as the lookups of the screens: if the window
+     * of the cell is already on the wire, this waits for that call instead of making another.
+     * For background jobs, must be called off the main thread.
+     *
+     * @throws IOException if the request failed, timed out or StormGlass answered with an error
+     */
+    public void fetchForecastWindow(int cellLat, int cellLng) throws IOException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> error = new AtomicReference<>();
+        WeatherRequest request = new WeatherRequest(HourlySeries.today(), new WeatherCallback() {
+            @Override
+            public void onSuccess(WeatherInfo weatherInfo) {
+                done.countDown();
+            }
 
-            // Calculate the number of days between the current date and the selected date
-            long diffInMillis = hikeDate.getTime() - currentDate.getTime();
-            long diffInDays = TimeUnit.MILLISECONDS.toDays(diffInMillis);
+            @Override
+            public void onError(String message) {
+                error.set(message);
+                done.countDown();
+            }
+        });
+        fetchForecast(WeatherCache.cellCenter(cellLat), WeatherCache.cellCenter(cellLng), request);
 
-            return diffInDays <= MAX_FORECAST_DAYS;
+        try {
+            if (!done.await(WINDOW_FETCH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                request.cancel();
+                throw new IOException("Forecast request timed out");
+            }
+            // The series is queued on cacheExecutor before the waiters are called
+            cacheExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            request.cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the forecast", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Forecast not stored", e);
+        }
+        if (error.get() != null) {
+            throw new IOException(error.get());
+        }
+    }
 
-        } catch (ParseException e) {
-            Log.e(TAG, "Error parsing date: " + e.getMessage());
+    /**
+     * Check if the selected date is within the allowed forecast range
+     * @param selectedDate The selected date (format: YYYY-MM-DD)
+     * @return true if the date is within the allowed forecast range, false otherwise
+     */
+    public boolean isDateWithinForecastRange(String selectedDate) {
+        LocalDate hikeDate = DateTimeUtil.parseDate(selectedDate);
+        if (hikeDate == null) {
+            Log.e(TAG, "Error parsing date: " + selectedDate);
             return false;
         }
+
+        // Calculate the number of days between the current date and the selected date
+        // (UTC like the forecast window)
+        long diffInDays = ChronoUnit.DAYS.between(HourlySeries.today(), hikeDate);
+        return diffInDays <= MAX_FORECAST_DAYS;
     }
     /**
      * Get the weather forecast for a specific location and date
+     * Identical lookups made while a StormGlass request is on the wire share that request.
      * @param latitude Latitude
      * @param longitude Longitude
      * @param selectedDate Selected date (format: YYYY-MM-DD)
      * @param callback Callback to process the result
+     * @return Handle to detach the callback, e.g. when the screen goes away
      */
-    public void getWeatherForecast(double latitude, double longitude, String selectedDate,
-                                    final WeatherCallback callback) {
+    public WeatherRequest getWeatherForecast(double latitude, double longitude, String selectedDate,
+                                             final WeatherCallback callback) {
+        LocalDate date = DateTimeUtil.parseDate(selectedDate);
+        WeatherRequest request = new WeatherRequest(date, callback);
+
         if (apiKey == null || apiKey.isEmpty()) {
             callback.onError("API Key is not set");
-            return;
+            return request;
         }
 
         // Check if the selected date is within the forecast range
         if (!isDateWithinForecastRange(selectedDate)) {
             callback.onError("Selected date is beyond the forecast range");
-            return;
+            return request;
         }
 
-        // Prepare start and end dates for the API
-        String startDate = selectedDate + "T00:00:00Z";
+        if (date == null) {
+            callback.onError("Invalid date format");
+            return request;
+        }
 
-        // The end date is the day after the selected date.
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-            Date date = dateFormat.parse(selectedDate);
-            if (date != null) {
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTime(date);
-                calendar.add(Calendar.DAY_OF_MONTH, 1);
-                String endDate = dateFormat.format(calendar.getTime()) + "T00:00:00Z";
-
-                Call<StormGlassResponse> call = stormGlassApi.getPointForecast(
-                        apiKey, // Remove "Bearer " prefix - StormGlass expects just the API key
-                        latitude,
-                        longitude,
-                        PARAMS,
-                        startDate,
-                        endDate
-                );
-
-                call.enqueue(new Callback<StormGlassResponse>() {
-                    @Override
-                    public void onResponse(Call<StormGlassResponse> call, Response<StormGlassResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            StormGlassResponse weatherResponse = response.body();
-
-                            // Process weather data
-                            if (weatherResponse.getHours() != null && !weatherResponse.getHours().isEmpty()) {
-                                // Get the forecast at mid-day (12:00)
-                                StormGlassResponse.HourlyForecast midDayForecast = null;
-
-                                for (StormGlassResponse.HourlyForecast forecast : weatherResponse.getHours()) {
-                                    if (forecast.getTime().contains("T12:00:00")) {
-                                        midDayForecast = forecast;
-                                        break;
-                                    }
-                                }
-
-                                // If no mid-day forecast is found, use the first forecast
-                                if (midDayForecast == null && !weatherResponse.getHours().isEmpty()) {
-                                    midDayForecast = weatherResponse.getHours().get(0);
-                                }
-
-                                if (midDayForecast != null) {
-                                    double temperature = midDayForecast.getTemperature();
-                                    double cloudCover = midDayForecast.getCloudCoverPercentage();
-                                    double precipitation = midDayForecast.getPrecipitationAmount();
-
-                                    // Determine weather conditions based on data
-                                    int weatherCondition = WeatherInfo.determineWeatherCondition(cloudCover, precipitation);
-
-                                    // Create WeatherInfo object
-                                    WeatherInfo weatherInfo = new WeatherInfo(temperature, weatherCondition, selectedDate);
-
-                                    // Gọi callback thành công
-                                    callback.onSuccess(weatherInfo);
-
-                                    // Log data
-                                    Log.d(TAG, "Weather data retrieved: Temp=" + temperature +
-                                          "°C, Cloud=" + cloudCover + "%, Precip=" + precipitation +
-                                          "mm, Condition=" + weatherInfo.getWeatherConditionString());
-                                } else {
-                                    callback.onError("No forecast data available for the selected date");
-                                }
+        WeatherCache weatherCache = cache;
+        if (weatherCache == null) {
+            fetchForecast(latitude, longitude, request);
+            return request;
+        }
+
+        int cellLat = WeatherCache.toCell(latitude);
+        int cellLng = WeatherCache.toCell(longitude);
+
+        // Memory hit: answered right away, no I/O at all
+        WeatherInfo cached = fromCache(weatherCache.peek(cellLat, cellLng, date));
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return request;
+        }
+
+        cacheExecutor.execute(() -> {
+            if (request.cancelled) {
+                return;
+            }
+            WeatherInfo stored = fromCache(weatherCache.get(cellLat, cellLng, date));
+            if (stored != null) {
+                mainHandler.post(() -> {
+                    if (!request.cancelled) {
+                        callback.onSuccess(stored);
+                    }
+                });
+            } else {
+                fetchForecast(latitude, longitude, request);
+            }
+        });
+        return request;
+    }
+
+    /**
+     * Weather of a cached forecast that is fresh or still usable, null if there is none.
+     * A usable but stale forecast is refreshed in the background for the next lookup.
+     */
+    private WeatherInfo fromCache(WeatherForecast forecast) {
+        if (forecast == null) {
+            return null;
+        }
+        Instant now = Instant.now();
+        if (WeatherCache.isFresh(forecast, now)) {
+            return WeatherCache.toWeatherInfo(forecast);
+        }
+        if (WeatherCache.isUsable(forecast, now)) {
+            Log.d(TAG, "Serving stale forecast for " + forecast.getForecastDate() + ", revalidating");
+            fetchForecast(WeatherCache.cellCenter(forecast.getCellLat()), WeatherCache.cellCenter(forecast.getCellLng()),
+                    new WeatherRequest(forecast.getForecastDate(), new WeatherCallback() {
+                        @Override
+                        public void onSuccess(WeatherInfo weatherInfo) {
+                            Log.d(TAG, "Forecast revalidated for " + weatherInfo.getDate());
+                        }
+
+                        @Override
+                        public void onError(String message) {
+                            Log.w(TAG, "Forecast revalidation failed: " + message);
+                        }
+                    }));
+            return WeatherCache.toWeatherInfo(forecast);
+        }
+        return null;
+    }
+
+    /**
+     * Request the forecast from StormGlass and store it in the cache.
+     * Upcoming dates are answered from one request for the whole forecast window, so later
+     * lookups of other dates at the same place need no request. Past dates fetch only their day.
+     * The request is made for the centre of the grid cell, the cached answer is valid for the whole cell.
+     * If the same cell and window is already being fetched, the request just waits for that call.
+     */
+    private void fetchForecast(double latitude, double longitude, WeatherRequest request) {
+        int cellLat = WeatherCache.toCell(latitude);
+        int cellLng = WeatherCache.toCell(longitude);
+
+        // Window start and end for the API, the end date is exclusive.
+        // Days are UTC on both sides: the window is requested from 00:00Z and the series is sliced in UTC
+        LocalDate today = HourlySeries.today();
+        LocalDate from = request.date.isBefore(today) ? request.date : today;
+        LocalDate to = request.date.isBefore(today) ? request.date.plusDays(1) : today.plusDays(MAX_FORECAST_DAYS + 1);
+        String key = cellLat + ":" + cellLng + ":" + from + ":" + to;
+
+        PendingFetch fetch;
+        synchronized (inFlight) {
+            if (request.cancelled) {
+                return;
+            }
+            request.pendingKey = key;
+            fetch = inFlight.get(key);
+            if (fetch != null) {
+                fetch.waiters.add(request);
+                Log.d(TAG, "Joined forecast request in flight for " + key + " (" + fetch.waiters.size() + " waiting)");
+                return;
+            }
+
+            Call<HourlySeries> call = stormGlassApi.getPointForecast(
+                    apiKey, // Remove "Bearer " prefix - StormGlass expects just the API key
+                    WeatherCache.cellCenter(cellLat),
+                    WeatherCache.cellCenter(cellLng),
+                    PARAMS,
+                    DateTimeUtil.formatDate(from) + "T00:00:00Z",
+                    DateTimeUtil.formatDate(to) + "T00:00:00Z"
+            );
+            fetch = new PendingFetch(call);
+            fetch.waiters.add(request);
+            inFlight.put(key, fetch);
+        }
+
+        PendingFetch pending = fetch;
+        pending.call.enqueue(new Callback<HourlySeries>() {
+            @Override
+            public void onResponse(Call<HourlySeries> call, Response<HourlySeries> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    HourlySeries series = response.body();
+
+                    // Process weather data
+                    if (series.size() > 0) {
+                        WeatherCache weatherCache = cache;
+                        if (weatherCache != null) {
+                            cacheExecutor.execute(() -> weatherCache.putSeries(cellLat, cellLng, series));
+                        }
+                        Log.d(TAG, "Weather data retrieved for " + key + ": " + series.size() + " hours");
+
+                        for (WeatherRequest waiter : finish(key, pending)) {
+                            // Mid-day (12:00) forecast of the waiter's date, or its first hour
+                            WeatherForecast forecast = series.toDailyForecast(cellLat, cellLng, waiter.date);
+                            if (forecast != null) {
+                                waiter.callback.onSuccess(WeatherCache.toWeatherInfo(forecast));
                             } else {
-                                callback.onError("No forecast data available");
+                                waiter.callback.onError("No forecast data available for the selected date");
                             }
+                        }
+                    } else {
+                        fail(key, pending, "No forecast data available");
+                    }
+                } else {
+                    try {
+                        if (response.errorBody() != null) {
+                            String errorBody = response.errorBody().string();
+                            Log.e(TAG, "API Error: " + errorBody);
+                            fail(key, pending, "API Error: " + errorBody);
                         } else {
-                            try {
-                                if (response.errorBody() != null) {
-                                    String errorBody = response.errorBody().string();
-                                    Log.e(TAG, "API Error: " + errorBody);
-                                    callback.onError("API Error: " + errorBody);
-                                } else {
-                                    callback.onError("API Error: " + response.code());
-                                }
-                            } catch (IOException e) {
-                                Log.e(TAG, "Error reading error body: " + e.getMessage());
-                                callback.onError("Error reading API response");
-                            }
+                            fail(key, pending, "API Error: " + response.code());
                         }
+                    } catch (IOException e) {
+                        Log.e(TAG, "Error reading error body: " + e.getMessage());
+                        fail(key, pending, "Error reading API response");
                     }
+                }
+            }
 
-                    @Override
-                    public void onFailure(Call<StormGlassResponse> call, Throwable t) {
-                        Log.e(TAG, "API call failed: " + t.getMessage());
-                        callback.onError("Failed to fetch weather data: " + t.getMessage());
-                    }
-                });
+            @Override
+            public void onFailure(Call<HourlySeries> call, Throwable t) {
+                if (call.isCanceled()) {
+                    Log.d(TAG, "Forecast request cancelled, no caller left: " + key);
+                    finish(key, pending);
+                    return;
+                }
+                Log.e(TAG, "API call failed: " + t.getMessage());
+                fail(key, pending, "Failed to fetch weather data: " + t.getMessage());
+            }
+        });
+    }
 
-            } else {
-                callback.onError("Invalid date format");
+    // Remove a completed fetch and return the callers still waiting for it
+    private List<WeatherRequest> finish(String key, PendingFetch fetch) {
+        synchronized (inFlight) {
+            inFlight.remove(key, fetch);
+            List<WeatherRequest> waiters = new ArrayList<>();
+            for (WeatherRequest waiter : fetch.waiters) {
+                if (!waiter.cancelled) {
+                    waiters.add(waiter);
+                }
+            }
+            fetch.waiters.clear();
+            return waiters;
+        }
+    }
+
+    private void fail(String key, PendingFetch fetch, String message) {
+        for (WeatherRequest waiter : finish(key, fetch)) {
+            waiter.callback.onError(message);
+        }
+    }
+
+    // Detach a cancelled request, the call itself is cancelled once nobody waits for it
+    private void detach(WeatherRequest request) {
+        Call<HourlySeries> orphaned = null;
+        synchronized (inFlight) {
+            PendingFetch fetch = request.pendingKey != null ? inFlight.get(request.pendingKey) : null;
+            if (fetch == null || !fetch.waiters.remove(request)) {
+                return;
             }
-        } catch (ParseException e) {
-            Log.e(TAG, "Error parsing date: " + e.getMessage());
-            callback.onError("Error parsing date: " + e.getMessage());
+            if (fetch.waiters.isEmpty()) {
+                inFlight.remove(request.pendingKey);
+                orphaned = fetch.call;
+            }
+        }
+        if (orphaned != null) {
+            orphaned.cancel();
+        }
+    }
+
+    /**
+     * Handle of one forecast lookup. Cancelling only detaches its callback, the StormGlass
+     * request it waits for is cancelled when no other lookup waits for it anymore.
+     */
+    public class WeatherRequest {
+        private final LocalDate date;
+        private final WeatherCallback callback;
+        private volatile boolean cancelled;
+
+        // Key of the fetch this request waits for, guarded by inFlight
+        private String pendingKey;
+
+        WeatherRequest(LocalDate date, WeatherCallback callback) {
+            this.date = date;
+            this.callback = callback;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            detach(this);
+        }
+    }
+
+    // A StormGlass call on the wire and the lookups waiting for it
+    private static class PendingFetch {
+        final Call<HourlySeries> call;
+        final List<WeatherRequest> waiters = new ArrayList<>();
+
+        PendingFetch(Call<HourlySeries> call) {
+            this.call = call;
         }
     }
 
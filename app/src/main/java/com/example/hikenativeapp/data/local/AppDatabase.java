@@ -1,25 +1,42 @@
 package com.example.hikenativeapp.data.local;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 import android.content.Context;
 
 import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.dao.HikeStatsDao;
 import com.example.hikenativeapp.data.local.dao.ObservationDao;
+import com.example.hikenativeapp.data.local.dao.PhotoUploadDao;
+import com.example.hikenativeapp.data.local.dao.SyncOutboxDao;
 import com.example.hikenativeapp.data.local.dao.UserDao;
+import com.example.hikenativeapp.data.local.dao.WeatherForecastDao;
 import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.HikeFts;
+import com.example.hikenativeapp.data.local.entity.HikeStats;
+import com.example.hikenativeapp.data.local.entity.HikeSyncState;
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.entity.ObservationFts;
+import com.example.hikenativeapp.data.local.entity.PhotoUpload;
+import com.example.hikenativeapp.data.local.entity.SyncOutboxEntry;
 import com.example.hikenativeapp.data.local.entity.User;
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @Database(
-    entities = {User.class, Hike.class, Observation.class},
-    version = 10,
-    exportSchema = false
+    entities = {User.class, Hike.class, HikeFts.class, HikeStats.class, HikeSyncState.class,
+            Observation.class, ObservationFts.class, PhotoUpload.class, SyncOutboxEntry.class,
+            WeatherForecast.class},
+    version = 22,
+    exportSchema = true
 )
+@TypeConverters(Converters.class)
 public abstract class AppDatabase extends RoomDatabase {
 
     private static final String DATABASE_NAME = "hike_database";
@@ -33,6 +50,23 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract UserDao userDao();
     public abstract HikeDao hikeDao();
     public abstract ObservationDao observationDao();
+    public abstract HikeStatsDao hikeStatsDao();
+    public abstract SyncOutboxDao syncOutboxDao();
+    public abstract PhotoUploadDao photoUploadDao();
+    public abstract WeatherForecastDao weatherForecastDao();
+
+    // Triggers are not part of the Room schema, create them whenever Room builds the tables itself
+    static final RoomDatabase.Callback TRIGGER_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            DatabaseMigrations.createHikeStatsTriggers(db);
+        }
+
+        @Override
+        public void onDestructiveMigration(@NonNull SupportSQLiteDatabase db) {
+            DatabaseMigrations.createHikeStatsTriggers(db);
+        }
+    };
 
     // Singleton pattern to get database instance
     public static AppDatabase getDatabase(Context context) {
@@ -44,7 +78,9 @@ public abstract class AppDatabase extends RoomDatabase {
                             AppDatabase.class,
                             DATABASE_NAME
                     )
-                    .fallbackToDestructiveMigration()
+                    .addMigrations(DatabaseMigrations.ALL_MIGRATIONS)
+                    .fallbackToDestructiveMigrationFrom(1, 2, 3, 4, 5, 6, 7, 8, 9)
+                    .addCallback(TRIGGER_CALLBACK)
                     .build();
                 }
             }
@@ -0,0 +1,54 @@
+package com.example.hikenativeapp.data.local;
+
+import androidx.room.TypeConverter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Room type converters, all date/time values are stored as INTEGER epoch millis
+ * so ordering and range filters can use the indexes directly.
+ */
+public class Converters {
+
+    // ==================== Instant (created_at, last_updated) ====================
+
+    @TypeConverter
+    public static Long fromInstant(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : null;
+    }
+
+    @TypeConverter
+    public static Instant toInstant(Long millis) {
+        return millis != null ? Instant.ofEpochMilli(millis) : null;
+    }
+
+    // ==================== LocalDate (hike_date) ====================
+    // Stored as UTC midnight so the stored day never shifts with the device time zone
+
+    @TypeConverter
+    public static Long fromLocalDate(LocalDate date) {
+        return date != null ? date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli() : null;
+    }
+
+    @TypeConverter
+    public static LocalDate toLocalDate(Long millis) {
+        return millis != null ? Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC).toLocalDate() : null;
+    }
+
+    // ==================== LocalDateTime (observation_time) ====================
+    // Wall-clock time of the device, stored as the matching instant
+
+    @TypeConverter
+    public static Long fromLocalDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
+    @TypeConverter
+    public static LocalDateTime toLocalDateTime(Long millis) {
+        return millis != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()) : null;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.hikenativeapp.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.hikenativeapp.data.local.dao.HikeStatsDao;
+
+/**
+ * Schema migrations of AppDatabase.
+ * Version 10 is the last release before schemas were exported (see app/schemas),
+ * databases older than that are rebuilt instead of migrated.
+ */
+public final class DatabaseMigrations {
+
+    private DatabaseMigrations() {
+    }
+
+    // 10 -> 11: full-text index over hikes
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `hikes_fts` USING FTS4(" +
+                    "`name` TEXT, `location` TEXT, `description` TEXT, content=`hikes`)");
+            createFtsSyncTriggers(db, "hikes_fts", "hikes", "`name`, `location`, `description`",
+                    "NEW.`name`, NEW.`location`, NEW.`description`");
+            db.execSQL("INSERT INTO `hikes_fts`(`hikes_fts`) VALUES('rebuild')");
+        }
+    };
+
+    // 11 -> 12: full-text index over observations
+    static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `observations_fts` USING FTS4(" +
+                    "`observation_text` TEXT, `comments` TEXT, content=`observations`)");
+            createFtsSyncTriggers(db, "observations_fts", "observations", "`observation_text`, `comments`",
+                    "NEW.`observation_text`, NEW.`comments`");
+            db.execSQL("INSERT INTO `observations_fts`(`observations_fts`) VALUES('rebuild')");
+        }
+    };
+
+    // 12 -> 13: composite indexes matching the filter and sort of the list queries
+    static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_hikes_user_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hikes_user_id_is_deleted_hike_date` " +
+                    "ON `hikes` (`user_id`, `is_deleted`, `hike_date`)");
+            db.execSQL("DROP INDEX IF EXISTS `index_observations_hike_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_observations_hike_id_is_deleted_observation_time` " +
+                    "ON `observations` (`hike_id`, `is_deleted`, `observation_time`)");
+        }
+    };
+
+    // 13 -> 14: dates and timestamps move from text to INTEGER epoch millis (see Converters)
+    // SQLite cannot change a column type, so both tables are rebuilt and their rows converted
+    static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `hikes_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`user_id` INTEGER NOT NULL, `name` TEXT, `location` TEXT, `latitude` REAL NOT NULL, " +
+                    "`longitude` REAL NOT NULL, `hike_date` INTEGER, `parking_available` INTEGER NOT NULL, " +
+                    "`length` REAL NOT NULL, `difficulty` TEXT, `description` TEXT, `weather_condition` TEXT, " +
+                    "`temperature` REAL NOT NULL, `estimated_duration` REAL NOT NULL, `created_at` INTEGER, " +
+                    "`last_updated` INTEGER, `is_deleted` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`user_id`) REFERENCES `users`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            // hike_date is a plain date (stored as UTC midnight), audit timestamps were written in local time
+            db.execSQL("INSERT INTO `hikes_new` (`id`, `user_id`, `name`, `location`, `latitude`, `longitude`, " +
+                    "`hike_date`, `parking_available`, `length`, `difficulty`, `description`, `weather_condition`, " +
+                    "`temperature`, `estimated_duration`, `created_at`, `last_updated`, `is_deleted`) " +
+                    "SELECT `id`, `user_id`, `name`, `location`, `latitude`, `longitude`, " +
+                    dateToMillis("hike_date") + ", `parking_available`, `length`, `difficulty`, `description`, " +
+                    "`weather_condition`, `temperature`, `estimated_duration`, " +
+                    localTimeToMillis("created_at") + ", " + localTimeToMillis("last_updated") + ", `is_deleted` " +
+                    "FROM `hikes`");
+            db.execSQL("DROP TABLE `hikes`");
+            db.execSQL("ALTER TABLE `hikes_new` RENAME TO `hikes`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hikes_user_id_is_deleted_hike_date` " +
+                    "ON `hikes` (`user_id`, `is_deleted`, `hike_date`)");
+            createFtsSyncTriggers(db, "hikes_fts", "hikes", "`name`, `location`, `description`",
+                    "NEW.`name`, NEW.`location`, NEW.`description`");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `observations_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`hike_id` INTEGER NOT NULL, `observation_text` TEXT, `observation_time` INTEGER, " +
+                    "`comments` TEXT, `photo_path` TEXT, `created_at` INTEGER, `last_updated` INTEGER, " +
+                    "`is_deleted` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`hike_id`) REFERENCES `hikes`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("INSERT INTO `observations_new` (`id`, `hike_id`, `observation_text`, `observation_time`, " +
+                    "`comments`, `photo_path`, `created_at`, `last_updated`, `is_deleted`) " +
+                    "SELECT `id`, `hike_id`, `observation_text`, " + localTimeToMillis("observation_time") + ", " +
+                    "`comments`, `photo_path`, " + localTimeToMillis("created_at") + ", " +
+                    localTimeToMillis("last_updated") + ", `is_deleted` FROM `observations`");
+            db.execSQL("DROP TABLE `observations`");
+            db.execSQL("ALTER TABLE `observations_new` RENAME TO `observations`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_observations_hike_id_is_deleted_observation_time` " +
+                    "ON `observations` (`hike_id`, `is_deleted`, `observation_time`)");
+            createFtsSyncTriggers(db, "observations_fts", "observations", "`observation_text`, `comments`",
+                    "NEW.`observation_text`, NEW.`comments`");
+        }
+    };
+
+    // 14 -> 15: per-user report totals maintained by triggers
+    static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `hike_stats` (`user_id` INTEGER NOT NULL, " +
+                    "`total_hikes` INTEGER NOT NULL, `total_distance` REAL NOT NULL, " +
+                    "`total_duration` REAL NOT NULL, `temperature_sum` REAL NOT NULL, " +
+                    "`temperature_count` INTEGER NOT NULL, `easy_hikes` INTEGER NOT NULL, " +
+                    "`moderate_hikes` INTEGER NOT NULL, `hard_hikes` INTEGER NOT NULL, " +
+                    "`hikes_with_parking` INTEGER NOT NULL, PRIMARY KEY(`user_id`), " +
+                    "FOREIGN KEY(`user_id`) REFERENCES `users`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            createHikeStatsTriggers(db);
+            db.execSQL("INSERT INTO hike_stats (" + HikeStatsDao.STATS_COLUMNS + ") " +
+                    HikeStatsDao.STATS_SELECT + " GROUP BY user_id");
+        }
+    };
+
+    // 15 -> 16: durable outbox of pending Vector DB uploads
+    static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sync_outbox` (`hike_id` INTEGER NOT NULL, " +
+                    "`is_deleted` INTEGER NOT NULL, `generation` INTEGER NOT NULL, `attempts` INTEGER NOT NULL, " +
+                    "`next_attempt_at` INTEGER, `last_error` TEXT, PRIMARY KEY(`hike_id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_sync_outbox_next_attempt_at` " +
+                    "ON `sync_outbox` (`next_attempt_at`)");
+        }
+    };
+
+    // 16 -> 17: per-hike sync watermarks for delta sync
+    static final Migration MIGRATION_16_17 = new Migration(16, 17) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `hike_sync_state` (`hike_id` INTEGER NOT NULL, " +
+                    "`synced_until` INTEGER, PRIMARY KEY(`hike_id`), " +
+                    "FOREIGN KEY(`hike_id`) REFERENCES `hikes`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+        }
+    };
+
+    // 17 -> 18: content hashes to skip uploads of unchanged hikes
+    static final Migration MIGRATION_17_18 = new Migration(17, 18) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `sync_outbox` ADD COLUMN `content_hash` TEXT");
+            db.execSQL("ALTER TABLE `hike_sync_state` ADD COLUMN `content_hash` TEXT");
+        }
+    };
+
+    // 18 -> 19: upload state of observation photos
+    static final Migration MIGRATION_18_19 = new Migration(18, 19) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `photo_uploads` (`source_path` TEXT NOT NULL, " +
+                    "`content_hash` TEXT, `encoded_path` TEXT, `size_bytes` INTEGER NOT NULL, " +
+                    "`remote_key` TEXT, `uploaded_at` INTEGER, PRIMARY KEY(`source_path`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_photo_uploads_content_hash` " +
+                    "ON `photo_uploads` (`content_hash`)");
+        }
+    };
+
+    // 19 -> 20: weather forecast cache
+    static final Migration MIGRATION_19_20 = new Migration(19, 20) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `weather_forecasts` (`cell_lat` INTEGER NOT NULL, " +
+                    "`cell_lng` INTEGER NOT NULL, `forecast_date` INTEGER NOT NULL, `temperature` REAL NOT NULL, " +
+                    "`cloud_cover` REAL NOT NULL, `precipitation` REAL NOT NULL, `fetched_at` INTEGER, " +
+                    "PRIMARY KEY(`cell_lat`, `cell_lng`, `forecast_date`))");
+        }
+    };
+
+    // 20 -> 21: global ids, the merge key of the pull sync
+    static final Migration MIGRATION_20_21 = new Migration(20, 21) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `hikes` ADD COLUMN `uuid` TEXT");
+            db.execSQL("UPDATE `hikes` SET `uuid` = " + RANDOM_UUID);
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_hikes_uuid` ON `hikes` (`uuid`)");
+            db.execSQL("ALTER TABLE `observations` ADD COLUMN `uuid` TEXT");
+            db.execSQL("UPDATE `observations` SET `uuid` = " + RANDOM_UUID);
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_observations_uuid` ON `observations` (`uuid`)");
+
+            // The backend has no uuids for what was synced so far: upload every hike once more, in full
+            db.execSQL("DELETE FROM `hike_sync_state`");
+            db.execSQL("INSERT OR IGNORE INTO `sync_outbox` (`hike_id`, `is_deleted`, `generation`, `attempts`, " +
+                    "`next_attempt_at`) SELECT `id`, 0, 0, 0, CAST(strftime('%s', 'now') AS INTEGER) * 1000 " +
+                    "FROM `hikes` WHERE `is_deleted` = 0");
+        }
+    };
+
+    // 21 -> 22: remote photo key apart from the local photo path
+    static final Migration MIGRATION_21_22 = new Migration(21, 22) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `observations` ADD COLUMN `photo_remote_key` TEXT");
+            // Photos already uploaded from this device
+            db.execSQL("UPDATE `observations` SET `photo_remote_key` = (SELECT `remote_key` FROM `photo_uploads` " +
+                    "WHERE `source_path` = `observations`.`photo_path`) WHERE `photo_path` IS NOT NULL");
+            // Pulled rows got the remote key in photo_path; local photos are absolute files or uris
+            db.execSQL("UPDATE `observations` SET `photo_remote_key` = `photo_path`, `photo_path` = NULL " +
+                    "WHERE `photo_path` IS NOT NULL AND `photo_path` NOT LIKE '/%' AND `photo_path` NOT LIKE '%://%'");
+        }
+    };
+
+    // Version 4 UUID in SQL, evaluated per row
+    private static final String RANDOM_UUID = "lower(hex(randomblob(4)) || '-' || hex(randomblob(2)) || '-4' || " +
+            "substr(hex(randomblob(2)), 2) || '-' || substr('89AB', 1 + (abs(random()) % 4), 1) || " +
+            "substr(hex(randomblob(2)), 2) || '-' || hex(randomblob(6)))";
+
+    static final Migration[] ALL_MIGRATIONS = {
+            MIGRATION_10_11,
+            MIGRATION_11_12,
+            MIGRATION_12_13,
+            MIGRATION_13_14,
+            MIGRATION_14_15,
+            MIGRATION_15_16,
+            MIGRATION_16_17,
+            MIGRATION_17_18,
+            MIGRATION_18_19,
+            MIGRATION_19_20,
+            MIGRATION_20_21,
+            MIGRATION_21_22
+    };
+
+    /**
+     * Triggers that keep hike_stats in step with every write to hikes.
+     * A hike counts while is_deleted = 0: an update first takes the old row out
+     * of its user's totals and then adds the new one, which also covers soft delete and restore.
+     * Room does not manage triggers, so AppDatabase also runs this on a fresh or rebuilt database.
+     */
+    static void createHikeStatsTriggers(SupportSQLiteDatabase db) {
+        String ensureRow = "INSERT OR IGNORE INTO hike_stats (" + HikeStatsDao.STATS_COLUMNS + ") " +
+                "SELECT NEW.user_id, 0, 0, 0, 0, 0, 0, 0, 0, 0";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS hike_stats_after_insert AFTER INSERT ON hikes " +
+                "WHEN NEW.is_deleted = 0 BEGIN " +
+                ensureRow + "; " +
+                "UPDATE hike_stats SET " + statsDelta("NEW", "+") + " WHERE user_id = NEW.user_id; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS hike_stats_after_delete AFTER DELETE ON hikes " +
+                "WHEN OLD.is_deleted = 0 BEGIN " +
+                "UPDATE hike_stats SET " + statsDelta("OLD", "-") + " WHERE user_id = OLD.user_id; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS hike_stats_after_update AFTER UPDATE OF user_id, length, " +
+                "estimated_duration, temperature, difficulty, parking_available, is_deleted ON hikes BEGIN " +
+                "UPDATE hike_stats SET " + statsDelta("OLD", "-") +
+                " WHERE user_id = OLD.user_id AND OLD.is_deleted = 0; " +
+                ensureRow + " WHERE NEW.is_deleted = 0; " +
+                "UPDATE hike_stats SET " + statsDelta("NEW", "+") +
+                " WHERE user_id = NEW.user_id AND NEW.is_deleted = 0; END");
+    }
+
+    // SET clause adding (+) or removing (-) one hike row from the totals
+    private static String statsDelta(String row, String op) {
+        String hard = "lower(" + row + ".difficulty) IN ('hard', 'difficult')";
+        return "total_hikes = total_hikes " + op + " 1, " +
+                "total_distance = total_distance " + op + " " + row + ".length, " +
+                "total_duration = total_duration " + op + " " + row + ".estimated_duration, " +
+                "temperature_sum = temperature_sum " + op +
+                " (CASE WHEN " + row + ".temperature > 0 THEN " + row + ".temperature ELSE 0 END), " +
+                "temperature_count = temperature_count " + op +
+                " (CASE WHEN " + row + ".temperature > 0 THEN 1 ELSE 0 END), " +
+                "easy_hikes = easy_hikes " + op +
+                " (CASE WHEN lower(" + row + ".difficulty) = 'easy' THEN 1 ELSE 0 END), " +
+                "moderate_hikes = moderate_hikes " + op +
+                " (CASE WHEN lower(" + row + ".difficulty) = 'moderate' THEN 1 ELSE 0 END), " +
+                "hard_hikes = hard_hikes " + op + " (CASE WHEN " + hard + " THEN 1 ELSE 0 END), " +
+                "hikes_with_parking = hikes_with_parking " + op +
+                " (CASE WHEN " + row + ".parking_available = 1 THEN 1 ELSE 0 END)";
+    }
+
+    // yyyy-MM-dd text -> epoch millis of UTC midnight, NULL when empty or invalid
+    private static String dateToMillis(String column) {
+        return "CAST(strftime('%s', `" + column + "`) AS INTEGER) * 1000";
+    }
+
+    // Local yyyy-MM-dd HH:mm[:ss] text -> epoch millis, NULL when empty or invalid
+    private static String localTimeToMillis(String column) {
+        return "CAST(strftime('%s', `" + column + "`, 'utc') AS INTEGER) * 1000";
+    }
+
+    // Same triggers Room creates for an external content FTS table on a fresh install
+    private static void createFtsSyncTriggers(SupportSQLiteDatabase db, String ftsTable, String contentTable,
+                                              String columns, String newValues) {
+        String prefix = "room_fts_content_sync_" + ftsTable;
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_BEFORE_UPDATE BEFORE UPDATE ON `" + contentTable +
+                "` BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_BEFORE_DELETE BEFORE DELETE ON `" + contentTable +
+                "` BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_AFTER_UPDATE AFTER UPDATE ON `" + contentTable +
+                "` BEGIN INSERT INTO `" + ftsTable + "`(`docid`, " + columns + ") VALUES (NEW.`rowid`, " +
+                newValues + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_AFTER_INSERT AFTER INSERT ON `" + contentTable +
+                "` BEGIN INSERT INTO `" + ftsTable + "`(`docid`, " + columns + ") VALUES (NEW.`rowid`, " +
+                newValues + "); END");
+    }
+}
@@ -1,20 +1,43 @@
 package com.example.hikenativeapp.data.local.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.example.hikenativeapp.data.local.model.LocationCount;
+import com.example.hikenativeapp.data.local.model.RowVersion;
+import com.example.hikenativeapp.data.local.model.TimeBucketStats;
+import com.example.hikenativeapp.data.local.model.UpcomingHikeWeather;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Dao
 public interface HikeDao {
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    // Columns read into HikeListItem, the list screen never needs the full entity.
+    // The observation count is a correlated subquery answered from the
+    // (hike_id, is_deleted, observation_time) index, one probe per returned row
+    // instead of one query per row from the adapter.
+    String LIST_ITEM_COLUMNS = "hikes.id, hikes.name, hikes.location, hikes.latitude, hikes.longitude, " +
+            "hikes.hike_date, hikes.parking_available, hikes.length, hikes.difficulty, hikes.last_updated, " +
+            "(SELECT COUNT(*) FROM observations WHERE observations.hike_id = hikes.id " +
+            "AND observations.is_deleted = 0) AS observation_count";
+
+    // ABORT, not REPLACE: the delete half of a REPLACE fires no delete triggers,
+    // which would leave hike_stats and hikes_fts out of step. Existing rows go through @Update
+    @Insert(onConflict = OnConflictStrategy.ABORT)
     long insertHike(Hike hike);
 
     @Update
@@ -26,11 +49,11 @@ public interface HikeDao {
 
     // Soft delete - mark as deleted
     @Query("UPDATE hikes SET is_deleted = 1, last_updated = :timestamp WHERE id = :hikeId")
-    void softDeleteHike(int hikeId, String timestamp);
+    void softDeleteHike(int hikeId, Instant timestamp);
 
     // Restore deleted hike
     @Query("UPDATE hikes SET is_deleted = 0, last_updated = :timestamp WHERE id = :hikeId")
-    void restoreHike(int hikeId, String timestamp);
+    void restoreHike(int hikeId, Instant timestamp);
 
     // Get hike by ID (only non-deleted)
     @Query("SELECT * FROM hikes WHERE id = :hikeId AND is_deleted = 0")
@@ -44,20 +67,208 @@ public interface HikeDao {
     @Query("SELECT * FROM hikes WHERE user_id = :userId AND is_deleted = 0 ORDER BY hike_date DESC")
     List<Hike> getHikesByUserId(int userId);
 
+    // All hikes of a user as list items (only non-deleted)
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 ORDER BY hike_date DESC")
+    List<HikeListItem> getHikeListItemsByUserId(int userId);
+
+    // All hike ids of a user, deleted ones included (used for a full re-sync)
+    @Query("SELECT id FROM hikes WHERE user_id = :userId")
+    List<Integer> getAllHikeIdsByUserId(int userId);
+
+    // ==================== PAGING (keyset on hike_date, id) ====================
+    // Dated hikes are paged on the row value (hike_date, id), newest first.
+    // Hikes without a date come after all of them, paged on id alone by their own queries
+
+    // First page of a user's dated hikes, newest first
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NOT NULL " +
+           "ORDER BY hike_date DESC, id DESC LIMIT :limit")
+    List<HikeListItem> getHikesPage(int userId, int limit);
+
+    // Next page of dated hikes, starting right after the last row of the previous page
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NOT NULL AND (hike_date, id) < (:afterDate, :afterId) " +
+           "ORDER BY hike_date DESC, id DESC LIMIT :limit")
+    List<HikeListItem> getHikesPageAfter(int userId, LocalDate afterDate, int afterId, int limit);
+
+    // Previous page of dated hikes (newer ones), nearest first: the caller reverses it into list order
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NOT NULL AND (hike_date, id) > (:beforeDate, :beforeId) " +
+           "ORDER BY hike_date ASC, id ASC LIMIT :limit")
+    List<HikeListItem> getHikesPageBefore(int userId, LocalDate beforeDate, int beforeId, int limit);
+
+    // Oldest dated hikes, oldest first: what comes right before the first undated hike
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NOT NULL " +
+           "ORDER BY hike_date ASC, id ASC LIMIT :limit")
+    List<HikeListItem> getOldestHikesPage(int userId, int limit);
+
+    // First page of hikes without a date
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NULL " +
+           "ORDER BY id DESC LIMIT :limit")
+    List<HikeListItem> getUndatedHikesPage(int userId, int limit);
+
+    // Next page of hikes without a date
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NULL AND id < :afterId " +
+           "ORDER BY id DESC LIMIT :limit")
+    List<HikeListItem> getUndatedHikesPageAfter(int userId, int afterId, int limit);
+
+    // Previous page of hikes without a date, nearest first
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+           "AND hike_date IS NULL AND id > :beforeId " +
+           "ORDER BY id ASC LIMIT :limit")
+    List<HikeListItem> getUndatedHikesPageBefore(int userId, int beforeId, int limit);
+
     // ==================== SEARCH METHODS ====================
 
     // Search hikes by name only
-    @Query("SELECT * FROM hikes WHERE user_id = :userId AND is_deleted = 0 AND name LIKE '%' || :name || '%' ORDER BY hike_date DESC")
-    List<Hike> searchHikesByName(int userId, String name);
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 AND name LIKE '%' || :name || '%' ORDER BY hike_date DESC")
+    List<HikeListItem> searchHikesByName(int userId, String name);
 
     // Search hikes by length range
-    @Query("SELECT * FROM hikes WHERE user_id = :userId AND is_deleted = 0 AND length BETWEEN :minLength AND :maxLength ORDER BY hike_date DESC")
-    List<Hike> searchHikesByLengthRange(int userId, double minLength, double maxLength);
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 AND length BETWEEN :minLength AND :maxLength ORDER BY hike_date DESC")
+    List<HikeListItem> searchHikesByLengthRange(int userId, double minLength, double maxLength);
 
     // Search by name AND length range
-    @Query("SELECT * FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes WHERE user_id = :userId AND is_deleted = 0 " +
            "AND name LIKE '%' || :name || '%' " +
            "AND length BETWEEN :minLength AND :maxLength " +
            "ORDER BY hike_date DESC")
-    List<Hike> searchHikesByNameAndLength(int userId, String name, double minLength, double maxLength);
+    List<HikeListItem> searchHikesByNameAndLength(int userId, String name, double minLength, double maxLength);
+
+    // ==================== FULL-TEXT SEARCH ====================
+
+    // Full-text search over name, location and description (query built by FtsQueryUtil)
+    // Rows with more term hits come first, offsets() grows by one entry per hit
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes JOIN hikes_fts ON hikes.id = hikes_fts.rowid " +
+           "WHERE hikes_fts MATCH :query AND hikes.user_id = :userId AND hikes.is_deleted = 0 " +
+           "ORDER BY length(offsets(hikes_fts)) DESC, hikes.hike_date DESC")
+    List<HikeListItem> searchHikesFts(int userId, String query);
+
+    // Full-text search AND length range
+    @Query("SELECT " + LIST_ITEM_COLUMNS + " FROM hikes JOIN hikes_fts ON hikes.id = hikes_fts.rowid " +
+           "WHERE hikes_fts MATCH :query AND hikes.user_id = :userId AND hikes.is_deleted = 0 " +
+           "AND hikes.length BETWEEN :minLength AND :maxLength " +
+           "ORDER BY length(offsets(hikes_fts)) DESC, hikes.hike_date DESC")
+    List<HikeListItem> searchHikesFtsWithLength(int userId, String query, double minLength, double maxLength);
+
+    // ==================== REPORT ====================
+    // Totals are kept in hike_stats, see HikeStatsDao
+
+    // Most visited location, null if the user has no hike with a location
+    @Query("SELECT location, COUNT(*) AS hike_count FROM hikes " +
+           "WHERE user_id = :userId AND is_deleted = 0 AND location IS NOT NULL AND location != '' " +
+           "GROUP BY location ORDER BY hike_count DESC LIMIT 1")
+    LocationCount getTopLocation(int userId);
+
+    // ==================== TIME SERIES ====================
+    // hike_date is UTC midnight millis, so 'unixepoch' gives back the stored calendar day.
+    // The range filter on hike_date uses the (user_id, is_deleted, hike_date) index,
+    // only the hikes inside the range are read and grouped.
+
+    String BUCKET_TOTALS = "COUNT(*) AS hike_count, " +
+            "COALESCE(SUM(length), 0) AS total_distance, " +
+            "COALESCE(SUM(estimated_duration), 0) AS total_duration, " +
+            "COALESCE(AVG(CASE WHEN temperature > 0 THEN temperature END), 0) AS average_temperature";
+
+    // Monday of the hike's week ('weekday 0' moves to the next Sunday unless already on one)
+    String WEEK_START = "CAST(strftime('%s', hike_date / 1000, 'unixepoch', 'weekday 0', '-6 days') AS INTEGER) * 1000";
+
+    String MONTH_START = "CAST(strftime('%s', hike_date / 1000, 'unixepoch', 'start of month') AS INTEGER) * 1000";
+
+    // Totals per bucket for hikes dated in [from, to), only buckets with hikes are returned
+    String WEEKLY_TOTALS_QUERY = "SELECT " + WEEK_START + " AS bucket_start, " + BUCKET_TOTALS + " FROM hikes " +
+            "WHERE user_id = :userId AND is_deleted = 0 AND hike_date >= :from AND hike_date < :to " +
+            "GROUP BY bucket_start ORDER BY bucket_start";
+
+    String MONTHLY_TOTALS_QUERY = "SELECT " + MONTH_START + " AS bucket_start, " + BUCKET_TOTALS + " FROM hikes " +
+            "WHERE user_id = :userId AND is_deleted = 0 AND hike_date >= :from AND hike_date < :to " +
+            "GROUP BY bucket_start ORDER BY bucket_start";
+
+    @Query(WEEKLY_TOTALS_QUERY)
+    List<TimeBucketStats> getWeeklyTotals(int userId, LocalDate from, LocalDate to);
+
+    @Query(MONTHLY_TOTALS_QUERY)
+    List<TimeBucketStats> getMonthlyTotals(int userId, LocalDate from, LocalDate to);
+
+    // Observable versions, re-run whenever the hikes table changes
+    @Query(WEEKLY_TOTALS_QUERY)
+    LiveData<List<TimeBucketStats>> observeWeeklyTotals(int userId, LocalDate from, LocalDate to);
+
+    @Query(MONTHLY_TOTALS_QUERY)
+    LiveData<List<TimeBucketStats>> observeMonthlyTotals(int userId, LocalDate from, LocalDate to);
+
+    // ==================== PULL SYNC ====================
+
+    @Query("SELECT id, uuid, user_id AS owner_id, last_updated FROM hikes WHERE uuid IN (:uuids)")
+    List<RowVersion> getHikeVersions(List<String> uuids);
+
+    @Insert
+    List<Long> insertHikes(List<Hike> hikes);
+
+    @Update
+    void updateHikes(List<Hike> hikes);
+
+    /**
+     * Write hikes pulled from the backend, matched to local rows by uuid. Last writer wins on
+     * last_updated: unknown hikes are inserted with a new local id, existing ones replaced only
+     * by a newer version. A row with the same uuid that belongs to another user is left alone.
+     * Every hike of this user gets its local id set, written or not, so observations can be
+     * attached to it; the others keep id 0.
+     * Callers keep the list under SQLite's 999 bind parameters.
+     *
+     * @return Local ids of the hikes that were written
+     */
+    @Transaction
+    default List<Integer> mergeHikes(List<Hike> hikes) {
+        List<String> uuids = new ArrayList<>(hikes.size());
+        for (Hike hike : hikes) {
+            uuids.add(hike.getUuid());
+        }
+        Map<String, RowVersion> existing = new HashMap<>();
+        for (RowVersion version : getHikeVersions(uuids)) {
+            existing.put(version.getUuid(), version);
+        }
+
+        List<Hike> inserts = new ArrayList<>();
+        List<Hike> updates = new ArrayList<>();
+        List<Integer> written = new ArrayList<>();
+        for (Hike hike : hikes) {
+            RowVersion local = existing.get(hike.getUuid());
+            if (local == null) {
+                hike.setId(0);
+                inserts.add(hike);
+            } else if (local.getOwnerId() == hike.getUserId()) {
+                hike.setId(local.getId());
+                if (hike.getLastUpdated() != null
+                        && (local.getLastUpdated() == null || hike.getLastUpdated().isAfter(local.getLastUpdated()))) {
+                    updates.add(hike);
+                    written.add(local.getId());
+                }
+            } else {
+                hike.setId(0);
+            }
+        }
+        List<Long> insertedIds = insertHikes(inserts);
+        for (int i = 0; i < inserts.size(); i++) {
+            int hikeId = insertedIds.get(i).intValue();
+            inserts.get(i).setId(hikeId);
+            written.add(hikeId);
+        }
+        updateHikes(updates);
+        return written;
+    }
+
+    // ==================== WEATHER PRE-FETCH ====================
+
+    @Query("SELECT id, latitude, longitude, hike_date, temperature, weather_condition FROM hikes " +
+            "WHERE user_id = :userId AND is_deleted = 0 AND hike_date BETWEEN :from AND :to ORDER BY hike_date")
+    List<UpcomingHikeWeather> getUpcomingHikeWeather(int userId, LocalDate from, LocalDate to);
+
+    // Refreshed forecast of a hike: a change of synced columns like any edit, the caller queues the upload
+    @Query("UPDATE hikes SET temperature = :temperature, weather_condition = :weatherCondition, " +
+           "last_updated = :timestamp WHERE id = :hikeId")
+    void updateWeather(int hikeId, double temperature, String weatherCondition, Instant timestamp);
 }
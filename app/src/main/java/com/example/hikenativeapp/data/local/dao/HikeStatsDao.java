@@ -0,0 +1,42 @@
+package com.example.hikenativeapp.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.hikenativeapp.data.local.entity.HikeStats;
+
+@Dao
+public interface HikeStatsDao {
+
+    // Recomputes hike_stats rows from the hikes table, same rules as the triggers
+    String STATS_COLUMNS = "user_id, total_hikes, total_distance, total_duration, temperature_sum, " +
+            "temperature_count, easy_hikes, moderate_hikes, hard_hikes, hikes_with_parking";
+    String STATS_SELECT = "SELECT user_id, COUNT(*), COALESCE(SUM(length), 0), " +
+            "COALESCE(SUM(estimated_duration), 0), " +
+            "COALESCE(SUM(CASE WHEN temperature > 0 THEN temperature END), 0), " +
+            "COUNT(CASE WHEN temperature > 0 THEN 1 END), " +
+            "COUNT(CASE WHEN lower(difficulty) = 'easy' THEN 1 END), " +
+            "COUNT(CASE WHEN lower(difficulty) = 'moderate' THEN 1 END), " +
+            "COUNT(CASE WHEN lower(difficulty) IN ('hard', 'difficult') THEN 1 END), " +
+            "COUNT(CASE WHEN parking_available = 1 THEN 1 END) " +
+            "FROM hikes WHERE is_deleted = 0";
+
+    // Null when the user has no hikes
+    @Query("SELECT * FROM hike_stats WHERE user_id = :userId")
+    HikeStats getStatsByUserId(int userId);
+
+    @Query("DELETE FROM hike_stats WHERE user_id = :userId")
+    void deleteStatsByUserId(int userId);
+
+    @Query("INSERT INTO hike_stats (" + STATS_COLUMNS + ") " + STATS_SELECT +
+           " AND user_id = :userId GROUP BY user_id")
+    void insertStatsByUserId(int userId);
+
+    // Recompute the stats row of a user, fixes any drift of the running sums
+    @Transaction
+    default void rebuildStatsByUserId(int userId) {
+        deleteStatsByUserId(userId);
+        insertStatsByUserId(userId);
+    }
+}
@@ -5,16 +5,25 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Dao
 public interface ObservationDao {
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    // ABORT, not REPLACE: the delete half of a REPLACE fires no delete triggers,
+    // which would leave observations_fts out of step. Existing rows go through @Update
+    @Insert(onConflict = OnConflictStrategy.ABORT)
     long insertObservation(Observation observation);
 
     @Update
@@ -26,11 +35,11 @@ public interface ObservationDao {
 
     // Soft delete - mark as deleted
     @Query("UPDATE observations SET is_deleted = 1, last_updated = :timestamp WHERE id = :observationId")
-    void softDeleteObservation(int observationId, String timestamp);
+    void softDeleteObservation(int observationId, Instant timestamp);
 
     // Restore deleted observation
     @Query("UPDATE observations SET is_deleted = 0, last_updated = :timestamp WHERE id = :observationId")
-    void restoreObservation(int observationId, String timestamp);
+    void restoreObservation(int observationId, Instant timestamp);
 
     // Get observation by ID (only non-deleted)
     @Query("SELECT * FROM observations WHERE id = :observationId AND is_deleted = 0")
@@ -48,17 +57,93 @@ public interface ObservationDao {
     @Query("SELECT * FROM observations WHERE is_deleted = 0 ORDER BY observation_time DESC")
     List<Observation> getAllObservations();
 
-    @Query("SELECT * FROM observations WHERE (observation_text LIKE '%' || :searchQuery || '%' OR comments LIKE '%' || :searchQuery || '%') AND is_deleted = 0")
-    List<Observation> searchObservations(String searchQuery);
-
-
+    // ==================== FULL-TEXT SEARCH ====================
 
+    // Full-text search within one hike (query built by FtsQueryUtil)
+    // snippet() marks every hit with char(2) ... char(3), one snippet per column, see ObservationSearchResult
+    @Query("SELECT observations.*, " +
+           "snippet(observations_fts, char(2), char(3), '…', 0, 12) AS text_snippet, " +
+           "snippet(observations_fts, char(2), char(3), '…', 1, 12) AS comments_snippet " +
+           "FROM observations JOIN observations_fts ON observations.id = observations_fts.rowid " +
+           "WHERE observations_fts MATCH :query AND observations.hike_id = :hikeId AND observations.is_deleted = 0 " +
+           "ORDER BY length(offsets(observations_fts)) DESC, observations.observation_time DESC")
+    List<ObservationSearchResult> searchObservationsInHike(int hikeId, String query);
 
     // Soft delete all observations by hike ID
     @Query("UPDATE observations SET is_deleted = 1, last_updated = :timestamp WHERE hike_id = :hikeId")
-    void softDeleteObservationsByHikeId(int hikeId, String timestamp);
+    void softDeleteObservationsByHikeId(int hikeId, Instant timestamp);
 
     // Get count of non-deleted observations for a hike
+    // Lists get their counts from HikeListItem.observation_count, not from this query
     @Query("SELECT COUNT(*) FROM observations WHERE hike_id = :hikeId AND is_deleted = 0")
     int getObservationCountByHikeId(int hikeId);
+
+    // ==================== DELTA SYNC ====================
+
+    // Observations of a hike changed after the sync watermark, soft-deleted ones included
+    @Query("SELECT * FROM observations WHERE hike_id = :hikeId AND last_updated > :since")
+    List<Observation> getObservationsChangedSince(int hikeId, Instant since);
+
+    // ==================== PULL SYNC ====================
+
+    // Ids per version lookup, below SQLite's 999 bind parameters
+    int VERSION_CHUNK_SIZE = 500;
+
+    // Whole rows, not RowVersion: the merge keeps the local photo of a row
+    @Query("SELECT * FROM observations WHERE uuid IN (:uuids)")
+    List<Observation> getObservationsByUuids(List<String> uuids);
+
+    // Remote key of an uploaded photo, last_updated is not touched so the row is not synced again
+    @Query("UPDATE observations SET photo_remote_key = :remoteKey WHERE photo_path = :photoPath")
+    void setPhotoRemoteKey(String photoPath, String remoteKey);
+
+    @Insert
+    void insertObservations(List<Observation> observations);
+
+    @Update
+    void updateObservations(List<Observation> observations);
+
+    /**
+     * Write observations pulled from the backend, matched to local rows by uuid.
+     * Last writer wins on last_updated, new observations get a new local id.
+     * A row with the same uuid that belongs to another hike is left alone.
+     * The local photo file of an updated row is kept while the backend still has the same photo.
+     *
+     * @return Number of observations written
+     */
+    @Transaction
+    default int mergeObservations(List<Observation> observations) {
+        Map<String, Observation> existing = new HashMap<>();
+        for (int start = 0; start < observations.size(); start += VERSION_CHUNK_SIZE) {
+            List<Observation> chunk = observations.subList(start,
+                    Math.min(start + VERSION_CHUNK_SIZE, observations.size()));
+            List<String> uuids = new ArrayList<>(chunk.size());
+            for (Observation observation : chunk) {
+                uuids.add(observation.getUuid());
+            }
+            for (Observation local : getObservationsByUuids(uuids)) {
+                existing.put(local.getUuid(), local);
+            }
+        }
+
+        List<Observation> inserts = new ArrayList<>();
+        List<Observation> updates = new ArrayList<>();
+        for (Observation observation : observations) {
+            Observation local = existing.get(observation.getUuid());
+            if (local == null) {
+                observation.setId(0);
+                inserts.add(observation);
+            } else if (local.getHikeId() == observation.getHikeId() && observation.getLastUpdated() != null
+                    && (local.getLastUpdated() == null || observation.getLastUpdated().isAfter(local.getLastUpdated()))) {
+                observation.setId(local.getId());
+                if (Objects.equals(local.getPhotoRemoteKey(), observation.getPhotoRemoteKey())) {
+                    observation.setPhotoPath(local.getPhotoPath());
+                }
+                updates.add(observation);
+            }
+        }
+        insertObservations(inserts);
+        updateObservations(updates);
+        return inserts.size() + updates.size();
+    }
 }
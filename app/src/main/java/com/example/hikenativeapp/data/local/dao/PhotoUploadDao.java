@@ -0,0 +1,30 @@
+package com.example.hikenativeapp.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.hikenativeapp.data.local.entity.PhotoUpload;
+
+import java.time.Instant;
+
+@Dao
+public interface PhotoUploadDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void savePhotoUpload(PhotoUpload upload);
+
+    // Null if the photo was never prepared for upload
+    @Query("SELECT * FROM photo_uploads WHERE source_path = :sourcePath")
+    PhotoUpload getBySourcePath(String sourcePath);
+
+    // Remote key of the same content uploaded under any path, null if none
+    @Query("SELECT remote_key FROM photo_uploads WHERE content_hash = :contentHash " +
+           "AND remote_key IS NOT NULL LIMIT 1")
+    String getRemoteKeyByContentHash(String contentHash);
+
+    @Query("UPDATE photo_uploads SET remote_key = :remoteKey, encoded_path = NULL, uploaded_at = :uploadedAt " +
+           "WHERE source_path = :sourcePath")
+    void markUploaded(String sourcePath, String remoteKey, Instant uploadedAt);
+}
@@ -0,0 +1,103 @@
+package com.example.hikenativeapp.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.hikenativeapp.data.local.entity.HikeSyncState;
+import com.example.hikenativeapp.data.local.entity.SyncOutboxEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+@Dao
+public interface SyncOutboxDao {
+
+    @Insert
+    void insertEntry(SyncOutboxEntry entry);
+
+    // Merge a new edit into the pending entry of the hike, due immediately
+    @Query("UPDATE sync_outbox SET is_deleted = :isDeleted, content_hash = :contentHash, " +
+           "generation = generation + 1, attempts = 0, next_attempt_at = :now, last_error = NULL " +
+           "WHERE hike_id = :hikeId")
+    int coalesceEntry(int hikeId, boolean isDeleted, String contentHash, Instant now);
+
+    // Queue a hike for upload, at most one pending entry per hike
+    @Transaction
+    default void enqueue(int hikeId, boolean isDeleted, String contentHash, Instant now) {
+        if (coalesceEntry(hikeId, isDeleted, contentHash, now) == 0) {
+            insertEntry(new SyncOutboxEntry(hikeId, isDeleted, contentHash, now));
+        }
+    }
+
+    // Queue many hikes at once in one transaction, e.g. a full re-sync of a user
+    @Transaction
+    default void enqueueAll(List<SyncOutboxEntry> entries) {
+        for (SyncOutboxEntry entry : entries) {
+            enqueue(entry.getHikeId(), entry.isDeleted(), entry.getContentHash(), entry.getNextAttemptAt());
+        }
+    }
+
+    @Query("SELECT * FROM sync_outbox WHERE next_attempt_at <= :now ORDER BY next_attempt_at LIMIT :limit")
+    List<SyncOutboxEntry> getDueEntries(Instant now, int limit);
+
+    // Null when the outbox is empty
+    @Query("SELECT MIN(next_attempt_at) FROM sync_outbox")
+    Instant getNextAttemptAt();
+
+    @Query("SELECT COUNT(*) FROM sync_outbox")
+    int getPendingCount();
+
+    @Query("SELECT EXISTS(SELECT 1 FROM sync_outbox WHERE hike_id = :hikeId)")
+    boolean hasPendingEntry(int hikeId);
+
+    // Remove an uploaded entry, unless the hike was edited again during the upload
+    @Query("DELETE FROM sync_outbox WHERE hike_id = :hikeId AND generation = :generation")
+    int deleteIfUnchanged(int hikeId, int generation);
+
+    // Back off after a failed upload (no-op if a newer edit already made the entry due again)
+    @Query("UPDATE sync_outbox SET attempts = attempts + 1, next_attempt_at = :nextAttemptAt, " +
+           "last_error = :error WHERE hike_id = :hikeId AND generation = :generation")
+    void markFailed(int hikeId, int generation, Instant nextAttemptAt, String error);
+
+    // Connectivity is back, retry everything now instead of waiting out the backoff
+    @Query("UPDATE sync_outbox SET next_attempt_at = :now WHERE next_attempt_at > :now")
+    void makeAllDue(Instant now);
+
+    // ==================== SYNC WATERMARKS ====================
+
+    // Null if the hike was never synced, the next sync then sends everything
+    @Query("SELECT synced_until FROM hike_sync_state WHERE hike_id = :hikeId")
+    Instant getSyncedUntil(int hikeId);
+
+    // Null if the hike was never synced or its content is unknown
+    @Query("SELECT content_hash FROM hike_sync_state WHERE hike_id = :hikeId")
+    String getSyncedContentHash(int hikeId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveSyncState(HikeSyncState state);
+
+    /**
+     * Acknowledge an upload: drop its entry and record the watermark it reached. If the hike was
+     * edited again during the upload the entry stays and the watermark is not moved, the next
+     * upload works from the previous one.
+     *
+     * @return false if a newer edit is still pending
+     */
+    @Transaction
+    default boolean completeUpload(int hikeId, int generation, HikeSyncState state) {
+        if (deleteIfUnchanged(hikeId, generation) == 0) {
+            return false;
+        }
+        if (state != null) {
+            saveSyncState(state);
+        }
+        return true;
+    }
+
+    // Forget the watermarks of a user's hikes so their next sync is a full one
+    @Query("DELETE FROM hike_sync_state WHERE hike_id IN (SELECT id FROM hikes WHERE user_id = :userId)")
+    void clearSyncStateByUserId(int userId);
+}
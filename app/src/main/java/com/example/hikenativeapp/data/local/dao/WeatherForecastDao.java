@@ -0,0 +1,28 @@
+package com.example.hikenativeapp.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Dao
+public interface WeatherForecastDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveForecasts(List<WeatherForecast> forecasts);
+
+    // Null if the cell and date were never fetched
+    @Query("SELECT * FROM weather_forecasts WHERE cell_lat = :cellLat AND cell_lng = :cellLng " +
+           "AND forecast_date = :date")
+    WeatherForecast getForecast(int cellLat, int cellLng, LocalDate date);
+
+    // Rows fetched before the cutoff (or never), of any date
+    @Query("DELETE FROM weather_forecasts WHERE fetched_at < :cutoff OR fetched_at IS NULL")
+    void deleteForecastsFetchedBefore(Instant cutoff);
+}
@@ -7,9 +7,9 @@ import androidx.room.Ignore;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
 
 @Entity(
     tableName = "hikes",
@@ -19,7 +19,9 @@ import java.util.Locale;
         childColumns = "user_id",
         onDelete = ForeignKey.CASCADE
     ),
-    indices = {@Index("user_id")}
+    // List queries filter on user and is_deleted, then sort by date
+    indices = {@Index(value = {"user_id", "is_deleted", "hike_date"}),
+            @Index(value = {"uuid"}, unique = true)}
 )
 public class Hike {
     @PrimaryKey(autoGenerate = true)
@@ -28,6 +30,10 @@ public class Hike {
     @ColumnInfo(name = "user_id")
     private int userId;
 
+    // Global id, the same on every device and on the backend; id stays local to this database
+    @ColumnInfo(name = "uuid")
+    private String uuid;
+
     @ColumnInfo(name = "name")
     private String name;
 
@@ -41,7 +47,7 @@ public class Hike {
     private double longitude;
 
     @ColumnInfo(name = "hike_date")
-    private String hikeDate;
+    private LocalDate hikeDate;
 
     @ColumnInfo(name = "parking_available")
     private boolean parkingAvailable;
@@ -65,26 +71,25 @@ public class Hike {
     private double estimatedDuration;
 
     @ColumnInfo(name = "created_at")
-    private String createdAt;
+    private Instant createdAt;
 
     @ColumnInfo(name = "last_updated")
-    private String lastUpdated;
+    private Instant lastUpdated;
 
     @ColumnInfo(name = "is_deleted")
     private boolean isDeleted;
 
-    // Constructor
+    // Constructor used by Room, timestamps are read from the row so none are generated here
     public Hike() {
-        this.createdAt = getCurrentTimestamp();
-        this.lastUpdated = getCurrentTimestamp();
         this.isDeleted = false;
     }
 
     @Ignore
-    public Hike(int userId, String name, String location, String hikeDate,
+    public Hike(int userId, String name, String location, LocalDate hikeDate,
                 boolean parkingAvailable, double length, String difficulty, String description,
                 String weatherCondition, double temperature, double estimatedDuration) {
         this();
+        initTimestamps();
         this.userId = userId;
         this.name = name;
         this.location = location;
@@ -98,15 +103,19 @@ public class Hike {
         this.estimatedDuration = estimatedDuration;
     }
 
-    // Helper method to get current timestamp
-    private String getCurrentTimestamp() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        return sdf.format(new Date());
+    // Set uuid, created_at and last_updated for a new row, called before the first insert
+    public void initTimestamps() {
+        if (uuid == null) {
+            uuid = UUID.randomUUID().toString();
+        }
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.lastUpdated = now;
     }
 
     // Method to update last_updated timestamp
     public void updateLastUpdated() {
-        this.lastUpdated = getCurrentTimestamp();
+        this.lastUpdated = Instant.now();
     }
 
     // Getters and Setters
@@ -118,6 +127,14 @@ public class Hike {
         this.id = id;
     }
 
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
     public int getUserId() {
         return userId;
     }
@@ -158,11 +175,11 @@ public class Hike {
         this.longitude = longitude;
     }
 
-    public String getHikeDate() {
+    public LocalDate getHikeDate() {
         return hikeDate;
     }
 
-    public void setHikeDate(String hikeDate) {
+    public void setHikeDate(LocalDate hikeDate) {
         this.hikeDate = hikeDate;
     }
 
@@ -222,19 +239,19 @@ public class Hike {
         this.estimatedDuration = estimatedDuration;
     }
 
-    public String getCreatedAt() {
+    public Instant getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
 
-    public String getLastUpdated() {
+    public Instant getLastUpdated() {
         return lastUpdated;
     }
 
-    public void setLastUpdated(String lastUpdated) {
+    public void setLastUpdated(Instant lastUpdated) {
         this.lastUpdated = lastUpdated;
     }
 
@@ -0,0 +1,50 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text index over the searchable text columns of {@link Hike}.
+ * Uses the hikes table as external content, Room creates the triggers
+ * that keep this index in sync on insert, update and delete.
+ * The rowid of each row is the id of the hike it indexes.
+ */
+@Fts4(contentEntity = Hike.class)
+@Entity(tableName = "hikes_fts")
+public class HikeFts {
+
+    @ColumnInfo(name = "name")
+    private String name;
+
+    @ColumnInfo(name = "location")
+    private String location;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
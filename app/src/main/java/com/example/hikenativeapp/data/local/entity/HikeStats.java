@@ -0,0 +1,137 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * Running report totals of one user's non-deleted hikes.
+ * The row is kept up to date by SQLite triggers on the hikes table
+ * (see DatabaseMigrations.createHikeStatsTriggers), so reading a report is a single row lookup.
+ * HikeStatsDao.rebuildStatsByUserId recomputes it from the hikes table.
+ */
+@Entity(
+    tableName = "hike_stats",
+    foreignKeys = @ForeignKey(
+        entity = User.class,
+        parentColumns = "id",
+        childColumns = "user_id",
+        onDelete = ForeignKey.CASCADE
+    )
+)
+public class HikeStats {
+
+    @PrimaryKey
+    @ColumnInfo(name = "user_id")
+    private int userId;
+
+    @ColumnInfo(name = "total_hikes")
+    private int totalHikes;
+
+    @ColumnInfo(name = "total_distance")
+    private double totalDistance;
+
+    @ColumnInfo(name = "total_duration")
+    private double totalDuration;
+
+    // Sum and count of the temperatures above zero, the average is taken over these only
+    @ColumnInfo(name = "temperature_sum")
+    private double temperatureSum;
+
+    @ColumnInfo(name = "temperature_count")
+    private int temperatureCount;
+
+    @ColumnInfo(name = "easy_hikes")
+    private int easyHikes;
+
+    @ColumnInfo(name = "moderate_hikes")
+    private int moderateHikes;
+
+    @ColumnInfo(name = "hard_hikes")
+    private int hardHikes;
+
+    @ColumnInfo(name = "hikes_with_parking")
+    private int hikesWithParking;
+
+    // Getters and Setters
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public int getTotalHikes() {
+        return totalHikes;
+    }
+
+    public void setTotalHikes(int totalHikes) {
+        this.totalHikes = totalHikes;
+    }
+
+    public double getTotalDistance() {
+        return totalDistance;
+    }
+
+    public void setTotalDistance(double totalDistance) {
+        this.totalDistance = totalDistance;
+    }
+
+    public double getTotalDuration() {
+        return totalDuration;
+    }
+
+    public void setTotalDuration(double totalDuration) {
+        this.totalDuration = totalDuration;
+    }
+
+    public double getTemperatureSum() {
+        return temperatureSum;
+    }
+
+    public void setTemperatureSum(double temperatureSum) {
+        this.temperatureSum = temperatureSum;
+    }
+
+    public int getTemperatureCount() {
+        return temperatureCount;
+    }
+
+    public void setTemperatureCount(int temperatureCount) {
+        this.temperatureCount = temperatureCount;
+    }
+
+    public int getEasyHikes() {
+        return easyHikes;
+    }
+
+    public void setEasyHikes(int easyHikes) {
+        this.easyHikes = easyHikes;
+    }
+
+    public int getModerateHikes() {
+        return moderateHikes;
+    }
+
+    public void setModerateHikes(int moderateHikes) {
+        this.moderateHikes = moderateHikes;
+    }
+
+    public int getHardHikes() {
+        return hardHikes;
+    }
+
+    public void setHardHikes(int hardHikes) {
+        this.hardHikes = hardHikes;
+    }
+
+    public int getHikesWithParking() {
+        return hikesWithParking;
+    }
+
+    public void setHikesWithParking(int hikesWithParking) {
+        this.hikesWithParking = hikesWithParking;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+import java.time.Instant;
+
+/**
+ * Sync watermark of a hike: every change with last_updated up to synced_until
+ * has been acknowledged by the backend. Delta syncs send only newer rows.
+ * content_hash is the hash of the hike as last synced, an unchanged hike is not uploaded again.
+ */
+@Entity(
+    tableName = "hike_sync_state",
+    foreignKeys = @ForeignKey(
+        entity = Hike.class,
+        parentColumns = "id",
+        childColumns = "hike_id",
+        onDelete = ForeignKey.CASCADE
+    )
+)
+public class HikeSyncState {
+    @PrimaryKey
+    @ColumnInfo(name = "hike_id")
+    private int hikeId;
+
+    @ColumnInfo(name = "synced_until")
+    private Instant syncedUntil;
+
+    @ColumnInfo(name = "content_hash")
+    private String contentHash;
+
+    // Constructor
+    public HikeSyncState() {}
+
+    @Ignore
+    public HikeSyncState(int hikeId, Instant syncedUntil, String contentHash) {
+        this.hikeId = hikeId;
+        this.syncedUntil = syncedUntil;
+        this.contentHash = contentHash;
+    }
+
+    // Getters and Setters
+    public int getHikeId() {
+        return hikeId;
+    }
+
+    public void setHikeId(int hikeId) {
+        this.hikeId = hikeId;
+    }
+
+    public Instant getSyncedUntil() {
+        return syncedUntil;
+    }
+
+    public void setSyncedUntil(Instant syncedUntil) {
+        this.syncedUntil = syncedUntil;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+}
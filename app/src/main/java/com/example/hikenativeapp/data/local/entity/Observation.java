@@ -7,9 +7,9 @@ import androidx.room.Ignore;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity(
     tableName = "observations",
@@ -19,7 +19,9 @@ import java.util.Locale;
         childColumns = "hike_id",
         onDelete = ForeignKey.CASCADE
     ),
-    indices = {@Index("hike_id")}
+    // Observation lists filter on hike and is_deleted, then sort by time
+    indices = {@Index(value = {"hike_id", "is_deleted", "observation_time"}),
+            @Index(value = {"uuid"}, unique = true)}
 )
 public class Observation {
     @PrimaryKey(autoGenerate = true)
@@ -28,52 +30,64 @@ public class Observation {
     @ColumnInfo(name = "hike_id")
     private int hikeId;
 
+    // Global id, the same on every device and on the backend; id stays local to this database
+    @ColumnInfo(name = "uuid")
+    private String uuid;
+
     @ColumnInfo(name = "observation_text")
     private String observationText;
 
     @ColumnInfo(name = "observation_time")
-    private String observationTime;
+    private LocalDateTime observationTime;
 
     @ColumnInfo(name = "comments")
     private String comments;
 
+    // File or content uri on this device, never sent or taken from the backend
     @ColumnInfo(name = "photo_path")
     private String photoPath;
 
+    // Key of the photo on the backend, null until the photo is uploaded or if there is none
+    @ColumnInfo(name = "photo_remote_key")
+    private String photoRemoteKey;
+
     @ColumnInfo(name = "created_at")
-    private String createdAt;
+    private Instant createdAt;
 
     @ColumnInfo(name = "last_updated")
-    private String lastUpdated;
+    private Instant lastUpdated;
 
     @ColumnInfo(name = "is_deleted")
     private boolean isDeleted;
 
-    // Constructor
+    // Constructor used by Room, timestamps are read from the row so none are generated here
     public Observation() {
-        this.createdAt = getCurrentTimestamp();
-        this.lastUpdated = getCurrentTimestamp();
         this.isDeleted = false;
     }
 
     @Ignore
-    public Observation(int hikeId, String observationText, String observationTime, String comments) {
+    public Observation(int hikeId, String observationText, LocalDateTime observationTime, String comments) {
         this();
+        initTimestamps();
         this.hikeId = hikeId;
         this.observationText = observationText;
         this.observationTime = observationTime;
         this.comments = comments;
     }
 
-    // Helper method to get current timestamp
-    private String getCurrentTimestamp() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        return sdf.format(new Date());
+    // Set uuid, created_at and last_updated for a new row, called before the first insert
+    public void initTimestamps() {
+        if (uuid == null) {
+            uuid = UUID.randomUUID().toString();
+        }
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.lastUpdated = now;
     }
 
     // Update last_updated timestamp
     public void updateLastUpdated() {
-        this.lastUpdated = getCurrentTimestamp();
+        this.lastUpdated = Instant.now();
     }
 
     // Getters and Setters
@@ -85,6 +99,14 @@ public class Observation {
         this.id = id;
     }
 
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
     public int getHikeId() {
         return hikeId;
     }
@@ -101,11 +123,11 @@ public class Observation {
         this.observationText = observationText;
     }
 
-    public String getObservationTime() {
+    public LocalDateTime getObservationTime() {
         return observationTime;
     }
 
-    public void setObservationTime(String observationTime) {
+    public void setObservationTime(LocalDateTime observationTime) {
         this.observationTime = observationTime;
     }
 
@@ -125,19 +147,27 @@ public class Observation {
         this.photoPath = photoPath;
     }
 
-    public String getCreatedAt() {
+    public String getPhotoRemoteKey() {
+        return photoRemoteKey;
+    }
+
+    public void setPhotoRemoteKey(String photoRemoteKey) {
+        this.photoRemoteKey = photoRemoteKey;
+    }
+
+    public Instant getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
 
-    public String getLastUpdated() {
+    public Instant getLastUpdated() {
         return lastUpdated;
     }
 
-    public void setLastUpdated(String lastUpdated) {
+    public void setLastUpdated(Instant lastUpdated) {
         this.lastUpdated = lastUpdated;
     }
 
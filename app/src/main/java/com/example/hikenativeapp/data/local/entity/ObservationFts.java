@@ -0,0 +1,37 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text index over the text columns of {@link Observation}.
+ * External content table, the rowid of each row is the observation id.
+ */
+@Fts4(contentEntity = Observation.class)
+@Entity(tableName = "observations_fts")
+public class ObservationFts {
+
+    @ColumnInfo(name = "observation_text")
+    private String observationText;
+
+    @ColumnInfo(name = "comments")
+    private String comments;
+
+    // Getters and Setters
+    public String getObservationText() {
+        return observationText;
+    }
+
+    public void setObservationText(String observationText) {
+        this.observationText = observationText;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
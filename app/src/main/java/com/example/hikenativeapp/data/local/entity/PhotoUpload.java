@@ -0,0 +1,106 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.time.Instant;
+
+/**
+ * Upload state of an observation photo, keyed by the photo_path stored on the observation.
+ * The photo is re-encoded once into encoded_path and addressed by the hash of those bytes;
+ * remote_key is set once the backend has the content, the encoded copy is then removed.
+ */
+@Entity(
+    tableName = "photo_uploads",
+    // The same content under another path is not uploaded twice
+    indices = {@Index(value = {"content_hash"})}
+)
+public class PhotoUpload {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "source_path")
+    private String sourcePath = "";
+
+    // SHA-256 of the encoded JPEG
+    @ColumnInfo(name = "content_hash")
+    private String contentHash;
+
+    // Resized copy waiting for upload, null once uploaded
+    @ColumnInfo(name = "encoded_path")
+    private String encodedPath;
+
+    @ColumnInfo(name = "size_bytes")
+    private long sizeBytes;
+
+    // Key the backend stores the photo under, null until the upload is complete
+    @ColumnInfo(name = "remote_key")
+    private String remoteKey;
+
+    @ColumnInfo(name = "uploaded_at")
+    private Instant uploadedAt;
+
+    // Constructor
+    public PhotoUpload() {}
+
+    @Ignore
+    public PhotoUpload(@NonNull String sourcePath, String contentHash, String encodedPath, long sizeBytes) {
+        this.sourcePath = sourcePath;
+        this.contentHash = contentHash;
+        this.encodedPath = encodedPath;
+        this.sizeBytes = sizeBytes;
+    }
+
+    // Getters and Setters
+    @NonNull
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    public void setSourcePath(@NonNull String sourcePath) {
+        this.sourcePath = sourcePath;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getEncodedPath() {
+        return encodedPath;
+    }
+
+    public void setEncodedPath(String encodedPath) {
+        this.encodedPath = encodedPath;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getRemoteKey() {
+        return remoteKey;
+    }
+
+    public void setRemoteKey(String remoteKey) {
+        this.remoteKey = remoteKey;
+    }
+
+    public Instant getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(Instant uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.time.Instant;
+
+/**
+ * A hike waiting to be uploaded to the Vector DB.
+ * There is at most one row per hike: later edits of the same hike are merged
+ * into the pending row, so a burst of edits ends up as a single upload.
+ */
+@Entity(
+    tableName = "sync_outbox",
+    // The drainer picks the entries that are due, oldest first
+    indices = {@Index(value = {"next_attempt_at"})}
+)
+public class SyncOutboxEntry {
+    @PrimaryKey
+    @ColumnInfo(name = "hike_id")
+    private int hikeId;
+
+    // Latest change was a delete
+    @ColumnInfo(name = "is_deleted")
+    private boolean isDeleted;
+
+    // Bumped on every merged edit, an upload only clears the row if no edit came in meanwhile
+    @ColumnInfo(name = "generation")
+    private int generation;
+
+    // Failed uploads since the last edit
+    @ColumnInfo(name = "attempts")
+    private int attempts;
+
+    // Content hash of the hike when it was queued, saved as synced once the upload succeeds
+    @ColumnInfo(name = "content_hash")
+    private String contentHash;
+
+    @ColumnInfo(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @ColumnInfo(name = "last_error")
+    private String lastError;
+
+    // Constructor
+    public SyncOutboxEntry() {}
+
+    @Ignore
+    public SyncOutboxEntry(int hikeId, boolean isDeleted, String contentHash, Instant nextAttemptAt) {
+        this.hikeId = hikeId;
+        this.isDeleted = isDeleted;
+        this.contentHash = contentHash;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    // Getters and Setters
+    public int getHikeId() {
+        return hikeId;
+    }
+
+    public void setHikeId(int hikeId) {
+        this.hikeId = hikeId;
+    }
+
+    public boolean isDeleted() {
+        return isDeleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        isDeleted = deleted;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
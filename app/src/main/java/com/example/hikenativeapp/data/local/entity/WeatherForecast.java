@@ -0,0 +1,116 @@
+package com.example.hikenativeapp.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Cached mid-day forecast of one geo-grid cell and date.
+ * Coordinates are rounded to WeatherCache.CELLS_PER_DEGREE cells per degree,
+ * so nearby trailheads share one entry and one StormGlass request.
+ */
+@Entity(
+    tableName = "weather_forecasts",
+    primaryKeys = {"cell_lat", "cell_lng", "forecast_date"}
+)
+public class WeatherForecast {
+    @ColumnInfo(name = "cell_lat")
+    private int cellLat;
+
+    @ColumnInfo(name = "cell_lng")
+    private int cellLng;
+
+    @NonNull
+    @ColumnInfo(name = "forecast_date")
+    private LocalDate forecastDate = LocalDate.MIN;
+
+    @ColumnInfo(name = "temperature")
+    private double temperature;
+
+    @ColumnInfo(name = "cloud_cover")
+    private double cloudCover;
+
+    @ColumnInfo(name = "precipitation")
+    private double precipitation;
+
+    // When StormGlass returned this forecast, drives the TTL
+    @ColumnInfo(name = "fetched_at")
+    private Instant fetchedAt;
+
+    // Constructor
+    public WeatherForecast() {}
+
+    @Ignore
+    public WeatherForecast(int cellLat, int cellLng, @NonNull LocalDate forecastDate, double temperature,
+                           double cloudCover, double precipitation, Instant fetchedAt) {
+        this.cellLat = cellLat;
+        this.cellLng = cellLng;
+        this.forecastDate = forecastDate;
+        this.temperature = temperature;
+        this.cloudCover = cloudCover;
+        this.precipitation = precipitation;
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Getters and Setters
+    public int getCellLat() {
+        return cellLat;
+    }
+
+    public void setCellLat(int cellLat) {
+        this.cellLat = cellLat;
+    }
+
+    public int getCellLng() {
+        return cellLng;
+    }
+
+    public void setCellLng(int cellLng) {
+        this.cellLng = cellLng;
+    }
+
+    @NonNull
+    public LocalDate getForecastDate() {
+        return forecastDate;
+    }
+
+    public void setForecastDate(@NonNull LocalDate forecastDate) {
+        this.forecastDate = forecastDate;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(double temperature) {
+        this.temperature = temperature;
+    }
+
+    public double getCloudCover() {
+        return cloudCover;
+    }
+
+    public void setCloudCover(double cloudCover) {
+        this.cloudCover = cloudCover;
+    }
+
+    public double getPrecipitation() {
+        return precipitation;
+    }
+
+    public void setPrecipitation(double precipitation) {
+        this.precipitation = precipitation;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
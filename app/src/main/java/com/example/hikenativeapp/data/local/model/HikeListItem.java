@@ -0,0 +1,138 @@
+package com.example.hikenativeapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a hike for the hike list screen.
+ * Only the columns the list shows or needs for its actions are read,
+ * description and weather fields are left in the database.
+ */
+public class HikeListItem {
+
+    @ColumnInfo(name = "id")
+    private int id;
+
+    @ColumnInfo(name = "name")
+    private String name;
+
+    @ColumnInfo(name = "location")
+    private String location;
+
+    @ColumnInfo(name = "latitude")
+    private double latitude;
+
+    @ColumnInfo(name = "longitude")
+    private double longitude;
+
+    @ColumnInfo(name = "hike_date")
+    private LocalDate hikeDate;
+
+    @ColumnInfo(name = "parking_available")
+    private boolean parkingAvailable;
+
+    @ColumnInfo(name = "length")
+    private double length;
+
+    @ColumnInfo(name = "difficulty")
+    private String difficulty;
+
+    // Non-deleted observations of the hike
+    @ColumnInfo(name = "observation_count")
+    private int observationCount;
+
+    // Used by the paged list to detect changed rows
+    @ColumnInfo(name = "last_updated")
+    private Instant lastUpdated;
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDate getHikeDate() {
+        return hikeDate;
+    }
+
+    public void setHikeDate(LocalDate hikeDate) {
+        this.hikeDate = hikeDate;
+    }
+
+    public boolean isParkingAvailable() {
+        return parkingAvailable;
+    }
+
+    public void setParkingAvailable(boolean parkingAvailable) {
+        this.parkingAvailable = parkingAvailable;
+    }
+
+    public double getLength() {
+        return length;
+    }
+
+    public void setLength(double length) {
+        this.length = length;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public int getObservationCount() {
+        return observationCount;
+    }
+
+    public void setObservationCount(int observationCount) {
+        this.observationCount = observationCount;
+    }
+
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+}
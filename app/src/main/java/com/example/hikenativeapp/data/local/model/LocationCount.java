@@ -0,0 +1,32 @@
+package com.example.hikenativeapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * A location and the number of hikes at it.
+ */
+public class LocationCount {
+
+    @ColumnInfo(name = "location")
+    private String location;
+
+    @ColumnInfo(name = "hike_count")
+    private int hikeCount;
+
+    // Getters and Setters
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public int getHikeCount() {
+        return hikeCount;
+    }
+
+    public void setHikeCount(int hikeCount) {
+        this.hikeCount = hikeCount;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hikenativeapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+import com.example.hikenativeapp.data.local.entity.Observation;
+
+/**
+ * Result row of a full-text observation search.
+ * Each snippet wraps every matched term of its column between MATCH_START and MATCH_END,
+ * see SearchHighlightUtil to turn it into a highlighted CharSequence.
+ */
+public class ObservationSearchResult {
+
+    // Markers written by snippet(), must match char(2) / char(3) in ObservationDao
+    public static final char MATCH_START = '\u0002';
+    public static final char MATCH_END = '\u0003';
+
+    @Embedded
+    private Observation observation;
+
+    // Excerpt of observation_text, without markers when only the comments matched
+    @ColumnInfo(name = "text_snippet")
+    private String textSnippet;
+
+    // Excerpt of comments, without markers when only the text matched
+    @ColumnInfo(name = "comments_snippet")
+    private String commentsSnippet;
+
+    // Getters and Setters
+    public Observation getObservation() {
+        return observation;
+    }
+
+    public void setObservation(Observation observation) {
+        this.observation = observation;
+    }
+
+    public String getTextSnippet() {
+        return textSnippet;
+    }
+
+    public void setTextSnippet(String textSnippet) {
+        this.textSnippet = textSnippet;
+    }
+
+    public String getCommentsSnippet() {
+        return commentsSnippet;
+    }
+
+    public void setCommentsSnippet(String commentsSnippet) {
+        this.commentsSnippet = commentsSnippet;
+    }
+
+    /**
+     * @return true if the snippet holds at least one matched term
+     */
+    public static boolean hasMatch(String snippet) {
+        return snippet != null && snippet.indexOf(MATCH_START) >= 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hikenativeapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+
+import java.time.Instant;
+
+/**
+ * Uuid, local id, owner and last_updated of an existing hike, used by the pull sync
+ * to find the local row of an incoming version and decide whether it is newer.
+ * The owner is the user of the hike.
+ */
+public class RowVersion {
+
+    @ColumnInfo(name = "id")
+    private int id;
+
+    @ColumnInfo(name = "uuid")
+    private String uuid;
+
+    @ColumnInfo(name = "owner_id")
+    private int ownerId;
+
+    @ColumnInfo(name = "last_updated")
+    private Instant lastUpdated;
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public int getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(int ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.hikenativeapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+
+import java.time.LocalDate;
+
+/**
+ * Hike totals of one week or month, one point of a report chart.
+ */
+public class TimeBucketStats {
+
+    // First day of the bucket (Monday for weeks, the 1st for months)
+    @ColumnInfo(name = "bucket_start")
+    private LocalDate bucketStart;
+
+    @ColumnInfo(name = "hike_count")
+    private int hikeCount;
+
+    @ColumnInfo(name = "total_distance")
+    private double totalDistance;
+
+    @ColumnInfo(name = "total_duration")
+    private double totalDuration;
+
+    // Average of the temperatures above zero, 0 when there is none
+    @ColumnInfo(name = "average_temperature")
+    private double averageTemperature;
+
+    public TimeBucketStats() {
+    }
+
+    // Empty bucket, used to fill the gaps of a chart series
+    public TimeBucketStats(LocalDate bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    // Getters and Setters
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDate bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public int getHikeCount() {
+        return hikeCount;
+    }
+
+    public void setHikeCount(int hikeCount) {
+        this.hikeCount = hikeCount;
+    }
+
+    public double getTotalDistance() {
+        return totalDistance;
+    }
+
+    public void setTotalDistance(double totalDistance) {
+        this.totalDistance = totalDistance;
+    }
+
+    public double getTotalDuration() {
+        return totalDuration;
+    }
+
+    public void setTotalDuration(double totalDuration) {
+        this.totalDuration = totalDuration;
+    }
+
+    public double getAverageTemperature() {
+        return averageTemperature;
+    }
+
+    public void setAverageTemperature(double averageTemperature) {
+        this.averageTemperature = averageTemperature;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hikenativeapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+
+import java.time.LocalDate;
+
+/**
+ * Location, date and stored weather of an upcoming hike,
+ * read by the weather pre-fetch to refresh the forecast snapshot.
+ */
+public class UpcomingHikeWeather {
+
+    @ColumnInfo(name = "id")
+    private int id;
+
+    @ColumnInfo(name = "latitude")
+    private double latitude;
+
+    @ColumnInfo(name = "longitude")
+    private double longitude;
+
+    @ColumnInfo(name = "hike_date")
+    private LocalDate hikeDate;
+
+    @ColumnInfo(name = "temperature")
+    private double temperature;
+
+    @ColumnInfo(name = "weather_condition")
+    private String weatherCondition;
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDate getHikeDate() {
+        return hikeDate;
+    }
+
+    public void setHikeDate(LocalDate hikeDate) {
+        this.hikeDate = hikeDate;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public void setTemperature(double temperature) {
+        this.temperature = temperature;
+    }
+
+    public String getWeatherCondition() {
+        return weatherCondition;
+    }
+
+    public void setWeatherCondition(String weatherCondition) {
+        this.weatherCondition = weatherCondition;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.hikenativeapp.data.paging;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+import androidx.room.InvalidationTracker;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pages a user's hikes with keyset pagination on (hike_date, id), newest first,
+ * hikes without a date last. Undated hikes have their own queries on id, a page that
+ * reaches the end of the dated hikes is filled up from them.
+ * Every page is a seek from the last row of the previous page, so the cost of
+ * a page does not grow with its position the way OFFSET does.
+ * The source invalidates itself whenever the hikes table changes, or the observations
+ * table since the rows carry observation counts. The refresh after that starts at the
+ * row the user was looking at and pages in both directions from there.
+ */
+public class HikePagingSource extends ListenableFuturePagingSource<HikePagingSource.PageKey, HikeListItem> {
+
+    private final HikeDao hikeDao;
+    private final InvalidationTracker invalidationTracker;
+    private final int userId;
+    private final ListeningExecutorService executor;
+    private final AtomicBoolean observerRegistered = new AtomicBoolean(false);
+
+    public HikePagingSource(HikeDao hikeDao, InvalidationTracker invalidationTracker,
+                            int userId, ListeningExecutorService executor) {
+        this.hikeDao = hikeDao;
+        this.invalidationTracker = invalidationTracker;
+        this.userId = userId;
+        this.executor = executor;
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<PageKey, HikeListItem>> loadFuture(@NonNull LoadParams<PageKey> params) {
+        return executor.submit(() -> {
+            try {
+                // On the background thread, the Pager creates sources on the main thread
+                registerObserverIfNeeded();
+
+                PageKey key = params.getKey();
+                int limit = params.getLoadSize();
+
+                if (params instanceof LoadParams.Prepend) {
+                    List<HikeListItem> hikes = loadBefore(key, limit);
+                    Collections.reverse(hikes);
+                    PageKey prevKey = hikes.size() >= limit ? keyOf(hikes.get(0)) : null;
+                    PageKey nextKey = hikes.isEmpty() ? null : keyOf(hikes.get(hikes.size() - 1));
+                    return new LoadResult.Page<>(hikes, prevKey, nextKey);
+                }
+
+                // A refresh with a key starts at that row, so it is included (id + 1)
+                boolean refresh = params instanceof LoadParams.Refresh;
+                List<HikeListItem> hikes = loadAfter(key, refresh, limit);
+                if (refresh && key != null && hikes.isEmpty()) {
+                    // Everything from the anchor down is gone, start over at the top
+                    key = null;
+                    hikes = loadAfter(null, false, limit);
+                }
+
+                PageKey nextKey = hikes.size() >= limit ? keyOf(hikes.get(hikes.size() - 1)) : null;
+                // Newer rows can only exist above a refresh that did not start at the top
+                PageKey prevKey = refresh && key != null ? keyOf(hikes.get(0)) : null;
+                return new LoadResult.Page<>(hikes, prevKey, nextKey);
+            } catch (Exception e) {
+                return new LoadResult.Error<>(e);
+            }
+        });
+    }
+
+    @Nullable
+    @Override
+    public PageKey getRefreshKey(@NonNull PagingState<PageKey, HikeListItem> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        // Start half a page above the row in view, so the rows around it are in the first page
+        int position = Math.max(0, anchorPosition - state.getConfig().pageSize / 2);
+        HikeListItem hike = state.closestItemToPosition(position);
+        return hike != null ? keyOf(hike) : null;
+    }
+
+    // Rows after the key in list order: dated hikes, then the undated ones once those run out
+    private List<HikeListItem> loadAfter(PageKey key, boolean includeKey, int limit) {
+        if (key != null && key.hikeDate == null) {
+            return hikeDao.getUndatedHikesPageAfter(userId, includeKey ? key.id + 1 : key.id, limit);
+        }
+        List<HikeListItem> hikes = key == null
+                ? hikeDao.getHikesPage(userId, limit)
+                : hikeDao.getHikesPageAfter(userId, key.hikeDate, includeKey ? key.id + 1 : key.id, limit);
+        if (hikes.size() < limit) {
+            hikes = new ArrayList<>(hikes);
+            hikes.addAll(hikeDao.getUndatedHikesPage(userId, limit - hikes.size()));
+        }
+        return hikes;
+    }
+
+    // Rows before the key, nearest first: undated hikes, then the oldest dated ones once those run out
+    private List<HikeListItem> loadBefore(PageKey key, int limit) {
+        if (key.hikeDate != null) {
+            return new ArrayList<>(hikeDao.getHikesPageBefore(userId, key.hikeDate, key.id, limit));
+        }
+        List<HikeListItem> hikes = new ArrayList<>(hikeDao.getUndatedHikesPageBefore(userId, key.id, limit));
+        if (hikes.size() < limit) {
+            hikes.addAll(hikeDao.getOldestHikesPage(userId, limit - hikes.size()));
+        }
+        return hikes;
+    }
+
+    private void registerObserverIfNeeded() {
+        if (!observerRegistered.compareAndSet(false, true)) {
+            return;
+        }
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("hikes", "observations") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        };
+        invalidationTracker.addObserver(observer);
+        registerInvalidatedCallback(() -> {
+            invalidationTracker.removeObserver(observer);
+            return kotlin.Unit.INSTANCE;
+        });
+    }
+
+    private static PageKey keyOf(HikeListItem hike) {
+        return new PageKey(hike.getHikeDate(), hike.getId());
+    }
+
+    /**
+     * Position of a loaded row, the next page starts right after it and the previous one right before it.
+     * hikeDate is null for a hike without a date
+     */
+    public static class PageKey {
+        final LocalDate hikeDate;
+        final int id;
+
+        PageKey(LocalDate hikeDate, int id) {
+            this.hikeDate = hikeDate;
+            this.id = id;
+        }
+    }
+}
@@ -1,58 +1,67 @@
 package com.example.hikenativeapp.data.repository;
 
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.util.Log;
 
+import com.example.hikenativeapp.api.FirebaseTokenProvider;
 import com.example.hikenativeapp.api.HikeSyncApi;
 import com.example.hikenativeapp.api.SyncService;
 import com.example.hikenativeapp.data.local.AppDatabase;
 import com.example.hikenativeapp.data.local.dao.HikeDao;
 import com.example.hikenativeapp.data.local.dao.ObservationDao;
+import com.example.hikenativeapp.data.local.dao.SyncOutboxDao;
 import com.example.hikenativeapp.data.local.dao.UserDao;
 import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.HikeSyncState;
 import com.example.hikenativeapp.data.local.entity.Observation;
 import com.example.hikenativeapp.data.local.entity.User;
-import com.example.hikenativeapp.data.sync.HikeSyncRequest;
-import com.example.hikenativeapp.data.sync.HikeSyncResponse;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.example.hikenativeapp.data.paging.HikePagingSource;
+import com.example.hikenativeapp.data.sync.HikeChangeData;
+import com.example.hikenativeapp.data.sync.HikeChangesResponse;
+import com.example.hikenativeapp.data.sync.ObservationChangeData;
 import com.example.hikenativeapp.data.sync.SyncDataMapper;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseUser;
-
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import com.example.hikenativeapp.data.sync.SyncOutbox;
+import com.example.hikenativeapp.util.Constants;
+import com.example.hikenativeapp.util.FtsQueryUtil;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
-import retrofit2.Call;
-import retrofit2.Callback;
 import retrofit2.Response;
 
 public class HikeRepository {
 
     private static final String TAG = "HikeRepository";
 
+    private AppDatabase database;
     private UserDao userDao;
     private HikeDao hikeDao;
     private ObservationDao observationDao;
     private ExecutorService executorService;
+    private SyncOutbox syncOutbox;
     private HikeSyncApi syncApi;
+    private SharedPreferences prefs;
 
     public HikeRepository(Context context) {
-        AppDatabase database = AppDatabase.getDatabase(context);
+        database = AppDatabase.getDatabase(context);
         userDao = database.userDao();
         hikeDao = database.hikeDao();
         observationDao = database.observationDao();
         executorService = Executors.newFixedThreadPool(4);
+        syncOutbox = SyncOutbox.getInstance(context);
         syncApi = SyncService.getApi();
-    }
-
-    // Helper method to get current timestamp
-    private String getCurrentTimestamp() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        return sdf.format(new Date());
+        prefs = context.getApplicationContext().getSharedPreferences(Constants.PREFS_NAME, Context.MODE_PRIVATE);
     }
 
     // Hike operations
@@ -61,13 +70,25 @@ public class HikeRepository {
         return executorService.submit(() -> hikeDao.getHikesByUserId(userId));
     }
 
+    /**
+     * Create a keyset PagingSource over the user's hikes, newest first
+     */
+    public HikePagingSource createHikePagingSource(int userId) {
+        ListeningExecutorService executor = MoreExecutors.listeningDecorator(executorService);
+        return new HikePagingSource(hikeDao, database.getInvalidationTracker(), userId, executor);
+    }
+
+    public Future<List<HikeListItem>> getHikeListItemsByUserId(int userId) {
+        return executorService.submit(() -> hikeDao.getHikeListItemsByUserId(userId));
+    }
+
     public Future<Hike> getHikeById(int hikeId) {
         return executorService.submit(() -> hikeDao.getHikeById(hikeId));
     }
 
 
     public void restoreHike(int hikeId) {
-        executorService.execute(() -> hikeDao.restoreHike(hikeId, getCurrentTimestamp()));
+        executorService.execute(() -> hikeDao.restoreHike(hikeId, Instant.now()));
     }
 
     // Hard delete methods (use with caution)
@@ -85,101 +106,145 @@ public class HikeRepository {
     }
 
     /**
-     * Sync a hike and its observations to the backend Vector DB
-     * IMPORTANT: Uses Firebase UID (google_id) for user identification
+     * Queue a hike and its observations for upload to the backend Vector DB
+     * The upload runs in the background through SyncOutbox and is retried until it succeeds,
+     * the callback gets the result of the next attempt.
+     * Must be called off the main thread.
      */
     public void syncHikeToVectorDB(int hikeId, boolean isDeleted, SyncCallback callback) {
-        executorService.execute(() -> {
-            try {
-                // Get Firebase auth token
-                FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
-                if (currentUser == null) {
-                    callback.onError("User not authenticated");
-                    return;
+        try {
+            syncOutbox.enqueue(hikeId, isDeleted, callback);
+        } catch (Exception e) {
+            Log.e(TAG, "Error queueing sync", e);
+            callback.onError("Sync error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queue every hike of a user for upload, e.g. after the Vector DB was reset
+     * The outbox sends them in size-bounded batches, not one request per hike.
+     *
+     * @return Number of hikes queued
+     */
+    public Future<Integer> resyncAllHikes(int userId) {
+        return executorService.submit(() -> {
+            // Full re-sync, not a delta from the old watermarks
+            database.syncOutboxDao().clearSyncStateByUserId(userId);
+            List<Integer> hikeIds = hikeDao.getAllHikeIdsByUserId(userId);
+            syncOutbox.enqueueAll(hikeIds);
+            Log.d(TAG, "Queued " + hikeIds.size() + " hikes for re-sync");
+            return hikeIds.size();
+        });
+    }
+
+    /**
+     * Pull the hikes changed on the backend since the last pull, e.g. after a reinstall
+     * or on a second device. Pages are requested with the server cursor and each page is
+     * written in one transaction, so only one page is held in memory at a time.
+     * The cursor is saved after its page commits; a page applied twice changes nothing.
+     *
+     * @return Number of hikes written locally
+     */
+    public Future<Integer> pullChanges(int userId) {
+        return executorService.submit(() -> {
+            String cursorKey = Constants.PREF_PULL_CURSOR + "_" + userId;
+            String cursor = prefs.getString(cursorKey, null);
+            String authToken = FirebaseTokenProvider.getInstance().getAuthorizationHeader();
+            int written = 0;
+            int pages = 0;
+
+            boolean hasMore = true;
+            while (hasMore) {
+                Response<HikeChangesResponse> response =
+                        syncApi.getChanges(authToken, cursor, Constants.SYNC_PULL_PAGE_SIZE).execute();
+                HikeChangesResponse page = response.body();
+                if (!response.isSuccessful() || page == null || !page.isSuccess()) {
+                    String error = page != null ? page.getMessage() : "Server error: " + response.code();
+                    throw new IOException("Pull sync failed: " + error);
                 }
 
-                // This is the Firebase UID (google_id)
-                String firebaseUid = currentUser.getUid();
-                Log.d(TAG, "=== SYNC HIKE REQUEST ===");
-                Log.d(TAG, "Firebase UID (google_id): " + firebaseUid);
-                Log.d(TAG, "Email: " + currentUser.getEmail());
-                Log.d(TAG, "Hike ID: " + hikeId);
-                Log.d(TAG, "Is Deleted: " + isDeleted);
-                Log.d(TAG, "========================");
-
-                // Get auth token
-                currentUser.getIdToken(true).addOnSuccessListener(result -> {
-                    String authToken = "Bearer " + result.getToken();
-
-                    // Get hike and observations from database
-                    executorService.execute(() -> {
-                        try {
-                            // IMPORTANT: Use includeDeleted methods when syncing deleted items
-                            Hike hike = isDeleted
-                                ? hikeDao.getHikeByIdIncludingDeleted(hikeId)
-                                : hikeDao.getHikeById(hikeId);
-
-                            if (hike == null) {
-                                callback.onError("Hike not found");
-                                return;
-                            }
-
-                            // Get observations including deleted ones if the hike is being deleted
-                            List<Observation> observations = isDeleted
-                                ? observationDao.getObservationsByHikeIdIncludingDeleted(hikeId)
-                                : observationDao.getObservationsByHikeId(hikeId);
-
-                            // Create sync request
-                            HikeSyncRequest syncRequest = SyncDataMapper.createSyncRequest(
-                                hike,
-                                observations,
-                                isDeleted
-                            );
-
-                            Log.d(TAG, "Sending sync request to backend...");
-                            Log.d(TAG, "Hike name: " + hike.getName());
-                            Log.d(TAG, "Location: " + hike.getLocation());
-                            Log.d(TAG, "Observations count: " + observations.size());
-
-                            // Send to backend
-                            syncApi.syncHike(authToken, syncRequest).enqueue(new Callback<HikeSyncResponse>() {
-                                @Override
-                                public void onResponse(Call<HikeSyncResponse> call, Response<HikeSyncResponse> response) {
-                                    if (response.isSuccessful() && response.body() != null) {
-                                        HikeSyncResponse syncResponse = response.body();
-                                        if (syncResponse.isSuccess()) {
-                                            Log.d(TAG, "Sync successful: " + syncResponse.getMessage());
-                                            callback.onSuccess(syncResponse.getMessage());
-                                        } else {
-                                            Log.e(TAG, "Sync failed: " + syncResponse.getMessage());
-                                            callback.onError(syncResponse.getMessage());
-                                        }
-                                    } else {
-                                        callback.onError("Server error: " + response.code());
-                                    }
-                                }
-
-                                @Override
-                                public void onFailure(Call<HikeSyncResponse> call, Throwable t) {
-                                    Log.e(TAG, "Sync request failed", t);
-                                    callback.onError("Network error: " + t.getMessage());
-                                }
-                            });
-
-                        } catch (Exception e) {
-                            Log.e(TAG, "Error preparing sync data", e);
-                            callback.onError("Error: " + e.getMessage());
-                        }
-                    });
-                }).addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to get auth token", e);
-                    callback.onError("Auth error: " + e.getMessage());
-                });
-
-            } catch (Exception e) {
-                Log.e(TAG, "Sync error", e);
-                callback.onError("Sync error: " + e.getMessage());
+                written += applyChanges(userId, page.getChanges());
+                pages++;
+                cursor = page.getNextCursor();
+                prefs.edit().putString(cursorKey, cursor).apply();
+                hasMore = page.isHasMore() && cursor != null;
+            }
+
+            Log.d(TAG, "Pull sync done: " + written + " hikes written from " + pages + " pages");
+            return written;
+        });
+    }
+
+    /**
+     * Apply one page of pulled changes in a single transaction, last writer wins on last_updated.
+     * Rows are matched by uuid, local ids never leave this device.
+     */
+    private int applyChanges(int userId, List<HikeChangeData> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return 0;
+        }
+
+        List<HikeChangeData> matchable = new ArrayList<>(changes.size());
+        List<Hike> hikes = new ArrayList<>(changes.size());
+        for (HikeChangeData change : changes) {
+            // Uploaded before hikes had a global id: it cannot be matched safely, the owning
+            // device re-uploads it with its uuid
+            if (change.getUuid() == null) {
+                Log.w(TAG, "Pulled hike without uuid skipped: " + change.getIdLocal());
+                continue;
+            }
+            matchable.add(change);
+            hikes.add(SyncDataMapper.toHike(change, userId));
+        }
+        if (hikes.isEmpty()) {
+            return 0;
+        }
+
+        return database.runInTransaction(() -> {
+            // Sets the local id of every hike of this user, whichever side won
+            List<Integer> writtenIds = hikeDao.mergeHikes(hikes);
+
+            List<Observation> observations = new ArrayList<>();
+            Map<Integer, Instant> pulledUntil = new HashMap<>();
+            for (int i = 0; i < matchable.size(); i++) {
+                HikeChangeData change = matchable.get(i);
+                int hikeId = hikes.get(i).getId();
+                if (hikeId == 0) {
+                    // The uuid belongs to a hike of another user
+                    continue;
+                }
+                pulledUntil.put(hikeId, Instant.ofEpochMilli(change.getLastUpdated()));
+                if (change.getObservations() == null) {
+                    continue;
+                }
+                for (ObservationChangeData data : change.getObservations()) {
+                    if (data.getUuid() == null) {
+                        continue;
+                    }
+                    Observation observation = SyncDataMapper.toObservation(data, hikeId);
+                    observations.add(observation);
+                    if (observation.getLastUpdated().isAfter(pulledUntil.get(hikeId))) {
+                        pulledUntil.put(hikeId, observation.getLastUpdated());
+                    }
+                }
+            }
+            observationDao.mergeObservations(observations);
+
+            // The backend already has what was just written, later pushes only send newer changes.
+            // Hikes with a pending upload keep their watermark so local edits are not skipped.
+            SyncOutboxDao outboxDao = database.syncOutboxDao();
+            for (int hikeId : writtenIds) {
+                if (outboxDao.hasPendingEntry(hikeId)) {
+                    continue;
+                }
+                Instant syncedUntil = pulledUntil.get(hikeId);
+                Instant previous = outboxDao.getSyncedUntil(hikeId);
+                if (previous != null && previous.isAfter(syncedUntil)) {
+                    syncedUntil = previous;
+                }
+                outboxDao.saveSyncState(new HikeSyncState(hikeId, syncedUntil, null));
             }
+            return writtenIds.size();
         });
     }
 
@@ -188,6 +253,9 @@ public class HikeRepository {
      */
     public Future<Long> insertHikeAndSync(Hike hike, SyncCallback syncCallback) {
         return executorService.submit(() -> {
+            if (hike.getCreatedAt() == null) {
+                hike.initTimestamps();
+            }
             long hikeId = hikeDao.insertHike(hike);
 
             // Trigger sync after insert
@@ -215,7 +283,7 @@ public class HikeRepository {
      */
     public void softDeleteHikeAndSync(int hikeId, SyncCallback syncCallback) {
         executorService.execute(() -> {
-            String timestamp = getCurrentTimestamp();
+            Instant timestamp = Instant.now();
 
             // Soft delete the hike
             hikeDao.softDeleteHike(hikeId, timestamp);
@@ -235,24 +303,47 @@ public class HikeRepository {
     /**
      * Simple search by name
      */
-    public Future<List<Hike>> searchHikesByName(int userId, String name) {
+    public Future<List<HikeListItem>> searchHikesByName(int userId, String name) {
         return executorService.submit(() -> hikeDao.searchHikesByName(userId, name));
     }
 
     /**
      * Search by length range
      */
-    public Future<List<Hike>> searchHikesByLengthRange(int userId, double minLength, double maxLength) {
+    public Future<List<HikeListItem>> searchHikesByLengthRange(int userId, double minLength, double maxLength) {
         return executorService.submit(() -> hikeDao.searchHikesByLengthRange(userId, minLength, maxLength));
     }
 
     /**
      * Search by name and length range combined
      */
-    public Future<List<Hike>> searchHikesByNameAndLength(int userId, String name, double minLength, double maxLength) {
+    public Future<List<HikeListItem>> searchHikesByNameAndLength(int userId, String name, double minLength, double maxLength) {
         return executorService.submit(() -> hikeDao.searchHikesByNameAndLength(userId, name, minLength, maxLength));
     }
 
+    /**
+     * Full-text search by name, location and description using prefix matching
+     * Falls back to the LIKE search when the input has no searchable words
+     */
+    public Future<List<HikeListItem>> searchHikes(int userId, String text) {
+        String query = FtsQueryUtil.toPrefixQuery(text);
+        if (query == null) {
+            return searchHikesByName(userId, text);
+        }
+        return executorService.submit(() -> hikeDao.searchHikesFts(userId, query));
+    }
+
+    /**
+     * Full-text search combined with length range
+     */
+    public Future<List<HikeListItem>> searchHikesWithLength(int userId, String text, double minLength, double maxLength) {
+        String query = FtsQueryUtil.toPrefixQuery(text);
+        if (query == null) {
+            return searchHikesByNameAndLength(userId, text, minLength, maxLength);
+        }
+        return executorService.submit(() -> hikeDao.searchHikesFtsWithLength(userId, query, minLength, maxLength));
+    }
+
     // Cleanup method
     public void cleanup() {
         if (executorService != null && !executorService.isShutdown()) {
@@ -5,11 +5,12 @@ import android.util.Log;
 import com.example.hikenativeapp.data.local.AppDatabase;
 import com.example.hikenativeapp.data.local.dao.ObservationDao;
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
+import com.example.hikenativeapp.util.FtsQueryUtil;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -29,12 +30,6 @@ public class ObservationRepository {
         hikeRepository = new HikeRepository(context);
     }
 
-    // Helper method to get current timestamp
-    private String getCurrentTimestamp() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
-        return sdf.format(new Date());
-    }
-
     // Observation operations
 
 
@@ -52,12 +47,25 @@ public class ObservationRepository {
         return executorService.submit(() -> observationDao.getObservationCountByHikeId(hikeId));
     }
 
+    /**
+     * Full-text search of observations within a hike, results carry a highlight snippet
+     */
+    public Future<List<ObservationSearchResult>> searchObservationsInHike(int hikeId, String text) {
+        String query = FtsQueryUtil.toPrefixQuery(text);
+        if (query == null) {
+            return executorService.submit(() -> new ArrayList<ObservationSearchResult>());
+        }
+        return executorService.submit(() -> observationDao.searchObservationsInHike(hikeId, query));
+    }
 
     /**
      * Insert observation and automatically sync the parent hike to Vector DB
      */
     public Future<Long> insertObservationAndSync(Observation observation, HikeRepository.SyncCallback syncCallback) {
         return executorService.submit(() -> {
+            if (observation.getCreatedAt() == null) {
+                observation.initTimestamps();
+            }
             long observationId = observationDao.insertObservation(observation);
 
             Log.d(TAG, " Observation inserted with ID: " + observationId);
@@ -106,7 +114,7 @@ public class ObservationRepository {
             int hikeId = observation.getHikeId();
 
             // Soft delete the observation
-            observationDao.softDeleteObservation(observationId, getCurrentTimestamp());
+            observationDao.softDeleteObservation(observationId, Instant.now());
 
             Log.d(TAG, "Observation soft deleted: " + observationId);
             Log.d(TAG, "Syncing parent hike to update observations...");
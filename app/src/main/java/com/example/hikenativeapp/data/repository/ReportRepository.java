@@ -3,11 +3,22 @@ package com.example.hikenativeapp.data.repository;
 import android.app.Application;
 import android.util.Log;
 
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Transformations;
+
 import com.example.hikenativeapp.data.local.AppDatabase;
 import com.example.hikenativeapp.data.local.dao.HikeDao;
-import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.dao.HikeStatsDao;
+import com.example.hikenativeapp.data.local.entity.HikeStats;
+import com.example.hikenativeapp.data.local.model.LocationCount;
+import com.example.hikenativeapp.data.local.model.TimeBucketStats;
 import com.example.hikenativeapp.data.report.ReportStatistics;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +28,7 @@ import java.util.concurrent.Executors;
 public class ReportRepository {
     private static final String TAG = "ReportRepository";
     private final HikeDao hikeDao;
+    private final HikeStatsDao hikeStatsDao;
     private final ExecutorService executorService;
 
     public interface ReportCallback {
@@ -24,36 +36,26 @@ public class ReportRepository {
         void onError(String error);
     }
 
+    public interface SeriesCallback {
+        void onSuccess(List<TimeBucketStats> series);
+        void onError(String error);
+    }
+
     public ReportRepository(Application application) {
         AppDatabase database = AppDatabase.getDatabase(application);
         this.hikeDao = database.hikeDao();
+        this.hikeStatsDao = database.hikeStatsDao();
         this.executorService = Executors.newSingleThreadExecutor();
     }
 
     /**
      * Calculate statistics for users
+     * Totals come from the hike_stats row kept up to date by triggers
      */
     public void getReportStatistics(int userId, ReportCallback callback) {
         executorService.execute(() -> {
             try {
-                List<Hike> hikes = hikeDao.getHikesByUserId(userId);
-
-                ReportStatistics stats = new ReportStatistics();
-
-                if (hikes.isEmpty()) {
-                    callback.onSuccess(stats);
-                    return;
-                }
-
-                // Calculate metrics
-                calculateBasicStats(hikes, stats);
-                calculateDifficultyBreakdown(hikes, stats);
-                calculateParkingStats(hikes, stats);
-                calculateTopLocation(hikes, stats);
-
-                Log.d(TAG, "Calculated statistics for " + hikes.size() + " hikes");
-                callback.onSuccess(stats);
-
+                callback.onSuccess(buildStatistics(userId));
             } catch (Exception e) {
                 Log.e(TAG, "Error calculating statistics", e);
                 callback.onError(e.getMessage());
@@ -62,107 +64,127 @@ public class ReportRepository {
     }
 
     /**
-     * Calculate basic statistics
+     * Recompute the user's hike_stats row from the hikes table, then report from it
+     * Used as a consistency check, the running sums of the triggers can drift slightly
      */
-    private void calculateBasicStats(List<Hike> hikes, ReportStatistics stats) {
-        stats.setTotalHikes(hikes.size());
+    public void rebuildReportStatistics(int userId, ReportCallback callback) {
+        executorService.execute(() -> {
+            try {
+                hikeStatsDao.rebuildStatsByUserId(userId);
+                Log.d(TAG, "Rebuilt statistics for user " + userId);
+                callback.onSuccess(buildStatistics(userId));
+            } catch (Exception e) {
+                Log.e(TAG, "Error rebuilding statistics", e);
+                callback.onError(e.getMessage());
+            }
+        });
+    }
 
-        double totalDistance = 0;
-        double totalDuration = 0;
-        double totalTemp = 0;
-        int tempCount = 0;
+    private ReportStatistics buildStatistics(int userId) {
+        ReportStatistics stats = new ReportStatistics();
 
-        for (Hike hike : hikes) {
-            totalDistance += hike.getLength();
-            totalDuration += hike.getEstimatedDuration();
+        HikeStats totals = hikeStatsDao.getStatsByUserId(userId);
+        if (totals == null || totals.getTotalHikes() <= 0) {
+            return stats;
+        }
 
-            if (hike.getTemperature() > 0) {
-                totalTemp += hike.getTemperature();
-                tempCount++;
-            }
+        // Basic statistics
+        stats.setTotalHikes(totals.getTotalHikes());
+        stats.setTotalDistance(totals.getTotalDistance());
+        stats.setTotalDuration(totals.getTotalDuration());
+        if (totals.getTemperatureCount() > 0) {
+            stats.setAverageTemperature(totals.getTemperatureSum() / totals.getTemperatureCount());
         }
 
-        stats.setTotalDistance(totalDistance);
-        stats.setTotalDuration(totalDuration);
+        // Difficulty breakdown
+        stats.setEasyHikes(totals.getEasyHikes());
+        stats.setModerateHikes(totals.getModerateHikes());
+        stats.setHardHikes(totals.getHardHikes());
+
+        // Parking statistics
+        stats.setHikesWithParking(totals.getHikesWithParking());
+        stats.setHikesWithoutParking(totals.getTotalHikes() - totals.getHikesWithParking());
 
-        if (tempCount > 0) {
-            stats.setAverageTemperature(totalTemp / tempCount);
+        // Most visited location
+        LocationCount topLocation = hikeDao.getTopLocation(userId);
+        if (topLocation != null) {
+            stats.setTopLocation(topLocation.getLocation());
+            stats.setTopLocationCount(topLocation.getHikeCount());
         }
+
+        return stats;
     }
 
+    // ==================== TIME SERIES ====================
+
     /**
-     * Calculate difficulty breakdown
+     * Weekly totals of hikes dated in [from, to), weeks without hikes are left out
      */
-    private void calculateDifficultyBreakdown(List<Hike> hikes, ReportStatistics stats) {
-        int easy = 0, moderate = 0, hard = 0;
-
-        for (Hike hike : hikes) {
-            String difficulty = hike.getDifficulty();
-            if (difficulty != null) {
-                switch (difficulty.toLowerCase()) {
-                    case "easy":
-                        easy++;
-                        break;
-                    case "moderate":
-                        moderate++;
-                        break;
-                    case "hard":
-                    case "difficult":
-                        hard++;
-                        break;
-                }
+    public void getWeeklySeries(int userId, LocalDate from, LocalDate to, SeriesCallback callback) {
+        executorService.execute(() -> {
+            try {
+                callback.onSuccess(hikeDao.getWeeklyTotals(userId, from, to));
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading weekly series", e);
+                callback.onError(e.getMessage());
             }
-        }
-
-        stats.setEasyHikes(easy);
-        stats.setModerateHikes(moderate);
-        stats.setHardHikes(hard);
+        });
     }
 
     /**
-     * Calculate parking statistics
+     * Monthly totals of hikes dated in [from, to), months without hikes are left out
      */
-    private void calculateParkingStats(List<Hike> hikes, ReportStatistics stats) {
-        int withParking = 0;
-        int withoutParking = 0;
-
-        for (Hike hike : hikes) {
-            if (hike.isParkingAvailable()) {
-                withParking++;
-            } else {
-                withoutParking++;
+    public void getMonthlySeries(int userId, LocalDate from, LocalDate to, SeriesCallback callback) {
+        executorService.execute(() -> {
+            try {
+                callback.onSuccess(hikeDao.getMonthlyTotals(userId, from, to));
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading monthly series", e);
+                callback.onError(e.getMessage());
             }
-        }
+        });
+    }
 
-        stats.setHikesWithParking(withParking);
-        stats.setHikesWithoutParking(withoutParking);
+    /**
+     * The last `count` weeks up to the current one, oldest first, for charts.
+     * Always `count` points (empty weeks included) and updated whenever hikes change.
+     */
+    public LiveData<List<TimeBucketStats>> observeLastWeeks(int userId, int count) {
+        LocalDate currentWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate first = currentWeek.minusWeeks(count - 1);
+        return Transformations.map(
+                hikeDao.observeWeeklyTotals(userId, first, currentWeek.plusWeeks(1)),
+                rows -> fillBuckets(rows, first, count, ChronoUnit.WEEKS));
     }
 
     /**
-     * Find the most visited locations
+     * The last `count` months up to the current one, oldest first, for charts.
+     * Always `count` points (empty months included) and updated whenever hikes change.
      */
-    private void calculateTopLocation(List<Hike> hikes, ReportStatistics stats) {
-        Map<String, Integer> locationCounts = new HashMap<>();
+    public LiveData<List<TimeBucketStats>> observeLastMonths(int userId, int count) {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate first = currentMonth.minusMonths(count - 1);
+        return Transformations.map(
+                hikeDao.observeMonthlyTotals(userId, first, currentMonth.plusMonths(1)),
+                rows -> fillBuckets(rows, first, count, ChronoUnit.MONTHS));
+    }
 
-        for (Hike hike : hikes) {
-            String location = hike.getLocation();
-            if (location != null && !location.isEmpty()) {
-                locationCounts.put(location, locationCounts.getOrDefault(location, 0) + 1);
+    // Place the SQL rows on a continuous axis of `count` buckets starting at `first`
+    private static List<TimeBucketStats> fillBuckets(List<TimeBucketStats> rows, LocalDate first,
+                                                     int count, ChronoUnit unit) {
+        Map<LocalDate, TimeBucketStats> byStart = new HashMap<>();
+        if (rows != null) {
+            for (TimeBucketStats row : rows) {
+                byStart.put(row.getBucketStart(), row);
             }
         }
 
-        // Find the location with the highest count
-        String topLocation = null;
-        int maxCount = 0;
-
-        for (Map.Entry<String, Integer> entry : locationCounts.entrySet()) {
-            if (entry.getValue() > maxCount) {
-                maxCount = entry.getValue();
-                topLocation = entry.getKey();
-            }
+        List<TimeBucketStats> series = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = first.plus(i, unit);
+            TimeBucketStats bucket = byStart.get(start);
+            series.add(bucket != null ? bucket : new TimeBucketStats(start));
         }
-
-        stats.setTopLocation(topLocation);
-        stats.setTopLocationCount(maxCount);
+        return series;
     }
 }
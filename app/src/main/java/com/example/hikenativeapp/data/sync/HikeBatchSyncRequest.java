@@ -0,0 +1,25 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * Several hikes (each with its observations) uploaded in one request
+ */
+public class HikeBatchSyncRequest {
+    @SerializedName("items")
+    private List<HikeSyncRequest> items;
+
+    public HikeBatchSyncRequest(List<HikeSyncRequest> items) {
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<HikeSyncRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<HikeSyncRequest> items) {
+        this.items = items;
+    }
+}
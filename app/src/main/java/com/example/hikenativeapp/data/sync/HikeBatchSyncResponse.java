@@ -0,0 +1,44 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+public class HikeBatchSyncResponse {
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("message")
+    private String message;
+
+    // One entry per uploaded hike, matched by id_local
+    @SerializedName("results")
+    private List<HikeSyncResult> results;
+
+    public HikeBatchSyncResponse() {
+    }
+
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<HikeSyncResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<HikeSyncResult> results) {
+        this.results = results;
+    }
+}
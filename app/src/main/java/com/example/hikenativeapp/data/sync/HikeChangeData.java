@@ -0,0 +1,142 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * A hike as stored on the backend, with its observations changed since the cursor.
+ * Unlike HikeSyncData it carries coordinates and timestamps (epoch millis),
+ * so it can be written back into the local database as is.
+ */
+public class HikeChangeData {
+    @SerializedName("id_local")
+    private int idLocal;
+
+    // Merge key, id_local is the id on the device that uploaded the row
+    @SerializedName("uuid")
+    private String uuid;
+
+    @SerializedName("name")
+    private String name;
+
+    @SerializedName("location")
+    private String location;
+
+    @SerializedName("latitude")
+    private double latitude;
+
+    @SerializedName("longitude")
+    private double longitude;
+
+    @SerializedName("hike_date")
+    private String hikeDate;
+
+    @SerializedName("parking_available")
+    private boolean parkingAvailable;
+
+    @SerializedName("length")
+    private double length;
+
+    @SerializedName("difficulty")
+    private String difficulty;
+
+    @SerializedName("description")
+    private String description;
+
+    @SerializedName("weather_condition")
+    private String weatherCondition;
+
+    @SerializedName("temperature")
+    private Double temperature;
+
+    @SerializedName("estimated_duration")
+    private Double estimatedDuration;
+
+    @SerializedName("created_at")
+    private long createdAt;
+
+    @SerializedName("last_updated")
+    private long lastUpdated;
+
+    @SerializedName("is_deleted")
+    private boolean isDeleted;
+
+    @SerializedName("observations")
+    private List<ObservationChangeData> observations;
+
+    public HikeChangeData() {
+    }
+
+    // Getters
+    public int getIdLocal() {
+        return idLocal;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public String getHikeDate() {
+        return hikeDate;
+    }
+
+    public boolean isParkingAvailable() {
+        return parkingAvailable;
+    }
+
+    public double getLength() {
+        return length;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getWeatherCondition() {
+        return weatherCondition;
+    }
+
+    public Double getTemperature() {
+        return temperature;
+    }
+
+    public Double getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public boolean isDeleted() {
+        return isDeleted;
+    }
+
+    public List<ObservationChangeData> getObservations() {
+        return observations;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * One page of the pull sync: hikes changed after the request cursor, oldest change first.
+ * next_cursor is passed back to get the following page.
+ */
+public class HikeChangesResponse {
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("message")
+    private String message;
+
+    @SerializedName("changes")
+    private List<HikeChangeData> changes;
+
+    // Position after the last change of this page, opaque to the app
+    @SerializedName("next_cursor")
+    private String nextCursor;
+
+    @SerializedName("has_more")
+    private boolean hasMore;
+
+    public HikeChangesResponse() {
+    }
+
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<HikeChangeData> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<HikeChangeData> changes) {
+        this.changes = changes;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
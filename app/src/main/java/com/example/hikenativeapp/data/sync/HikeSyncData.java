@@ -6,6 +6,10 @@ public class HikeSyncData {
     @SerializedName("id_local")
     private int idLocal;
 
+    // Key of the hike on the backend, id_local differs per device
+    @SerializedName("uuid")
+    private String uuid;
+
     @SerializedName("name")
     private String name;
 
@@ -36,11 +40,12 @@ public class HikeSyncData {
     @SerializedName("estimated_duration")
     private Double estimatedDuration;
 
-    public HikeSyncData(int idLocal, String name, String location, String hikeDate,
+    public HikeSyncData(int idLocal, String uuid, String name, String location, String hikeDate,
                         boolean parkingAvailable, double length, String difficulty,
                         String description, String weatherCondition, Double temperature,
                         Double estimatedDuration) {
         this.idLocal = idLocal;
+        this.uuid = uuid;
         this.name = name;
         this.location = location;
         this.hikeDate = hikeDate;
@@ -13,12 +13,34 @@ public class HikeSyncRequest {
     @SerializedName("is_deleted")
     private boolean isDeleted;
 
+    // Delta request: observations only holds rows changed since the last acknowledged sync,
+    // the backend keeps the other ones. Null (left out of the JSON) for a full request
+    @SerializedName("delta")
+    private Boolean delta;
+
+    // Tombstones of observations soft-deleted since the last sync (delta requests only)
+    @SerializedName("deleted_observation_ids")
+    private List<Integer> deletedObservationIds;
+
+    // The same tombstones by global id, which the backend matches across devices
+    @SerializedName("deleted_observation_uuids")
+    private List<String> deletedObservationUuids;
+
     public HikeSyncRequest(HikeSyncData hike, List<ObservationSyncData> observations, boolean isDeleted) {
         this.hike = hike;
         this.observations = observations;
         this.isDeleted = isDeleted;
     }
 
+    public HikeSyncRequest(HikeSyncData hike, List<ObservationSyncData> observations,
+                           List<Integer> deletedObservationIds, List<String> deletedObservationUuids) {
+        this.hike = hike;
+        this.observations = observations;
+        this.deletedObservationIds = deletedObservationIds;
+        this.deletedObservationUuids = deletedObservationUuids;
+        this.delta = Boolean.TRUE;
+    }
+
     // Getters and Setters
     public HikeSyncData getHike() {
         return hike;
@@ -35,6 +57,20 @@ public class HikeSyncRequest {
     public void setObservations(List<ObservationSyncData> observations) {
         this.observations = observations;
     }
+    public boolean isDeleted() {
+        return isDeleted;
+    }
 
-}
+    public boolean isDelta() {
+        return Boolean.TRUE.equals(delta);
+    }
+
+    public List<Integer> getDeletedObservationIds() {
+        return deletedObservationIds;
+    }
 
+    public List<String> getDeletedObservationUuids() {
+        return deletedObservationUuids;
+    }
+
+}
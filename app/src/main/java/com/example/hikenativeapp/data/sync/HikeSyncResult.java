@@ -0,0 +1,45 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Result of one hike inside a batch sync
+ */
+public class HikeSyncResult {
+    @SerializedName("id_local")
+    private int idLocal;
+
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("message")
+    private String message;
+
+    public HikeSyncResult() {
+    }
+
+    // Getters and Setters
+    public int getIdLocal() {
+        return idLocal;
+    }
+
+    public void setIdLocal(int idLocal) {
+        this.idLocal = idLocal;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * An observation as stored on the backend, deleted ones are sent with is_deleted set
+ */
+public class ObservationChangeData {
+    @SerializedName("id_local")
+    private int idLocal;
+
+    // Merge key, id_local is the id on the device that uploaded the row
+    @SerializedName("uuid")
+    private String uuid;
+
+    @SerializedName("observation_text")
+    private String observationText;
+
+    @SerializedName("observation_time")
+    private String observationTime;
+
+    @SerializedName("comments")
+    private String comments;
+
+    @SerializedName("image_path")
+    private String imagePath;
+
+    @SerializedName("created_at")
+    private long createdAt;
+
+    @SerializedName("last_updated")
+    private long lastUpdated;
+
+    @SerializedName("is_deleted")
+    private boolean isDeleted;
+
+    public ObservationChangeData() {
+    }
+
+    // Getters
+    public int getIdLocal() {
+        return idLocal;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public String getObservationText() {
+        return observationText;
+    }
+
+    public String getObservationTime() {
+        return observationTime;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public boolean isDeleted() {
+        return isDeleted;
+    }
+}
@@ -6,6 +6,10 @@ public class ObservationSyncData {
     @SerializedName("id_local")
     private int idLocal;
 
+    // Key of the observation on the backend, id_local differs per device
+    @SerializedName("uuid")
+    private String uuid;
+
     @SerializedName("observation_text")
     private String observationText;
 
@@ -18,9 +22,10 @@ public class ObservationSyncData {
     @SerializedName("image_path")
     private String imagePath;
 
-    public ObservationSyncData(int idLocal, String observationText, String observationTime,
+    public ObservationSyncData(int idLocal, String uuid, String observationText, String observationTime,
                                String comments, String imagePath) {
         this.idLocal = idLocal;
+        this.uuid = uuid;
         this.observationText = observationText;
         this.observationTime = observationTime;
         this.comments = comments;
@@ -0,0 +1,47 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Server side state of a photo upload.
+ * uploaded_bytes is where the next chunk starts; remote_key is set once the backend
+ * holds the whole content, right away if it already had it.
+ */
+public class PhotoUploadSession {
+    @SerializedName("upload_id")
+    private String uploadId;
+
+    @SerializedName("uploaded_bytes")
+    private long uploadedBytes;
+
+    @SerializedName("remote_key")
+    private String remoteKey;
+
+    public PhotoUploadSession() {
+    }
+
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public long getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    public void setUploadedBytes(long uploadedBytes) {
+        this.uploadedBytes = uploadedBytes;
+    }
+
+    public String getRemoteKey() {
+        return remoteKey;
+    }
+
+    public void setRemoteKey(String remoteKey) {
+        this.remoteKey = remoteKey;
+    }
+}
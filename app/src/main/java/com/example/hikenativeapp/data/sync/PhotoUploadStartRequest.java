@@ -0,0 +1,36 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Opens (or resumes) the upload of a photo, identified by the hash of its encoded bytes
+ */
+public class PhotoUploadStartRequest {
+    @SerializedName("content_hash")
+    private String contentHash;
+
+    @SerializedName("size_bytes")
+    private long sizeBytes;
+
+    @SerializedName("content_type")
+    private String contentType;
+
+    public PhotoUploadStartRequest(String contentHash, long sizeBytes, String contentType) {
+        this.contentHash = contentHash;
+        this.sizeBytes = sizeBytes;
+        this.contentType = contentType;
+    }
+
+    // Getters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
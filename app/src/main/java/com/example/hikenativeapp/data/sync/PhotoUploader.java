@@ -0,0 +1,223 @@
+package com.example.hikenativeapp.data.sync;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.ImageDecoder;
+import android.net.Uri;
+import android.util.Log;
+import android.util.Size;
+
+import com.example.hikenativeapp.api.HikeSyncApi;
+import com.example.hikenativeapp.data.local.dao.ObservationDao;
+import com.example.hikenativeapp.data.local.dao.PhotoUploadDao;
+import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.entity.PhotoUpload;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import retrofit2.Response;
+
+/**
+ * Photo stage of the sync, run by SyncOutbox before the observations referencing the photos
+ * are uploaded. A photo is downscaled and re-encoded as JPEG once and addressed by the
+ * SHA-256 of those bytes. The backend reports how much of that content it already holds,
+ * so an interrupted upload resumes from there and content it already has is never sent again.
+ * Synced observations then carry the remote key instead of the local photo path.
+ */
+public class PhotoUploader {
+
+    private static final String TAG = "PhotoUploader";
+
+    // Longest edge of an uploaded photo, camera originals are several times larger
+    private static final int MAX_DIMENSION = 1600;
+    private static final int JPEG_QUALITY = 80;
+
+    // Bytes per request, a dropped connection loses at most one chunk
+    private static final int CHUNK_SIZE = 256 * 1024;
+    private static final MediaType CHUNK_TYPE = MediaType.get("application/octet-stream");
+
+    private final Context context;
+    private final PhotoUploadDao photoUploadDao;
+    private final ObservationDao observationDao;
+    private final HikeSyncApi syncApi;
+    private final File encodedDir;
+
+    PhotoUploader(Context context, PhotoUploadDao photoUploadDao, ObservationDao observationDao,
+                  HikeSyncApi syncApi) {
+        this.context = context;
+        this.photoUploadDao = photoUploadDao;
+        this.observationDao = observationDao;
+        this.syncApi = syncApi;
+        this.encodedDir = new File(context.getFilesDir(), "photo_uploads");
+    }
+
+    /**
+     * Upload the photos of the given observations that the backend does not have yet.
+     * Photos that can no longer be read are left out, their observations sync without a photo.
+     *
+     * @return Remote key per local photo path
+     * @throws IOException if an upload failed, the next attempt resumes where it stopped
+     */
+    Map<String, String> uploadPhotos(List<Observation> observations, String authToken) throws IOException {
+        Map<String, String> remoteKeys = new HashMap<>();
+        for (Observation observation : observations) {
+            String photoPath = observation.getPhotoPath();
+            if (observation.isDeleted() || photoPath == null || photoPath.isEmpty()
+                    || remoteKeys.containsKey(photoPath)) {
+                continue;
+            }
+            String remoteKey = upload(photoPath, authToken);
+            if (remoteKey != null) {
+                remoteKeys.put(photoPath, remoteKey);
+                // Also kept on the observations, a pulled newer version with the same key keeps the file
+                if (!remoteKey.equals(observation.getPhotoRemoteKey())) {
+                    observationDao.setPhotoRemoteKey(photoPath, remoteKey);
+                }
+            }
+        }
+        return remoteKeys;
+    }
+
+    private String upload(String sourcePath, String authToken) throws IOException {
+        PhotoUpload upload = photoUploadDao.getBySourcePath(sourcePath);
+        if (upload != null && upload.getRemoteKey() != null) {
+            return upload.getRemoteKey();
+        }
+
+        File encoded = upload != null && upload.getEncodedPath() != null ? new File(upload.getEncodedPath()) : null;
+        if (encoded == null || !encoded.exists()) {
+            encoded = encode(sourcePath);
+            if (encoded == null) {
+                return null;
+            }
+            upload = new PhotoUpload(sourcePath, sha256(encoded), encoded.getAbsolutePath(), encoded.length());
+            photoUploadDao.savePhotoUpload(upload);
+        }
+
+        // Same content already uploaded from another path
+        String knownKey = photoUploadDao.getRemoteKeyByContentHash(upload.getContentHash());
+        if (knownKey != null) {
+            markUploaded(upload, encoded, knownKey);
+            return knownKey;
+        }
+
+        long total = upload.getSizeBytes();
+        PhotoUploadSession session = checked(syncApi.startPhotoUpload(authToken,
+                new PhotoUploadStartRequest(upload.getContentHash(), total, "image/jpeg")).execute());
+        if (session.getRemoteKey() == null && session.getUploadedBytes() > 0) {
+            Log.d(TAG, "Resuming photo upload at " + session.getUploadedBytes() + "/" + total + " bytes");
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(encoded, "r")) {
+            byte[] buffer = new byte[CHUNK_SIZE];
+            while (session.getRemoteKey() == null) {
+                long offset = session.getUploadedBytes();
+                if (offset >= total) {
+                    throw new IOException("Photo upload not completed by the backend");
+                }
+                int length = (int) Math.min(CHUNK_SIZE, total - offset);
+                file.seek(offset);
+                file.readFully(buffer, 0, length);
+
+                String range = "bytes " + offset + "-" + (offset + length - 1) + "/" + total;
+                session = checked(syncApi.uploadPhotoChunk(authToken, session.getUploadId(), range,
+                        RequestBody.create(buffer, CHUNK_TYPE, 0, length)).execute());
+                if (session.getRemoteKey() == null && session.getUploadedBytes() <= offset) {
+                    throw new IOException("Photo upload made no progress at byte " + offset);
+                }
+            }
+        }
+
+        markUploaded(upload, encoded, session.getRemoteKey());
+        Log.d(TAG, "Photo uploaded (" + total + " bytes): " + session.getRemoteKey());
+        return session.getRemoteKey();
+    }
+
+    private void markUploaded(PhotoUpload upload, File encoded, String remoteKey) {
+        photoUploadDao.markUploaded(upload.getSourcePath(), remoteKey, Instant.now());
+        if (!encoded.delete()) {
+            Log.w(TAG, "Could not delete encoded photo " + encoded);
+        }
+    }
+
+    private static PhotoUploadSession checked(Response<PhotoUploadSession> response) throws IOException {
+        PhotoUploadSession session = response.body();
+        if (!response.isSuccessful() || session == null) {
+            throw new IOException("Server error: " + response.code());
+        }
+        return session;
+    }
+
+    /**
+     * Decode the photo at most MAX_DIMENSION on its longest edge and write it as JPEG.
+     * ImageDecoder applies the EXIF orientation, so the upload is upright.
+     *
+     * @return Encoded file, or null if the photo cannot be read anymore
+     */
+    private File encode(String sourcePath) {
+        try {
+            ImageDecoder.Source source = sourcePath.startsWith("content://")
+                    ? ImageDecoder.createSource(context.getContentResolver(), Uri.parse(sourcePath))
+                    : ImageDecoder.createSource(new File(sourcePath));
+            Bitmap bitmap = ImageDecoder.decodeBitmap(source, (decoder, info, src) -> {
+                // Hardware bitmaps cannot be compressed
+                decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+                Size size = info.getSize();
+                int longest = Math.max(size.getWidth(), size.getHeight());
+                if (longest > MAX_DIMENSION) {
+                    float scale = (float) MAX_DIMENSION / longest;
+                    decoder.setTargetSize(Math.max(1, Math.round(size.getWidth() * scale)),
+                            Math.max(1, Math.round(size.getHeight() * scale)));
+                }
+            });
+
+            if (!encodedDir.exists() && !encodedDir.mkdirs()) {
+                throw new IOException("Cannot create " + encodedDir);
+            }
+            File encoded = new File(encodedDir, UUID.randomUUID() + ".jpg");
+            try (OutputStream out = new FileOutputStream(encoded)) {
+                bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+            } finally {
+                bitmap.recycle();
+            }
+            return encoded;
+        } catch (IOException | SecurityException e) {
+            Log.w(TAG, "Photo not readable, synced without it: " + sourcePath, e);
+            return null;
+        }
+    }
+
+    private static String sha256(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available on Android
+            throw new IllegalStateException(e);
+        }
+    }
+}
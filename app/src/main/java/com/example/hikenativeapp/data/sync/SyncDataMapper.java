@@ -2,21 +2,33 @@ package com.example.hikenativeapp.data.sync;
 
 import com.example.hikenativeapp.data.local.entity.Hike;
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.util.DateTimeUtil;
+import com.google.gson.Gson;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 public class SyncDataMapper {
+
+    private static final Gson GSON = new Gson();
+
     /**
      * Convert Hike entity to HikeSyncData for API
-     * Note: Hike entity stores date as String, so no conversion needed
+     * Dates are sent in the same text format the app displays (DateTimeUtil)
      */
     public static HikeSyncData toSyncData(Hike hike) {
         return new HikeSyncData(
                 hike.getId(),
+                hike.getUuid(),
                 hike.getName(),
                 hike.getLocation(),
-                hike.getHikeDate() != null ? hike.getHikeDate() : "",
+                DateTimeUtil.formatDate(hike.getHikeDate()),
                 hike.isParkingAvailable(),
                 hike.getLength(),
                 hike.getDifficulty(),
@@ -29,15 +41,21 @@ public class SyncDataMapper {
 
     /**
      * Convert Observation entity to ObservationSyncData for API
-     * Note: Observation entity stores time as String, so no conversion needed
+     * Time is sent as yyyy-MM-dd HH:mm (DateTimeUtil)
      */
     public static ObservationSyncData toSyncData(Observation observation) {
+        String photoPath = observation.getPhotoPath();
+        return toSyncData(observation, photoPath != null ? photoPath : observation.getPhotoRemoteKey());
+    }
+
+    private static ObservationSyncData toSyncData(Observation observation, String imagePath) {
         return new ObservationSyncData(
                 observation.getId(),
+                observation.getUuid(),
                 observation.getObservationText(),
-                observation.getObservationTime() != null ? observation.getObservationTime() : "",
+                DateTimeUtil.formatDateTime(observation.getObservationTime()),
                 observation.getComments(),
-                observation.getPhotoPath()
+                imagePath
         );
     }
 
@@ -54,13 +72,128 @@ public class SyncDataMapper {
         return syncDataList;
     }
 
+    /**
+     * Convert list of Observations for upload, photos are referenced by their remote key
+     * A photo without a remote key (not uploaded) is sent as null, never as a local path.
+     * An observation whose photo is only on the backend (pulled) keeps sending its stored key.
+     */
+    public static List<ObservationSyncData> toSyncDataList(List<Observation> observations,
+                                                           Map<String, String> photoKeys) {
+        List<ObservationSyncData> syncDataList = new ArrayList<>();
+        if (observations != null) {
+            for (Observation observation : observations) {
+                String photoPath = observation.getPhotoPath();
+                String photoKey = photoPath != null ? photoKeys.get(photoPath) : null;
+                if (photoKey == null) {
+                    photoKey = observation.getPhotoRemoteKey();
+                }
+                syncDataList.add(toSyncData(observation, photoKey));
+            }
+        }
+        return syncDataList;
+    }
+
     /**
      * Create complete sync request from Hike and Observations
+     *
+     * @param photoKeys Remote key per local photo path, from PhotoUploader
      */
-    public static HikeSyncRequest createSyncRequest(Hike hike, List<Observation> observations, boolean isDeleted) {
+    public static HikeSyncRequest createSyncRequest(Hike hike, List<Observation> observations, boolean isDeleted,
+                                                    Map<String, String> photoKeys) {
         HikeSyncData hikeSyncData = toSyncData(hike);
-        List<ObservationSyncData> observationSyncData = toSyncDataList(observations);
+        List<ObservationSyncData> observationSyncData = toSyncDataList(observations, photoKeys);
 
         return new HikeSyncRequest(hikeSyncData, observationSyncData, isDeleted);
     }
+
+    /**
+     * Create a delta sync request from a hike and its observations changed since the last sync
+     * Soft-deleted observations are sent as tombstones (ids only)
+     */
+    public static HikeSyncRequest createDeltaSyncRequest(Hike hike, List<Observation> changedObservations,
+                                                         Map<String, String> photoKeys) {
+        List<Observation> updated = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        List<String> deletedUuids = new ArrayList<>();
+        for (Observation observation : changedObservations) {
+            if (observation.isDeleted()) {
+                deletedIds.add(observation.getId());
+                deletedUuids.add(observation.getUuid());
+            } else {
+                updated.add(observation);
+            }
+        }
+
+        return new HikeSyncRequest(toSyncData(hike), toSyncDataList(updated, photoKeys), deletedIds, deletedUuids);
+    }
+
+    /**
+     * Convert a hike pulled from the backend back into a Hike entity of the given user
+     * The row is matched by uuid; id is left 0, the local id is assigned by the merge.
+     */
+    public static Hike toHike(HikeChangeData data, int userId) {
+        Hike hike = new Hike();
+        hike.setUuid(data.getUuid());
+        hike.setUserId(userId);
+        hike.setName(data.getName());
+        hike.setLocation(data.getLocation());
+        hike.setLatitude(data.getLatitude());
+        hike.setLongitude(data.getLongitude());
+        hike.setHikeDate(DateTimeUtil.parseDate(data.getHikeDate()));
+        hike.setParkingAvailable(data.isParkingAvailable());
+        hike.setLength(data.getLength());
+        hike.setDifficulty(data.getDifficulty());
+        hike.setDescription(data.getDescription());
+        hike.setWeatherCondition(data.getWeatherCondition());
+        hike.setTemperature(data.getTemperature() != null ? data.getTemperature() : 0);
+        hike.setEstimatedDuration(data.getEstimatedDuration() != null ? data.getEstimatedDuration() : 0);
+        hike.setCreatedAt(Instant.ofEpochMilli(data.getCreatedAt()));
+        hike.setLastUpdated(Instant.ofEpochMilli(data.getLastUpdated()));
+        hike.setDeleted(data.isDeleted());
+        return hike;
+    }
+
+    /**
+     * Convert an observation pulled from the backend into an Observation entity of the hike
+     * (local hike id). Matched by uuid like hikes, id is left 0.
+     * image_path is a remote key; the photo is not on this device, so photo_path stays null.
+     */
+    public static Observation toObservation(ObservationChangeData data, int hikeId) {
+        Observation observation = new Observation();
+        observation.setUuid(data.getUuid());
+        observation.setHikeId(hikeId);
+        observation.setObservationText(data.getObservationText());
+        observation.setObservationTime(DateTimeUtil.parseDateTime(data.getObservationTime()));
+        observation.setComments(data.getComments());
+        observation.setPhotoRemoteKey(data.getImagePath());
+        observation.setCreatedAt(Instant.ofEpochMilli(data.getCreatedAt()));
+        observation.setLastUpdated(Instant.ofEpochMilli(data.getLastUpdated()));
+        observation.setDeleted(data.isDeleted());
+        return observation;
+    }
+
+    /**
+     * SHA-256 of everything a full sync would send for the hike: its HikeSyncData and the
+     * ObservationSyncData of its non-deleted observations, ordered by id.
+     * Equal hashes mean an upload would not change anything on the backend.
+     */
+    public static String contentHash(Hike hike, List<Observation> observations) {
+        List<Observation> sorted = new ArrayList<>(observations);
+        sorted.sort(Comparator.comparingInt(Observation::getId));
+
+        // Gson writes fields in declaration order, so the JSON is stable for equal content
+        String canonical = GSON.toJson(toSyncData(hike)) + GSON.toJson(toSyncDataList(sorted));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available on Android
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,669 @@
+package com.example.hikenativeapp.data.sync;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.hikenativeapp.api.FirebaseTokenProvider;
+import com.example.hikenativeapp.api.HikeSyncApi;
+import com.example.hikenativeapp.api.HttpClientProvider;
+import com.example.hikenativeapp.api.SyncService;
+import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.dao.ObservationDao;
+import com.example.hikenativeapp.data.local.dao.SyncOutboxDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.HikeSyncState;
+import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.entity.SyncOutboxEntry;
+import com.example.hikenativeapp.data.repository.HikeRepository;
+import com.example.hikenativeapp.util.Constants;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import retrofit2.Response;
+
+/**
+ * Durable queue of hikes to upload to the Vector DB.
+ * Writes only record the hike in the sync_outbox table, a single background thread
+ * drains it, several hikes per request through the batch endpoint. At most
+ * SYNC_MAX_IN_FLIGHT requests are on the wire at a time, however many edits come in,
+ * never more than the per-host limit of the shared Dispatcher. That limit is what all
+ * services together get on the backend host (HostLimitInterceptor), the sync share of it
+ * leaves room for the chatbot calls to the same host.
+ * Failed uploads are retried with exponential backoff and jitter, and
+ * pending entries survive process death: the first getInstance() of a new process
+ * drains whatever is left, and so does every reconnect.
+ */
+public class SyncOutbox {
+
+    private static final String TAG = "SyncOutbox";
+
+    // Size bounds of one batch request, observations make up most of the payload
+    static final int MAX_BATCH_HIKES = 25;
+    static final int MAX_BATCH_OBSERVATIONS = 500;
+
+    // Sync responses list what the backend supports, e.g. "X-Sync-Capabilities: delta"
+    static final String CAPABILITIES_HEADER = "X-Sync-Capabilities";
+    static final String DELTA_CAPABILITY = "delta";
+
+    // Backoff: 30s, 1m, 2m, ... capped at 1h, each delay randomized to 50-100%
+    private static final long BASE_BACKOFF_MS = 30_000;
+    private static final long MAX_BACKOFF_MS = 60 * 60_000;
+
+    private static volatile SyncOutbox INSTANCE;
+
+    private final SyncOutboxDao outboxDao;
+    private final HikeDao hikeDao;
+    private final ObservationDao observationDao;
+    private final HikeSyncApi syncApi;
+    private final PhotoUploader photoUploader;
+    private final Callable<String> authTokenSource;
+    private final ScheduledExecutorService executor;
+
+    // Batches of one drain pass are uploaded here, the permits bound what is in flight
+    private final int maxInFlight;
+    private final ExecutorService uploadExecutor;
+    private final Semaphore inFlight;
+
+    // Callers waiting for the next upload result of a hike, not persisted
+    private final Map<Integer, List<HikeRepository.SyncCallback>> callbacks = new ConcurrentHashMap<>();
+
+    // Cleared when the backend has no batch endpoint, per-hike sync is used from then on
+    private volatile boolean batchSupported = true;
+
+    // Set from the last sync response. A backend that treats sync/hike as a full replace would
+    // drop every observation a delta leaves out, so deltas wait until the backend says it merges
+    // them. Not persisted: the first upload of a process is always a full one
+    private volatile boolean deltaSupported = false;
+
+    private final AtomicLong enqueueCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    // Next drain that has not started yet, null if none
+    private ScheduledFuture<?> scheduledDrain;
+
+    private SyncOutbox(Context context) {
+        this(context, AppDatabase.getDatabase(context), SyncService.getApi(),
+                () -> FirebaseTokenProvider.getInstance().getAuthorizationHeader());
+
+        registerNetworkCallback(context);
+        // Pick up entries left over by a previous process
+        scheduleDrain(0);
+    }
+
+    // Also used by the instrumented tests, with a local backend and nothing drained until asked
+    SyncOutbox(Context context, AppDatabase database, HikeSyncApi syncApi, Callable<String> authTokenSource) {
+        outboxDao = database.syncOutboxDao();
+        hikeDao = database.hikeDao();
+        observationDao = database.observationDao();
+        this.syncApi = syncApi;
+        this.authTokenSource = authTokenSource;
+        photoUploader = new PhotoUploader(context, database.photoUploadDao(), database.observationDao(), syncApi);
+        executor = Executors.newSingleThreadScheduledExecutor();
+        maxInFlight = Math.max(1, Math.min(Constants.SYNC_MAX_IN_FLIGHT,
+                HttpClientProvider.getClient().dispatcher().getMaxRequestsPerHost()));
+        uploadExecutor = Executors.newFixedThreadPool(maxInFlight);
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    public static SyncOutbox getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (SyncOutbox.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SyncOutbox(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a hike (with its observations) for upload.
+     * Must be called off the main thread, right after the local write.
+     *
+     * @param callback Notified of the next upload attempt of this hike, may be null
+     */
+    public void enqueue(int hikeId, boolean isDeleted, HikeRepository.SyncCallback callback) {
+        enqueueCount.incrementAndGet();
+
+        String contentHash = null;
+        if (!isDeleted) {
+            contentHash = currentContentHash(hikeId);
+            // Same content as the last successful upload and nothing pending: skip the network
+            if (contentHash != null && contentHash.equals(outboxDao.getSyncedContentHash(hikeId))
+                    && !outboxDao.hasPendingEntry(hikeId)) {
+                long skipped = skippedCount.incrementAndGet();
+                Log.d(TAG, "Hike " + hikeId + " unchanged since last sync, upload skipped (skip rate "
+                        + Math.round(getSkipRate() * 100) + "%, " + skipped + " skipped)");
+                if (callback != null) {
+                    callback.onSuccess("Already in sync");
+                }
+                return;
+            }
+        }
+
+        // Register first so a drain that is already running cannot miss the callback
+        if (callback != null) {
+            addCallback(hikeId, callback);
+        }
+        outboxDao.enqueue(hikeId, isDeleted, contentHash, Instant.now());
+        scheduleDrain(0);
+    }
+
+    /**
+     * Overflow policy: coalesce. The outbox table holds one row per hike, so an edit during
+     * a burst joins the pending upload instead of queueing another one; nothing is rejected.
+     * Only the callers waiting for the result can pile up, they are capped per hike: when
+     * full, the oldest is released with an error, its edit is still uploaded with the newer ones.
+     */
+    private void addCallback(int hikeId, HikeRepository.SyncCallback callback) {
+        List<HikeRepository.SyncCallback> waiting =
+                callbacks.computeIfAbsent(hikeId, id -> new CopyOnWriteArrayList<>());
+        int max = Constants.SYNC_MAX_WAITING_CALLBACKS;
+        for (HikeRepository.SyncCallback released : addCapped(waiting, callback, max)) {
+            Log.w(TAG, "Hike " + hikeId + " has " + max + " callers waiting, oldest released "
+                    + "(edit coalesced into the pending upload)");
+            released.onError("Superseded by a newer edit, sync still pending");
+        }
+    }
+
+    // Append to the list and drop the oldest entries beyond max, returns the dropped ones
+    static <T> List<T> addCapped(List<T> list, T item, int max) {
+        list.add(item);
+        List<T> dropped = new ArrayList<>();
+        while (list.size() > max) {
+            dropped.add(list.remove(0));
+        }
+        return dropped;
+    }
+
+    // ==================== METRICS ====================
+
+    // Sync requests since the process started, including skipped ones
+    public long getEnqueueCount() {
+        return enqueueCount.get();
+    }
+
+    // Sync requests dropped because the hike was unchanged since its last upload
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    // Share of sync requests that never reached the network, 0..1
+    public double getSkipRate() {
+        long total = enqueueCount.get();
+        return total > 0 ? (double) skippedCount.get() / total : 0;
+    }
+
+    // Hash of what a full sync of the hike would send now, null if the hike is gone
+    private String currentContentHash(int hikeId) {
+        Hike hike = hikeDao.getHikeByIdIncludingDeleted(hikeId);
+        return hike != null ? contentHash(hike) : null;
+    }
+
+    private String contentHash(Hike hike) {
+        return SyncDataMapper.contentHash(hike, observationDao.getObservationsByHikeId(hike.getId()));
+    }
+
+    /**
+     * Queue many hikes at once, they are uploaded in batches.
+     * Each entry carries the hike's deleted flag and content hash like enqueue does,
+     * but nothing is skipped: the caller wants every hike sent again.
+     * Must be called off the main thread.
+     */
+    public void enqueueAll(List<Integer> hikeIds) {
+        Instant now = Instant.now();
+        List<SyncOutboxEntry> entries = new ArrayList<>(hikeIds.size());
+        for (int hikeId : hikeIds) {
+            Hike hike = hikeDao.getHikeByIdIncludingDeleted(hikeId);
+            if (hike == null) {
+                continue;
+            }
+            String contentHash = hike.isDeleted() ? null : contentHash(hike);
+            entries.add(new SyncOutboxEntry(hikeId, hike.isDeleted(), contentHash, now));
+        }
+        enqueueCount.addAndGet(entries.size());
+        outboxDao.enqueueAll(entries);
+        scheduleDrain(0);
+    }
+
+    // ==================== DRAINING ====================
+
+    private synchronized void scheduleDrain(long delayMs) {
+        if (scheduledDrain != null && !scheduledDrain.isDone()
+                && scheduledDrain.getDelay(TimeUnit.MILLISECONDS) <= delayMs) {
+            // An earlier drain is already planned
+            return;
+        }
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+        }
+        scheduledDrain = executor.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void onDrainStarted() {
+        scheduledDrain = null;
+    }
+
+    // Drain on the calling thread, for tests
+    void drainNow() {
+        drain();
+    }
+
+    // Stop the drain and upload threads, for tests
+    void shutdown() {
+        executor.shutdownNow();
+        uploadExecutor.shutdownNow();
+    }
+
+    private void drain() {
+        onDrainStarted();
+        try {
+            List<SyncOutboxEntry> due;
+            // A pass takes as many entries as the in-flight limit can keep busy
+            while (!(due = outboxDao.getDueEntries(Instant.now(), maxInFlight * MAX_BATCH_HIKES)).isEmpty()) {
+                uploadPass(due);
+            }
+
+            // Wake up again when the next backed-off entry is due
+            Instant next = outboxDao.getNextAttemptAt();
+            if (next != null) {
+                long delayMs = Math.max(0, Duration.between(Instant.now(), next).toMillis());
+                Log.d(TAG, "Outbox not empty, next drain in " + delayMs + " ms");
+                scheduleDrain(delayMs);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error draining sync outbox", e);
+            scheduleDrain(BASE_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * Upload one pass of due entries, split into batches bounded by MAX_BATCH_HIKES hikes
+     * and MAX_BATCH_OBSERVATIONS observations. Batches run concurrently up to maxInFlight,
+     * the drain thread blocks for a permit before submitting more.
+     * A hike appears once per pass and the next pass only starts when this one is done,
+     * so two uploads of the same hike never race.
+     * Photos are uploaded on the drain thread while the pass is prepared.
+     */
+    private void uploadPass(List<SyncOutboxEntry> due) throws InterruptedException, ExecutionException {
+        String authToken;
+        try {
+            authToken = getAuthToken();
+        } catch (Exception e) {
+            for (SyncOutboxEntry entry : due) {
+                retryLater(entry, "Auth error: " + e.getMessage());
+            }
+            return;
+        }
+
+        List<PendingUpload> prepared = new ArrayList<>(due.size());
+        for (SyncOutboxEntry entry : due) {
+            PendingUpload upload;
+            try {
+                upload = prepareUpload(entry, authToken);
+            } catch (IOException e) {
+                // Photo chunks already sent are kept, the retry resumes after them
+                retryLater(entry, "Photo upload failed: " + e.getMessage());
+                continue;
+            }
+            if (upload != null) {
+                prepared.add(upload);
+            }
+        }
+        List<List<PendingUpload>> batches =
+                splitIntoBatches(prepared, upload -> upload.request.getObservations().size());
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        // Wait for the whole pass, the next one may pick the same hikes again
+        runBounded(batches, batch -> uploadBatch(batch, authToken), uploadExecutor, inFlight);
+    }
+
+    /**
+     * Run the task for every item on the executor, at most as many at a time as there are
+     * permits. The caller blocks for a permit before submitting the next item, then waits
+     * for all of them; the last failure is rethrown once every task has finished.
+     */
+    static <T> void runBounded(List<T> items, Consumer<T> task, ExecutorService executor, Semaphore permits)
+            throws InterruptedException, ExecutionException {
+        List<Future<?>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            permits.acquire();
+            futures.add(executor.submit(() -> {
+                try {
+                    task.accept(item);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        ExecutionException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Split items, in order, into batches of at most MAX_BATCH_HIKES items and
+     * MAX_BATCH_OBSERVATIONS observations. A single item with more observations
+     * than the limit still gets a batch of its own.
+     */
+    static <T> List<List<T>> splitIntoBatches(List<T> items, ToIntFunction<T> observationCount) {
+        List<List<T>> batches = new ArrayList<>();
+        List<T> batch = new ArrayList<>();
+        int observations = 0;
+        for (T item : items) {
+            int size = observationCount.applyAsInt(item);
+            if (!batch.isEmpty() && (batch.size() >= MAX_BATCH_HIKES
+                    || observations + size > MAX_BATCH_OBSERVATIONS)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                observations = 0;
+            }
+            batch.add(item);
+            observations += size;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Upload one batch in a single request, through the per-hike endpoint when the
+     * batch holds a single hike or the backend has no batch endpoint.
+     */
+    private void uploadBatch(List<PendingUpload> batch, String authToken) {
+        if (batch.size() == 1 || !batchSupported) {
+            uploadEach(batch, authToken);
+            return;
+        }
+
+        try {
+            List<HikeSyncRequest> requests = new ArrayList<>(batch.size());
+            int observationCount = 0;
+            for (PendingUpload upload : batch) {
+                requests.add(upload.request);
+                observationCount += upload.request.getObservations().size();
+            }
+            Log.d(TAG, "Uploading batch of " + batch.size() + " hikes, " + observationCount + " observations");
+            Response<HikeBatchSyncResponse> response =
+                    syncApi.syncHikes(authToken, new HikeBatchSyncRequest(requests)).execute();
+            HikeBatchSyncResponse body = response.body();
+            readCapabilities(response);
+
+            if (response.code() == 404 || response.code() == 405) {
+                Log.w(TAG, "Batch sync not supported by the backend, falling back to per-hike sync");
+                batchSupported = false;
+                uploadEach(batch, authToken);
+            } else if (response.isSuccessful() && body != null && body.getResults() != null) {
+                Map<Integer, HikeSyncResult> results = new HashMap<>();
+                for (HikeSyncResult result : body.getResults()) {
+                    results.put(result.getIdLocal(), result);
+                }
+                for (PendingUpload upload : batch) {
+                    HikeSyncResult result = results.get(upload.entry.getHikeId());
+                    if (result == null) {
+                        retryLater(upload.entry, "Missing from batch result");
+                    } else if (result.isSuccess()) {
+                        markUploaded(upload, result.getMessage());
+                    } else {
+                        retryLater(upload.entry, result.getMessage());
+                    }
+                }
+            } else if (isPermanentFailure(response.code())) {
+                // One bad item fails the whole batch, upload one by one to isolate it
+                uploadEach(batch, authToken);
+            } else {
+                String error = body != null ? body.getMessage() : "Server error: " + response.code();
+                retryLater(batch, error);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Batch sync request failed", e);
+            retryLater(batch, "Network error: " + e.getMessage());
+        }
+    }
+
+    private void uploadEach(List<PendingUpload> batch, String authToken) {
+        for (PendingUpload upload : batch) {
+            upload(upload, authToken);
+        }
+    }
+
+    // Upload a single hike through the per-hike endpoint
+    private void upload(PendingUpload upload, String authToken) {
+        SyncOutboxEntry entry = upload.entry;
+        int hikeId = entry.getHikeId();
+        try {
+            Log.d(TAG, "Uploading hike " + hikeId + " (attempt " + (entry.getAttempts() + 1) +
+                    ", observations: " + upload.request.getObservations().size() + ")");
+
+            Response<HikeSyncResponse> response = syncApi.syncHike(authToken, upload.request).execute();
+            HikeSyncResponse body = response.body();
+            readCapabilities(response);
+            if (response.isSuccessful() && body != null && body.isSuccess()) {
+                markUploaded(upload, body.getMessage());
+            } else if (isPermanentFailure(response.code())) {
+                // Retrying the same payload would fail the same way
+                outboxDao.deleteIfUnchanged(hikeId, entry.getGeneration());
+                Log.e(TAG, "Sync rejected for hike " + hikeId + ": " + response.code());
+                notifyResult(hikeId, false, "Server error: " + response.code());
+            } else {
+                String error = body != null ? body.getMessage() : "Server error: " + response.code();
+                retryLater(entry, error);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Sync request failed for hike " + hikeId, e);
+            retryLater(entry, "Network error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Payload of an entry, read at upload time so merged edits are all included.
+     * Once a hike has been synced and the backend merges deltas, only the observations
+     * changed since its watermark are sent, deleted ones as tombstones. The first sync,
+     * the sync of a deleted hike and every sync to a backend without the capability send everything. Null (and the entry dropped) if the hike is gone.
+     * Photos of the observations sent are uploaded first and referenced by their remote key.
+     */
+    private PendingUpload prepareUpload(SyncOutboxEntry entry, String authToken) throws IOException {
+        int hikeId = entry.getHikeId();
+        Hike hike = hikeDao.getHikeByIdIncludingDeleted(hikeId);
+        if (hike == null) {
+            // Hard deleted locally, there is nothing left to upload
+            outboxDao.deleteIfUnchanged(hikeId, entry.getGeneration());
+            notifyResult(hikeId, false, "Hike not found");
+            return null;
+        }
+
+        boolean isDeleted = entry.isDeleted() || hike.isDeleted();
+        Instant syncedUntil = outboxDao.getSyncedUntil(hikeId);
+
+        if (!useDelta(isDeleted, syncedUntil, deltaSupported)) {
+            // IMPORTANT: Include deleted observations when syncing a deleted hike
+            List<Observation> observations = isDeleted
+                ? observationDao.getObservationsByHikeIdIncludingDeleted(hikeId)
+                : observationDao.getObservationsByHikeId(hikeId);
+            // Watermark of the rows actually sent: a row edited after the read is newer and goes in the next delta
+            Instant watermark = hike.getLastUpdated();
+            for (Observation observation : observations) {
+                watermark = latest(watermark, observation.getLastUpdated());
+            }
+            // The backend drops the photos of a deleted hike, there is nothing to upload
+            Map<String, String> photoKeys = isDeleted
+                ? Collections.emptyMap()
+                : photoUploader.uploadPhotos(observations, authToken);
+            return new PendingUpload(entry,
+                    SyncDataMapper.createSyncRequest(hike, observations, isDeleted, photoKeys), watermark);
+        }
+
+        List<Observation> changed = observationDao.getObservationsChangedSince(hikeId, syncedUntil);
+        Instant watermark = latest(syncedUntil, hike.getLastUpdated());
+        for (Observation observation : changed) {
+            watermark = latest(watermark, observation.getLastUpdated());
+        }
+        Map<String, String> photoKeys = photoUploader.uploadPhotos(changed, authToken);
+        return new PendingUpload(entry, SyncDataMapper.createDeltaSyncRequest(hike, changed, photoKeys), watermark);
+    }
+
+    /**
+     * A delta only goes to a backend that advertised it, for a live hike it has seen before.
+     * Everything else is sent in full.
+     */
+    static boolean useDelta(boolean isDeleted, Instant syncedUntil, boolean deltaSupported) {
+        return deltaSupported && !isDeleted && syncedUntil != null;
+    }
+
+    // Only the sync endpoints answer with the header, any of their responses updates the flag
+    private void readCapabilities(Response<?> response) {
+        boolean supported = hasCapability(response.headers().get(CAPABILITIES_HEADER), DELTA_CAPABILITY);
+        if (supported != deltaSupported) {
+            Log.d(TAG, supported ? "Backend merges delta syncs" : "Backend does not merge delta syncs, sending full");
+            deltaSupported = supported;
+        }
+    }
+
+    // Capability lists are comma separated and case-insensitive
+    static boolean hasCapability(String header, String capability) {
+        if (header == null) {
+            return false;
+        }
+        for (String token : header.split(",")) {
+            if (token.trim().equalsIgnoreCase(capability)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    // Cached token, AuthInterceptor refreshes it if the backend answers 401
+    private String getAuthToken() throws Exception {
+        return authTokenSource.call();
+    }
+
+    private void markUploaded(PendingUpload upload, String message) {
+        int hikeId = upload.entry.getHikeId();
+        // The backend now has every change up to the watermark, later syncs send only newer rows
+        HikeSyncState state = null;
+        if (upload.syncedUntil != null) {
+            String contentHash = upload.request.isDeleted() ? null : upload.entry.getContentHash();
+            state = new HikeSyncState(hikeId, upload.syncedUntil, contentHash);
+        }
+        if (!outboxDao.completeUpload(hikeId, upload.entry.getGeneration(), state)) {
+            Log.d(TAG, "Hike " + hikeId + " changed during the upload, watermark kept for the next one");
+        }
+        Log.d(TAG, "Sync successful for hike " + hikeId + ": " + message);
+        notifyResult(hikeId, true, message);
+    }
+
+    private void retryLater(List<PendingUpload> uploads, String error) {
+        for (PendingUpload upload : uploads) {
+            retryLater(upload.entry, error);
+        }
+    }
+
+    private void retryLater(SyncOutboxEntry entry, String error) {
+        long delayMs = backoffDelay(entry.getAttempts() + 1);
+        outboxDao.markFailed(entry.getHikeId(), entry.getGeneration(), Instant.now().plusMillis(delayMs), error);
+        Log.w(TAG, "Hike " + entry.getHikeId() + " will be retried in " + delayMs + " ms: " + error);
+        notifyResult(entry.getHikeId(), false, error);
+    }
+
+    // Exponential backoff with jitter, so reconnecting devices do not retry in lockstep
+    static long backoffDelay(int attempt) {
+        long exponential = BASE_BACKOFF_MS << Math.min(attempt - 1, 20);
+        long capped = Math.min(exponential, MAX_BACKOFF_MS);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    // 4xx other than timeout / rate limit / auth means the request itself is bad
+    private static boolean isPermanentFailure(int code) {
+        return code >= 400 && code < 500 && code != 401 && code != 408 && code != 429;
+    }
+
+    private void notifyResult(int hikeId, boolean success, String message) {
+        List<HikeRepository.SyncCallback> waiting = callbacks.remove(hikeId);
+        if (waiting == null) {
+            return;
+        }
+        for (HikeRepository.SyncCallback callback : waiting) {
+            if (success) {
+                callback.onSuccess(message);
+            } else {
+                callback.onError(message);
+            }
+        }
+    }
+
+    // Retry everything as soon as a network comes back
+    private void registerNetworkCallback(Context context) {
+        ConnectivityManager connectivityManager = context.getSystemService(ConnectivityManager.class);
+        if (connectivityManager == null) {
+            return;
+        }
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(@NonNull Network network) {
+                executor.execute(() -> {
+                    outboxDao.makeAllDue(Instant.now());
+                    scheduleDrain(0);
+                });
+            }
+        });
+    }
+
+    // An outbox entry with its request and the watermark the request would acknowledge
+    private static class PendingUpload {
+        final SyncOutboxEntry entry;
+        final HikeSyncRequest request;
+        final Instant syncedUntil;
+
+        PendingUpload(SyncOutboxEntry entry, HikeSyncRequest request, Instant syncedUntil) {
+            this.entry = entry;
+            this.request = request;
+            this.syncedUntil = syncedUntil;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.hikenativeapp.data.weather;
+
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hourly forecast of one location in parallel primitive arrays, ordered by time.
+ * A whole forecast window (a few hundred hours) is a handful of flat arrays instead of
+ * an object graph per hour, and any day of the window is answered from it without
+ * another StormGlass request. Built by StormGlassSeriesAdapter while the response streams in.
+ */
+public class HourlySeries {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    // Hour of the day the app reports, as the original single-day lookup did (UTC)
+    private static final long MIDDAY_OFFSET = 12 * SECONDS_PER_HOUR;
+
+    private final long[] times; // epoch seconds, UTC
+    private final float[] temperature;
+    private final float[] cloudCover;
+    private final float[] precipitation;
+    private final int size;
+    private final Instant fetchedAt;
+
+    public HourlySeries(long[] times, float[] temperature, float[] cloudCover, float[] precipitation,
+                        int size, Instant fetchedAt) {
+        this.times = times;
+        this.temperature = temperature;
+        this.cloudCover = cloudCover;
+        this.precipitation = precipitation;
+        this.size = size;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Today in the zone the series is sliced in (UTC). Forecast windows start on this date,
+     * in any device time zone; an earlier date is requested as a past day.
+     */
+    public static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    // Values of one hour, 0 <= index < size()
+    long timeAt(int index) {
+        return times[index];
+    }
+
+    float temperatureAt(int index) {
+        return temperature[index];
+    }
+
+    float cloudCoverAt(int index) {
+        return cloudCover[index];
+    }
+
+    float precipitationAt(int index) {
+        return precipitation[index];
+    }
+
+    /**
+     * Index of 12:00 UTC on the date, or of the first hour of that date if 12:00 is missing.
+     * -1 if the series has no hour on that date.
+     */
+    public int middayIndex(LocalDate date) {
+        long dayStart = date.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        int midday = Arrays.binarySearch(times, 0, size, dayStart + MIDDAY_OFFSET);
+        if (midday >= 0) {
+            return midday;
+        }
+        int first = Arrays.binarySearch(times, 0, size, dayStart);
+        if (first < 0) {
+            first = -first - 1;
+        }
+        return first < size && times[first] < dayStart + SECONDS_PER_DAY ? first : -1;
+    }
+
+    /**
+     * Forecast row of one date for the cache, null if the date is outside the series
+     */
+    public WeatherForecast toDailyForecast(int cellLat, int cellLng, LocalDate date) {
+        int index = middayIndex(date);
+        if (index < 0) {
+            return null;
+        }
+        return new WeatherForecast(cellLat, cellLng, date, temperature[index], cloudCover[index],
+                precipitation[index], fetchedAt);
+    }
+
+    /**
+     * One forecast row per date covered by the series
+     */
+    public List<WeatherForecast> toDailyForecasts(int cellLat, int cellLng) {
+        List<WeatherForecast> forecasts = new ArrayList<>();
+        if (size == 0) {
+            return forecasts;
+        }
+        LocalDate last = dateOf(times[size - 1]);
+        for (LocalDate date = dateOf(times[0]); !date.isAfter(last); date = date.plusDays(1)) {
+            WeatherForecast forecast = toDailyForecast(cellLat, cellLng, date);
+            if (forecast != null) {
+                forecasts.add(forecast);
+            }
+        }
+        return forecasts;
+    }
+
+    static LocalDate dateOf(long epochSecond) {
+        return Instant.ofEpochSecond(epochSecond).atZone(ZoneOffset.UTC).toLocalDate();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.hikenativeapp.data.weather;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Streaming parser of a StormGlass point forecast straight into an HourlySeries.
+ * Only the time and the noaa/sg values of the three requested params are read, every other
+ * source, param and the meta block are skipped by the reader without being materialized.
+ * No object is created per hour, values go directly into the primitive arrays of the series.
+ * Writing gives the same shape back with the chosen value as the only (noaa) source.
+ */
+public class StormGlassSeriesAdapter extends TypeAdapter<HourlySeries> {
+
+    // 17 days of hours, the whole forecast window fits without growing
+    private static final int INITIAL_CAPACITY = 17 * 24;
+
+    private static final long SECONDS_PER_DAY = 24 * 3600;
+
+    @Override
+    public HourlySeries read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Builder builder = new Builder();
+        in.beginObject();
+        while (in.hasNext()) {
+            if ("hours".equals(in.nextName()) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    readHour(in, builder);
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return builder.build(Instant.now());
+    }
+
+    private static void readHour(JsonReader in, Builder builder) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return;
+        }
+
+        long time = Long.MIN_VALUE;
+        float temperature = 0f;
+        float cloudCover = 0f;
+        float precipitation = 0f;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "time":
+                    time = readTime(in);
+                    break;
+                case "airTemperature":
+                    temperature = readSourceValue(in);
+                    break;
+                case "cloudCover":
+                    cloudCover = readSourceValue(in);
+                    break;
+                case "precipitation":
+                    precipitation = readSourceValue(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        // Hours with an unreadable time are left out, as before
+        if (time != Long.MIN_VALUE) {
+            builder.add(time, temperature, cloudCover, precipitation);
+        }
+    }
+
+    private static long readTime(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.STRING) {
+            in.skipValue();
+            return Long.MIN_VALUE;
+        }
+        try {
+            return parseTime(in.nextString());
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Epoch seconds of a StormGlass time. They always come as yyyy-MM-ddTHH:mm:ss+00:00,
+     * which is read digit by digit: OffsetDateTime.parse allocated more per hour than the rest
+     * of the hour together (StormGlassParseBenchmark). Any other form goes through the parser.
+     */
+    static long parseTime(String text) {
+        if (text.length() == 25 && text.endsWith("+00:00") && text.charAt(4) == '-' && text.charAt(7) == '-'
+                && text.charAt(10) == 'T' && text.charAt(13) == ':' && text.charAt(16) == ':') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            int hour = digits(text, 11, 13);
+            int minute = digits(text, 14, 16);
+            int second = digits(text, 17, 19);
+            if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && hour < 24
+                    && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                // LocalDate.of rejects a day the month does not have
+                return LocalDate.of(year, month, day).toEpochDay() * SECONDS_PER_DAY
+                        + hour * 3600L + minute * 60L + second;
+            }
+        }
+        return OffsetDateTime.parse(text).toEpochSecond();
+    }
+
+    // Value of text[start, end) if it is all digits, else -1
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Value of one param: noaa if present, else sg, else 0 (same preference as before)
+     */
+    private static float readSourceValue(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return 0f;
+        }
+
+        double noaa = Double.NaN;
+        double sg = Double.NaN;
+        in.beginObject();
+        while (in.hasNext()) {
+            String source = in.nextName();
+            if (in.peek() != JsonToken.NUMBER) {
+                in.skipValue();
+            } else if ("noaa".equals(source)) {
+                noaa = in.nextDouble();
+            } else if ("sg".equals(source)) {
+                sg = in.nextDouble();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (!Double.isNaN(noaa)) {
+            return (float) noaa;
+        }
+        return Double.isNaN(sg) ? 0f : (float) sg;
+    }
+
+    @Override
+    public void write(JsonWriter out, HourlySeries value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("hours");
+        out.beginArray();
+        for (int i = 0; i < value.size(); i++) {
+            out.beginObject();
+            out.name("time").value(Instant.ofEpochSecond(value.timeAt(i)).atOffset(ZoneOffset.UTC).toString());
+            writeSourceValue(out, "airTemperature", value.temperatureAt(i));
+            writeSourceValue(out, "cloudCover", value.cloudCoverAt(i));
+            writeSourceValue(out, "precipitation", value.precipitationAt(i));
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    private static void writeSourceValue(JsonWriter out, String param, float value) throws IOException {
+        out.name(param);
+        out.beginObject();
+        // Boxed: written as Float.toString, not widened to a long double fraction
+        out.name("noaa").value(Float.valueOf(value));
+        out.endObject();
+    }
+
+    // Growable parallel arrays, the series only reads the first size entries
+    private static class Builder {
+        private long[] times = new long[INITIAL_CAPACITY];
+        private float[] temperature = new float[INITIAL_CAPACITY];
+        private float[] cloudCover = new float[INITIAL_CAPACITY];
+        private float[] precipitation = new float[INITIAL_CAPACITY];
+        private int size;
+
+        void add(long time, float temp, float cloud, float precip) {
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                temperature = Arrays.copyOf(temperature, capacity);
+                cloudCover = Arrays.copyOf(cloudCover, capacity);
+                precipitation = Arrays.copyOf(precipitation, capacity);
+            }
+            times[size] = time;
+            temperature[size] = temp;
+            cloudCover[size] = cloud;
+            precipitation[size] = precip;
+            size++;
+        }
+
+        HourlySeries build(Instant fetchedAt) {
+            return new HourlySeries(times, temperature, cloudCover, precipitation, size, fetchedAt);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.hikenativeapp.data.weather;
+
+import android.util.LruCache;
+
+import com.example.hikenativeapp.data.local.dao.WeatherForecastDao;
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+import com.example.hikenativeapp.util.DateTimeUtil;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forecast cache in two levels: an in-memory LRU in front of the weather_forecasts table.
+ * Entries are keyed by geo-grid cell and date. A forecast is fresh for a TTL that shrinks
+ * as the date gets closer, and can still be shown for STALE_FACTOR times that long while
+ * a refresh runs in the background (stale-while-revalidate).
+ * The hourly series of recently fetched cells are kept in memory as well, so every
+ * day of a fetched window is answered without another request. A cell keeps the series
+ * of its forecast window next to single past days fetched since, each with its own fetch time.
+ * Rows are pruned by age (prune), not when new ones are stored.
+ */
+public class WeatherCache {
+
+    // 10 cells per degree, about 11 km north-south: one forecast per trailhead area
+    public static final int CELLS_PER_DEGREE = 10;
+
+    private static final int STALE_FACTOR = 3;
+    private static final Duration LONGEST_TTL = Duration.ofHours(12);
+    private static final int MEMORY_ENTRIES = 64;
+    private static final int MEMORY_CELLS = 8;
+    static final int MAX_SERIES_PER_CELL = 4;
+
+    private final WeatherForecastDao forecastDao;
+    private final LruCache<String, WeatherForecast> memory = new LruCache<>(MEMORY_ENTRIES);
+    // Series of a cell, newest first
+    private final LruCache<String, List<HourlySeries>> seriesMemory = new LruCache<>(MEMORY_CELLS);
+
+    public WeatherCache(WeatherForecastDao forecastDao) {
+        this.forecastDao = forecastDao;
+    }
+
+    public static int toCell(double degrees) {
+        return (int) Math.round(degrees * CELLS_PER_DEGREE);
+    }
+
+    // Centre of a cell, forecasts are requested there so every point of the cell gets the same answer
+    public static double cellCenter(int cell) {
+        return (double) cell / CELLS_PER_DEGREE;
+    }
+
+    /**
+     * Memory lookup only, safe on the main thread
+     */
+    public WeatherForecast peek(int cellLat, int cellLng, LocalDate date) {
+        String key = key(cellLat, cellLng, date);
+        WeatherForecast forecast = memory.get(key);
+        if (forecast == null) {
+            List<HourlySeries> cellSeries = seriesMemory.get(cellLat + ":" + cellLng);
+            if (cellSeries != null) {
+                for (HourlySeries series : cellSeries) {
+                    forecast = series.toDailyForecast(cellLat, cellLng, date);
+                    if (forecast != null) {
+                        memory.put(key, forecast);
+                        break;
+                    }
+                }
+            }
+        }
+        return forecast;
+    }
+
+    /**
+     * Memory, then the database. Must be called off the main thread
+     */
+    public WeatherForecast get(int cellLat, int cellLng, LocalDate date) {
+        String key = key(cellLat, cellLng, date);
+        WeatherForecast forecast = peek(cellLat, cellLng, date);
+        if (forecast == null) {
+            forecast = forecastDao.getForecast(cellLat, cellLng, date);
+            if (forecast != null) {
+                memory.put(key, forecast);
+            }
+        }
+        return forecast;
+    }
+
+    /**
+     * Add the series to the ones kept in memory for the cell and store one forecast row per day of it.
+     * The other days of the cell are left as they are. Must be called off the main thread
+     */
+    public void putSeries(int cellLat, int cellLng, HourlySeries series) {
+        String cell = cellLat + ":" + cellLng;
+        synchronized (seriesMemory) {
+            seriesMemory.put(cell, mergeSeries(seriesMemory.get(cell), series));
+        }
+        put(series.toDailyForecasts(cellLat, cellLng));
+    }
+
+    /**
+     * Series of a cell after a fetch, newest first: the incoming one, then the earlier ones it
+     * does not cover (a forecast window stays next to a past day fetched later), at most
+     * MAX_SERIES_PER_CELL.
+     */
+    static List<HourlySeries> mergeSeries(List<HourlySeries> existing, HourlySeries incoming) {
+        List<HourlySeries> merged = new ArrayList<>();
+        merged.add(incoming);
+        if (existing != null) {
+            for (HourlySeries series : existing) {
+                if (merged.size() < MAX_SERIES_PER_CELL && !covers(incoming, series)) {
+                    merged.add(series);
+                }
+            }
+        }
+        return merged;
+    }
+
+    // True if every hour of inner lies within the time range of outer
+    private static boolean covers(HourlySeries outer, HourlySeries inner) {
+        if (inner.size() == 0) {
+            return true;
+        }
+        return outer.size() > 0
+                && outer.timeAt(0) <= inner.timeAt(0)
+                && outer.timeAt(outer.size() - 1) >= inner.timeAt(inner.size() - 1);
+    }
+
+    /**
+     * Store fetched forecasts, replacing the rows of the same cell and date. Must be called off the main thread
+     */
+    public void put(List<WeatherForecast> forecasts) {
+        for (WeatherForecast forecast : forecasts) {
+            memory.put(key(forecast.getCellLat(), forecast.getCellLng(), forecast.getForecastDate()), forecast);
+        }
+        forecastDao.saveForecasts(forecasts);
+    }
+
+    /**
+     * Drop the rows too old to be shown for any date, whatever date they are for.
+     * Run by the periodic pre-fetch, must be called off the main thread
+     */
+    public void prune(Instant now) {
+        forecastDao.deleteForecastsFetchedBefore(now.minus(maxUsableAge()));
+    }
+
+    // Longest TTL times the stale factor: a row older than this is never fresh or usable
+    static Duration maxUsableAge() {
+        return LONGEST_TTL.multipliedBy(STALE_FACTOR);
+    }
+
+    /**
+     * How long a forecast stays fresh: near dates change faster and matter more,
+     * forecasts two weeks out are refreshed rarely.
+     */
+    static Duration ttl(LocalDate date, LocalDate today) {
+        long days = ChronoUnit.DAYS.between(today, date);
+        if (days <= 0) {
+            return Duration.ofHours(1);
+        } else if (days == 1) {
+            return Duration.ofHours(3);
+        } else if (days <= 3) {
+            return Duration.ofHours(6);
+        }
+        return LONGEST_TTL;
+    }
+
+    public static boolean isFresh(WeatherForecast forecast, Instant now) {
+        LocalDate today = HourlySeries.dateOf(now.getEpochSecond());
+        return age(forecast, now).compareTo(ttl(forecast.getForecastDate(), today)) < 0;
+    }
+
+    // Past its TTL but recent enough to show while a refresh runs
+    public static boolean isUsable(WeatherForecast forecast, Instant now) {
+        Duration maxAge = ttl(forecast.getForecastDate(), HourlySeries.dateOf(now.getEpochSecond()))
+                .multipliedBy(STALE_FACTOR);
+        return age(forecast, now).compareTo(maxAge) < 0;
+    }
+
+    public static WeatherInfo toWeatherInfo(WeatherForecast forecast) {
+        int condition = WeatherInfo.determineWeatherCondition(forecast.getCloudCover(), forecast.getPrecipitation());
+        return new WeatherInfo(forecast.getTemperature(), condition, DateTimeUtil.formatDate(forecast.getForecastDate()));
+    }
+
+    private static Duration age(WeatherForecast forecast, Instant now) {
+        return forecast.getFetchedAt() != null ? Duration.between(forecast.getFetchedAt(), now) : ChronoUnit.FOREVER.getDuration();
+    }
+
+    private static String key(int cellLat, int cellLng, LocalDate date) {
+        return cellLat + ":" + cellLng + ":" + date;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.hikenativeapp.data.weather;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.hikenativeapp.api.WeatherService;
+import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+import com.example.hikenativeapp.data.local.model.UpcomingHikeWeather;
+import com.example.hikenativeapp.data.sync.SyncOutbox;
+import com.example.hikenativeapp.util.Constants;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic refresh of the weather stored on upcoming hikes, which is otherwise only
+ * the snapshot taken when the hike was created.
+ * Each pass groups the hikes of the forecast window by geo-grid cell, fetches the
+ * window of a cell once when one of its dates has no fresh forecast in the cache, and
+ * writes all changed hikes in one transaction. Fetches go through WeatherService's
+ * single-flight path, so a pass and a screen asking for the same cell share one call.
+ * A changed forecast is an edit of the hike: last_updated moves and the hike is queued
+ * in the SyncOutbox, the backend copy does not keep the old weather.
+ * StormGlass requests made by the passes of one day are capped by a budget, so
+ * interactive lookups keep their share of the quota.
+ */
+public class WeatherPrefetcher {
+
+    private static final String TAG = "WeatherPrefetcher";
+
+    // Let the app finish starting before the first pass
+    private static final long INITIAL_DELAY_SECONDS = 30;
+
+    private static final String PREF_BUDGET_DAY = "weather_prefetch_day";
+    private static final String PREF_BUDGET_USED = "weather_prefetch_used";
+
+    private static WeatherPrefetcher instance;
+
+    private final AppDatabase database;
+    private final SharedPreferences prefs;
+    private final WeatherService weatherService;
+    private final SyncOutbox syncOutbox;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private WeatherPrefetcher(Context context) {
+        Context appContext = context.getApplicationContext();
+        database = AppDatabase.getDatabase(appContext);
+        prefs = appContext.getSharedPreferences(Constants.PREFS_NAME, Context.MODE_PRIVATE);
+        weatherService = WeatherService.getInstance();
+        syncOutbox = SyncOutbox.getInstance(appContext);
+    }
+
+    /**
+     * Called once from HikeApplication, after WeatherService.init()
+     */
+    public static synchronized void start(Context context) {
+        if (instance == null) {
+            instance = new WeatherPrefetcher(context);
+            schedulePasses(instance.executor, instance::prefetch, INITIAL_DELAY_SECONDS,
+                    TimeUnit.HOURS.toSeconds(Constants.WEATHER_PREFETCH_INTERVAL_HOURS), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Run the pass after the initial delay, then every interval counted from the end of the
+     * previous pass, so passes never overlap. A failing pass is logged and the next one still runs.
+     */
+    static ScheduledFuture<?> schedulePasses(ScheduledExecutorService executor, Runnable pass,
+                                             long initialDelay, long interval, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(() -> {
+            // An exception would cancel the periodic task
+            try {
+                pass.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Weather pre-fetch failed", e);
+            }
+        }, initialDelay, interval, unit);
+    }
+
+    private void prefetch() {
+        int userId = prefs.getInt(Constants.PREF_USER_ID, -1);
+        WeatherCache cache = WeatherService.getCache();
+        if (userId == -1 || cache == null) {
+            return;
+        }
+        cache.prune(Instant.now());
+        if (!weatherService.hasApiKey()) {
+            weatherService.setApiKey(prefs.getString(Constants.PREF_WEATHER_API_KEY, Constants.STORMGLASS_API_KEY));
+        }
+
+        // UTC, the days the forecast window and the cache use
+        LocalDate today = HourlySeries.today();
+        List<UpcomingHikeWeather> hikes = database.hikeDao()
+                .getUpcomingHikeWeather(userId, today, today.plusDays(Constants.MAX_FORECAST_DAYS));
+
+        // Hikes by cell, cells in order of their earliest hike so the budget goes to the nearest dates
+        Map<String, List<UpcomingHikeWeather>> cells = new LinkedHashMap<>();
+        for (UpcomingHikeWeather hike : hikes) {
+            // 0,0 is what a hike without a picked location stores
+            if (hike.getLatitude() == 0.0 && hike.getLongitude() == 0.0) {
+                continue;
+            }
+            String key = WeatherCache.toCell(hike.getLatitude()) + ":" + WeatherCache.toCell(hike.getLongitude());
+            cells.computeIfAbsent(key, k -> new ArrayList<>()).add(hike);
+        }
+
+        Instant now = Instant.now();
+        List<UpcomingHikeWeather> changed = new ArrayList<>();
+        int fetched = 0;
+        for (List<UpcomingHikeWeather> cellHikes : cells.values()) {
+            int cellLat = WeatherCache.toCell(cellHikes.get(0).getLatitude());
+            int cellLng = WeatherCache.toCell(cellHikes.get(0).getLongitude());
+
+            if (!allFresh(cache, cellLat, cellLng, cellHikes, now)) {
+                if (!takeBudget(prefs, today, Constants.WEATHER_PREFETCH_DAILY_BUDGET)) {
+                    Log.d(TAG, "Daily pre-fetch budget used up, remaining cells wait for tomorrow");
+                    break;
+                }
+                try {
+                    weatherService.fetchForecastWindow(cellLat, cellLng);
+                    fetched++;
+                } catch (IOException e) {
+                    // Offline or quota exceeded, the next pass tries again
+                    Log.w(TAG, "Forecast pre-fetch failed: " + e.getMessage());
+                    break;
+                }
+            }
+
+            for (UpcomingHikeWeather hike : cellHikes) {
+                WeatherForecast forecast = cache.get(cellLat, cellLng, hike.getHikeDate());
+                if (forecast == null || !WeatherCache.isUsable(forecast, now)) {
+                    continue;
+                }
+                WeatherInfo weather = WeatherCache.toWeatherInfo(forecast);
+                String condition = weather.getWeatherConditionString();
+                if (weather.getTemperature() != hike.getTemperature()
+                        || !Objects.equals(condition, hike.getWeatherCondition())) {
+                    hike.setTemperature(weather.getTemperature());
+                    hike.setWeatherCondition(condition);
+                    changed.add(hike);
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            Instant updatedAt = Instant.now();
+            database.runInTransaction(() -> {
+                for (UpcomingHikeWeather hike : changed) {
+                    database.hikeDao().updateWeather(hike.getId(), hike.getTemperature(),
+                            hike.getWeatherCondition(), updatedAt);
+                }
+            });
+            for (UpcomingHikeWeather hike : changed) {
+                syncOutbox.enqueue(hike.getId(), false, null);
+            }
+        }
+        Log.d(TAG, "Weather pre-fetch: " + cells.size() + " cells, " + fetched + " requests, "
+                + changed.size() + " hikes updated");
+    }
+
+    // True if every hike date of the cell has a fresh forecast in the cache
+    private static boolean allFresh(WeatherCache cache, int cellLat, int cellLng,
+                                    List<UpcomingHikeWeather> hikes, Instant now) {
+        for (UpcomingHikeWeather hike : hikes) {
+            WeatherForecast forecast = cache.get(cellLat, cellLng, hike.getHikeDate());
+            if (forecast == null || !WeatherCache.isFresh(forecast, now)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Count one request against today's budget, false if it is used up.
+     * The count is kept in the prefs and starts over on a new day
+     */
+    static boolean takeBudget(SharedPreferences prefs, LocalDate today, int dailyBudget) {
+        long day = today.toEpochDay();
+        int used = prefs.getLong(PREF_BUDGET_DAY, -1) == day ? prefs.getInt(PREF_BUDGET_USED, 0) : 0;
+        if (used >= dailyBudget) {
+            return false;
+        }
+        prefs.edit()
+                .putLong(PREF_BUDGET_DAY, day)
+                .putInt(PREF_BUDGET_USED, used + 1)
+                .apply();
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hikenativeapp.ui.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.hikenativeapp.R;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+
+import java.time.Instant;
+
+/**
+ * Paged version of HikeAdapter, used for the full hike list.
+ * Rows are loaded page by page from HikePagingSource.
+ */
+public class HikePagingAdapter extends PagingDataAdapter<HikeListItem, HikeViewHolder> {
+
+    private static final DiffUtil.ItemCallback<HikeListItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<HikeListItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull HikeListItem oldItem, @NonNull HikeListItem newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull HikeListItem oldItem, @NonNull HikeListItem newItem) {
+            Instant oldUpdated = oldItem.getLastUpdated();
+            return oldUpdated != null && oldUpdated.equals(newItem.getLastUpdated())
+                    && oldItem.getObservationCount() == newItem.getObservationCount();
+        }
+    };
+
+    private HikeAdapter.OnHikeClickListener onHikeClickListener;
+
+    public HikePagingAdapter(HikeAdapter.OnHikeClickListener listener) {
+        super(DIFF_CALLBACK);
+        this.onHikeClickListener = listener;
+    }
+
+    @NonNull
+    @Override
+    public HikeViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_hike, parent, false);
+        return new HikeViewHolder(view, this::getHikeAt, onHikeClickListener);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull HikeViewHolder holder, int position) {
+        HikeListItem hike = getItem(position);
+        if (hike != null) {
+            holder.bind(hike);
+        }
+    }
+
+    // Get a loaded item without triggering a page load
+    public HikeListItem getHikeAt(int position) {
+        if (position >= 0 && position < getItemCount()) {
+            return peek(position);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hikenativeapp.ui.adapter;
+
+import android.view.View;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hikenativeapp.R;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.example.hikenativeapp.util.DateTimeUtil;
+
+import java.util.function.IntFunction;
+
+/**
+ * Row of item_hike, shared by HikeAdapter and HikePagingAdapter.
+ * The adapter gives a lookup from position to the loaded item, clicks on a row
+ * whose item is not available (anymore) are ignored.
+ */
+public class HikeViewHolder extends RecyclerView.ViewHolder {
+    private TextView tvName, tvLocation, tvDate, tvObservationCount, tvLength, tvDifficulty, tvParking;
+    private ImageButton btnEdit, btnMap;
+    private ImageView ivParkingIcon;
+
+    private final IntFunction<HikeListItem> itemLookup;
+    private final HikeAdapter.OnHikeClickListener onHikeClickListener;
+
+    public HikeViewHolder(@NonNull View itemView, IntFunction<HikeListItem> itemLookup,
+                          HikeAdapter.OnHikeClickListener listener) {
+        super(itemView);
+        this.itemLookup = itemLookup;
+        this.onHikeClickListener = listener;
+
+        tvName = itemView.findViewById(R.id.tv_hike_name);
+        tvLocation = itemView.findViewById(R.id.tv_hike_location);
+        tvDate = itemView.findViewById(R.id.tv_hike_date);
+        tvObservationCount = itemView.findViewById(R.id.tv_observation_count);
+        tvLength = itemView.findViewById(R.id.tv_hike_length);
+        tvDifficulty = itemView.findViewById(R.id.tv_hike_difficulty);
+        tvParking = itemView.findViewById(R.id.tv_hike_parking);
+        btnEdit = itemView.findViewById(R.id.btn_edit_hike);
+        btnMap = itemView.findViewById(R.id.btn_map);
+        ivParkingIcon = itemView.findViewById(R.id.iv_parking_icon);
+
+        itemView.setOnClickListener(v -> {
+            HikeListItem hike = currentItem();
+            if (onHikeClickListener != null && hike != null) {
+                onHikeClickListener.onHikeClick(hike);
+            }
+        });
+
+        btnEdit.setOnClickListener(v -> {
+            HikeListItem hike = currentItem();
+            if (onHikeClickListener != null && hike != null) {
+                onHikeClickListener.onHikeEdit(hike);
+            }
+        });
+
+        btnMap.setOnClickListener(v -> {
+            HikeListItem hike = currentItem();
+            if (onHikeClickListener != null && hike != null) {
+                onHikeClickListener.onHikeMap(hike);
+            }
+        });
+    }
+
+    private HikeListItem currentItem() {
+        int position = getBindingAdapterPosition();
+        return position != RecyclerView.NO_POSITION ? itemLookup.apply(position) : null;
+    }
+
+    public void bind(HikeListItem hike) {
+        tvName.setText(hike.getName());
+        tvLocation.setText(hike.getLocation());
+        tvDate.setText(DateTimeUtil.formatDate(hike.getHikeDate()));
+        int observations = hike.getObservationCount();
+        tvObservationCount.setText(observations == 1 ? "1 observation" : observations + " observations");
+        tvLength.setText(String.format("%.1f km", hike.getLength()));
+        tvDifficulty.setText(hike.getDifficulty());
+
+        // Update parking display with icon
+        if (hike.isParkingAvailable()) {
+            tvParking.setText("Parking");
+            ivParkingIcon.setImageResource(android.R.drawable.checkbox_on_background);
+            ivParkingIcon.setColorFilter(itemView.getContext().getColor(R.color.success));
+        } else {
+            tvParking.setText("No Parking");
+            ivParkingIcon.setImageResource(android.R.drawable.ic_menu_close_clear_cancel);
+            ivParkingIcon.setColorFilter(itemView.getContext().getColor(R.color.text_light));
+        }
+
+        // Set difficulty background color based on level
+        int difficultyColor;
+        String difficulty = hike.getDifficulty() != null ? hike.getDifficulty().toLowerCase() : "";
+        if (difficulty.contains("easy")) {
+            difficultyColor = itemView.getContext().getColor(R.color.difficulty_easy);
+        } else if (difficulty.contains("moderate")) {
+            difficultyColor = itemView.getContext().getColor(R.color.difficulty_moderate);
+        } else if (difficulty.contains("hard")) {
+            difficultyColor = itemView.getContext().getColor(R.color.difficulty_hard);
+        } else {
+            difficultyColor = itemView.getContext().getColor(R.color.primary_green);
+        }
+        tvDifficulty.setBackgroundColor(difficultyColor);
+    }
+}
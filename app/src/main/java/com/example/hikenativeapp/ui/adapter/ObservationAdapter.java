@@ -13,14 +13,21 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.hikenativeapp.R;
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
+import com.example.hikenativeapp.util.DateTimeUtil;
+import com.example.hikenativeapp.util.SearchHighlightUtil;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ObservationAdapter extends RecyclerView.Adapter<ObservationAdapter.ObservationViewHolder> {
 
     private List<Observation> observations = new ArrayList<>();
+    // Snippets of the current search by observation id, empty when the full list is shown
+    private Map<Integer, ObservationSearchResult> searchResults = new HashMap<>();
     private OnObservationClickListener onObservationClickListener;
 
     public interface OnObservationClickListener {
@@ -54,6 +61,22 @@ public class ObservationAdapter extends RecyclerView.Adapter<ObservationAdapter.
 
     public void setObservations(List<Observation> observations) {
         this.observations = observations != null ? observations : new ArrayList<>();
+        this.searchResults = new HashMap<>();
+        notifyDataSetChanged();
+    }
+
+    // Show search results in rank order, matched terms highlighted from the FTS snippets
+    public void setSearchResults(List<ObservationSearchResult> results) {
+        List<Observation> matched = new ArrayList<>();
+        Map<Integer, ObservationSearchResult> byId = new HashMap<>();
+        if (results != null) {
+            for (ObservationSearchResult result : results) {
+                matched.add(result.getObservation());
+                byId.put(result.getObservation().getId(), result);
+            }
+        }
+        this.observations = matched;
+        this.searchResults = byId;
         notifyDataSetChanged();
     }
 
@@ -107,15 +130,23 @@ public class ObservationAdapter extends RecyclerView.Adapter<ObservationAdapter.
         }
 
         public void bind(Observation observation) {
-            tvObservationText.setText(observation.getObservationText() != null ?
-                observation.getObservationText() : "No observation text");
-            tvObservationTime.setText(observation.getObservationTime() != null ?
-                observation.getObservationTime() : "");
+            ObservationSearchResult result = searchResults.get(observation.getId());
+            if (result != null && ObservationSearchResult.hasMatch(result.getTextSnippet())) {
+                tvObservationText.setText(SearchHighlightUtil.toHighlighted(result.getTextSnippet()));
+            } else {
+                tvObservationText.setText(observation.getObservationText() != null ?
+                    observation.getObservationText() : "No observation text");
+            }
+            tvObservationTime.setText(DateTimeUtil.formatDateTime(observation.getObservationTime()));
 
             // Handle comments visibility
             if (observation.getComments() != null && !observation.getComments().isEmpty()) {
                 layoutComments.setVisibility(View.VISIBLE);
-                tvComments.setText(observation.getComments());
+                if (result != null && ObservationSearchResult.hasMatch(result.getCommentsSnippet())) {
+                    tvComments.setText(SearchHighlightUtil.toHighlighted(result.getCommentsSnippet()));
+                } else {
+                    tvComments.setText(observation.getComments());
+                }
             } else {
                 layoutComments.setVisibility(View.GONE);
             }
@@ -10,6 +10,7 @@ import com.example.hikenativeapp.data.weather.WeatherInfo;
 public class AddHikeViewModel extends ViewModel {
 
     private WeatherService weatherService;
+    private WeatherService.WeatherRequest weatherRequest;
     private MutableLiveData<WeatherInfo> weatherInfoLiveData = new MutableLiveData<>();
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private MutableLiveData<Boolean> isLoadingWeather = new MutableLiveData<>();
@@ -67,7 +68,9 @@ public class AddHikeViewModel extends ViewModel {
     public void fetchWeatherForecast(double latitude, double longitude, String date) {
         isLoadingWeather.setValue(true);
 
-        weatherService.getWeatherForecast(latitude, longitude, date, new WeatherService.WeatherCallback() {
+        // The newest lookup wins, an earlier one still in flight is detached after it
+        WeatherService.WeatherRequest previous = weatherRequest;
+        weatherRequest = weatherService.getWeatherForecast(latitude, longitude, date, new WeatherService.WeatherCallback() {
             @Override
             public void onSuccess(WeatherInfo weatherInfo) {
                 weatherInfoLiveData.postValue(weatherInfo);
@@ -80,11 +83,17 @@ public class AddHikeViewModel extends ViewModel {
                 isLoadingWeather.postValue(false);
             }
         });
+        if (previous != null) {
+            previous.cancel();
+        }
     }
 
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Clean up if needed
+        // Nobody will read the result anymore
+        if (weatherRequest != null) {
+            weatherRequest.cancel();
+        }
     }
 }
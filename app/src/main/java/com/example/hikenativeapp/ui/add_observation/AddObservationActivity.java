@@ -30,6 +30,8 @@ import com.bumptech.glide.Glide;
 import com.example.hikenativeapp.R;
 import com.example.hikenativeapp.data.local.entity.Observation;
 import com.example.hikenativeapp.data.repository.ObservationRepository;
+import com.example.hikenativeapp.util.DateTimeUtil;
+import com.example.hikenativeapp.val.ObservationValidation;
 
 import java.io.File;
 import java.io.IOException;
@@ -358,8 +360,8 @@ public class AddObservationActivity extends AppCompatActivity {
             if (observationText.isEmpty()) {
                 etObservationText.setError("Observation text is required");
                 etObservationText.requestFocus();
-            } else if (observationTime.isEmpty()) {
-                etObservationTime.setError("Observation time is required");
+            } else {
+                etObservationTime.setError(ObservationValidation.validateObservationTime(observationTime));
                 etObservationTime.requestFocus();
             }
             return;
@@ -369,7 +371,7 @@ public class AddObservationActivity extends AppCompatActivity {
         Observation observation = new Observation();
         observation.setHikeId(hikeId);
         observation.setObservationText(observationText);
-        observation.setObservationTime(observationTime);
+        observation.setObservationTime(DateTimeUtil.parseDateTime(observationTime));
         observation.setComments(comments);
         observation.setPhotoPath(currentPhotoPath); // Set photo path
 
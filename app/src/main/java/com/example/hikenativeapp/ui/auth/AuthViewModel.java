@@ -17,6 +17,7 @@ import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.auth.GoogleAuthProvider;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class AuthViewModel extends ViewModel {
 
@@ -98,13 +99,13 @@ public class AuthViewModel extends ViewModel {
         new Thread(() -> {
             try {
                 User existingUser = Userepository.getUserByGoogleId(firebaseUser.getUid());
+                User signedInUser;
                 if (existingUser != null) {
                     // Update existing user
                     user.setId(existingUser.getId());
                     Userepository.updateUser(user);
-                    // Post the existing user with correct ID
-                    currentUser.postValue(user);
-                    authState.postValue(new AuthState<>(Status.SUCCESS, user, null));
+                    // Existing user with correct ID
+                    signedInUser = user;
                 } else {
                     // Insert new user and get the generated ID
                     long newUserId = Userepository.insertUser(user);
@@ -112,15 +113,15 @@ public class AuthViewModel extends ViewModel {
 
                     // Retrieve the user from database to ensure we have the correct ID
                     User savedUser = Userepository.getUserByGoogleId(firebaseUser.getUid());
-                    if (savedUser != null) {
-                        currentUser.postValue(savedUser);
-                        authState.postValue(new AuthState<>(Status.SUCCESS, savedUser, null));
-                    } else {
-                        // Fallback to user object with set ID
-                        currentUser.postValue(user);
-                        authState.postValue(new AuthState<>(Status.SUCCESS, user, null));
-                    }
+                    // Fallback to user object with set ID
+                    signedInUser = savedUser != null ? savedUser : user;
                 }
+
+                // Submitted before SUCCESS: LoginActivity finishes on it and shuts the repository down
+                Future<Integer> pull = startPull(signedInUser.getId());
+                currentUser.postValue(signedInUser);
+                authState.postValue(new AuthState<>(Status.SUCCESS, signedInUser, null));
+                awaitPull(pull);
             } catch (Exception e) {
                 String errorMsg = "Failed to save user: " + e.getMessage();
                 errorMessage.postValue(errorMsg);
@@ -129,6 +130,23 @@ public class AuthViewModel extends ViewModel {
         }).start();
     }
 
+    // Pull the hikes saved on the backend from a previous install or another device
+    private Future<Integer> startPull(int userId) {
+        return repository != null ? repository.pullChanges(userId) : null;
+    }
+
+    private void awaitPull(Future<Integer> pull) {
+        if (pull == null) return;
+        try {
+            Log.d(TAG, "Pulled " + pull.get() + " hikes from the backend");
+        } catch (ExecutionException e) {
+            // Offline or server error, local data stays as it is and the next login pulls again
+            Log.w(TAG, "Pull sync failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // Sign out
     public void signOut() {
         firebaseAuth.signOut();
@@ -14,6 +14,7 @@ import androidx.lifecycle.ViewModelProvider;
 
 import com.example.hikenativeapp.R;
 import com.example.hikenativeapp.data.local.AppDatabase;
+import com.example.hikenativeapp.data.repository.HikeRepository;
 import com.example.hikenativeapp.data.repository.UserRepository;
 import com.example.hikenativeapp.ui.main.MainActivity;
 import com.example.hikenativeapp.util.Constants;
@@ -31,6 +32,7 @@ public class LoginActivity extends AppCompatActivity {
     private ActivityResultLauncher<Intent> googleSignInLauncher;
     private AuthViewModel authViewModel;
     private UserRepository repository;
+    private HikeRepository hikeRepository;
 
     public static final String TAG = LoginActivity.class.getSimpleName();
 
@@ -74,6 +76,9 @@ public class LoginActivity extends AppCompatActivity {
         authViewModel = new ViewModelProvider(this).get(AuthViewModel.class);
         repository = new UserRepository(AppDatabase.getDatabase(this));
         authViewModel.setRepository(repository);
+        // Pulls the user's hikes from the backend after sign in
+        hikeRepository = new HikeRepository(this);
+        authViewModel.setRepository(hikeRepository);
     }
 
     private void observeAuthState() {
@@ -140,5 +145,9 @@ public class LoginActivity extends AppCompatActivity {
         if (repository != null) {
             repository.cleanup();
         }
+        if (hikeRepository != null) {
+            // Lets a pull that is already running finish
+            hikeRepository.cleanup();
+        }
     }
 }
@@ -16,6 +16,7 @@ import com.example.hikenativeapp.data.local.entity.Hike;
 import com.example.hikenativeapp.data.repository.HikeRepository;
 import com.example.hikenativeapp.ui.hike_list.HikeListActivity;
 import com.example.hikenativeapp.util.Constants;
+import com.example.hikenativeapp.util.DateTimeUtil;
 
 import java.util.Locale;
 
@@ -148,7 +149,7 @@ public class ConfirmHikeActivity extends AppCompatActivity {
         hike.setUserId(userId);
         hike.setName(name);
         hike.setLocation(location);
-        hike.setHikeDate(date);
+        hike.setHikeDate(DateTimeUtil.parseDate(date));
         hike.setParkingAvailable(parkingAvailable);
         hike.setLength(length);
         hike.setDifficulty(difficulty);
@@ -8,7 +8,6 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.text.Editable;
-import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
@@ -34,6 +33,7 @@ import com.example.hikenativeapp.data.repository.HikeRepository;
 import com.example.hikenativeapp.data.weather.WeatherInfo;
 import com.example.hikenativeapp.ui.adapter.PlaceAutocompleteAdapter;
 import com.example.hikenativeapp.util.Constants;
+import com.example.hikenativeapp.util.DateTimeUtil;
 import com.example.hikenativeapp.util.LocationHelper;
 import com.example.hikenativeapp.util.LocationSearchHelper;
 import com.example.hikenativeapp.val.HikeValidator;
@@ -42,6 +42,7 @@ import com.google.android.libraries.places.api.model.Place;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.textfield.TextInputLayout;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
@@ -209,7 +210,7 @@ public class EditHikeActivity extends AppCompatActivity implements LocationHelpe
 
         etName.setText(hike.getName());
         etLocation.setText(hike.getLocation());
-        etDate.setText(hike.getHikeDate());
+        etDate.setText(DateTimeUtil.formatDate(hike.getHikeDate()));
         etLength.setText(String.valueOf(hike.getLength()));
         etDescription.setText(hike.getDescription());
         cbParkingAvailable.setChecked(hike.isParkingAvailable());
@@ -228,7 +229,7 @@ public class EditHikeActivity extends AppCompatActivity implements LocationHelpe
             }
             // Recreate WeatherInfo object for later use
             currentWeatherInfo = new WeatherInfo(hike.getTemperature(),
-                    convertWeatherStringToCode(hike.getWeatherCondition()), hike.getHikeDate());
+                    convertWeatherStringToCode(hike.getWeatherCondition()), DateTimeUtil.formatDate(hike.getHikeDate()));
         }
 
         String[] difficulties = {
@@ -300,17 +301,11 @@ public class EditHikeActivity extends AppCompatActivity implements LocationHelpe
     private void showDatePicker() {
         Calendar calendar = Calendar.getInstance();
 
-        if (currentHike != null && !TextUtils.isEmpty(currentHike.getHikeDate())) {
-            try {
-                String[] dateParts = currentHike.getHikeDate().split("-");
-                if (dateParts.length == 3) {
-                    calendar.set(Calendar.YEAR, Integer.parseInt(dateParts[0]));
-                    calendar.set(Calendar.MONTH, Integer.parseInt(dateParts[1]) - 1);
-                    calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(dateParts[2]));
-                }
-            } catch (Exception e) {
-                // Use current date if parsing fails
-            }
+        if (currentHike != null && currentHike.getHikeDate() != null) {
+            LocalDate hikeDate = currentHike.getHikeDate();
+            calendar.set(Calendar.YEAR, hikeDate.getYear());
+            calendar.set(Calendar.MONTH, hikeDate.getMonthValue() - 1);
+            calendar.set(Calendar.DAY_OF_MONTH, hikeDate.getDayOfMonth());
         }
 
         int year = calendar.get(Calendar.YEAR);
@@ -547,7 +542,7 @@ public class EditHikeActivity extends AppCompatActivity implements LocationHelpe
         // Update hike object
         currentHike.setName(name);
         currentHike.setLocation(location);
-        currentHike.setHikeDate(date);
+        currentHike.setHikeDate(DateTimeUtil.parseDate(date));
         currentHike.setLength(Double.parseDouble(lengthStr));
         currentHike.setDifficulty(spinnerDifficulty.getSelectedItem().toString());
         currentHike.setParkingAvailable(cbParkingAvailable.isChecked());
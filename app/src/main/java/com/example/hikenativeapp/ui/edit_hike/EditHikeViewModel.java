@@ -25,6 +25,7 @@ public class EditHikeViewModel extends ViewModel {
     private MutableLiveData<Boolean> isLoadingWeather = new MutableLiveData<>();
     private MutableLiveData<String> syncStatus = new MutableLiveData<>();
     private WeatherService weatherService;
+    private WeatherService.WeatherRequest weatherRequest;
     public EditHikeViewModel() {
         isLoading.setValue(false);
     }
@@ -81,7 +82,9 @@ public class EditHikeViewModel extends ViewModel {
     public void fetchWeatherForecast(double latitude, double longitude, String date) {
         isLoadingWeather.setValue(true);
 
-        weatherService.getWeatherForecast(latitude, longitude, date, new WeatherService.WeatherCallback() {
+        // The newest lookup wins, an earlier one still in flight is detached after it
+        WeatherService.WeatherRequest previous = weatherRequest;
+        weatherRequest = weatherService.getWeatherForecast(latitude, longitude, date, new WeatherService.WeatherCallback() {
             @Override
             public void onSuccess(WeatherInfo weatherInfo) {
                 weatherInfoLiveData.postValue(weatherInfo);
@@ -94,6 +97,9 @@ public class EditHikeViewModel extends ViewModel {
                 isLoadingWeather.postValue(false);
             }
         });
+        if (previous != null) {
+            previous.cancel();
+        }
     }
 
     public void updateHike(Hike hike) {
@@ -133,6 +139,9 @@ public class EditHikeViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Clean up if needed
+        // Nobody will read the result anymore
+        if (weatherRequest != null) {
+            weatherRequest.cancel();
+        }
     }
 }
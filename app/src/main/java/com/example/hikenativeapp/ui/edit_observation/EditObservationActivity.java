@@ -29,6 +29,8 @@ import com.bumptech.glide.Glide;
 import com.example.hikenativeapp.R;
 import com.example.hikenativeapp.data.local.entity.Observation;
 import com.example.hikenativeapp.data.repository.ObservationRepository;
+import com.example.hikenativeapp.util.DateTimeUtil;
+import com.example.hikenativeapp.val.ObservationValidation;
 
 import java.io.File;
 import java.io.IOException;
@@ -36,6 +38,7 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Objects;
 
 public class EditObservationActivity extends AppCompatActivity {
 
@@ -229,7 +232,7 @@ public class EditObservationActivity extends AppCompatActivity {
 
     private void displayObservation() {
         etObservationText.setText(currentObservation.getObservationText());
-        etObservationTime.setText(currentObservation.getObservationTime());
+        etObservationTime.setText(DateTimeUtil.formatDateTime(currentObservation.getObservationTime()));
         etComments.setText(currentObservation.getComments());
 
         // Display existing photo if available
@@ -395,8 +398,8 @@ public class EditObservationActivity extends AppCompatActivity {
             if (observationText.isEmpty()) {
                 etObservationText.setError("Observation text is required");
                 etObservationText.requestFocus();
-            } else if (observationTime.isEmpty()) {
-                etObservationTime.setError("Observation time is required");
+            } else {
+                etObservationTime.setError(ObservationValidation.validateObservationTime(observationTime));
                 etObservationTime.requestFocus();
             }
             return;
@@ -404,8 +407,12 @@ public class EditObservationActivity extends AppCompatActivity {
 
         // Update observation object
         currentObservation.setObservationText(observationText);
-        currentObservation.setObservationTime(observationTime);
+        currentObservation.setObservationTime(DateTimeUtil.parseDateTime(observationTime));
         currentObservation.setComments(comments);
+        // A new or removed photo replaces the one on the backend
+        if (!Objects.equals(currentPhotoPath, currentObservation.getPhotoPath())) {
+            currentObservation.setPhotoRemoteKey(null);
+        }
         currentObservation.setPhotoPath(currentPhotoPath); // Update photo path
 
         // Update through ViewModel
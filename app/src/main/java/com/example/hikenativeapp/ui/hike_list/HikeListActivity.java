@@ -17,14 +17,16 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hikenativeapp.R;
-import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
 import com.example.hikenativeapp.data.repository.HikeRepository;
 import com.example.hikenativeapp.ui.adapter.HikeAdapter;
+import com.example.hikenativeapp.ui.adapter.HikePagingAdapter;
 import com.example.hikenativeapp.ui.auth.AuthViewModel;
 import com.example.hikenativeapp.ui.auth.LoginActivity;
 import com.example.hikenativeapp.ui.add_hike.AddHikeActivity;
@@ -50,6 +52,7 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
     private LinearLayout llEmptyState;
     private RecyclerView recyclerView;
     private HikeAdapter hikeAdapter;
+    private HikePagingAdapter hikePagingAdapter;
     private FloatingActionButton fabAddHike;
     private Toolbar toolbar;
 
@@ -212,9 +215,18 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
     }
 
     private void setupRecyclerView() {
+        // Paged adapter for the full list, plain adapter for search results
         hikeAdapter = new HikeAdapter(this);
+        hikePagingAdapter = new HikePagingAdapter(this);
+        hikePagingAdapter.addLoadStateListener(loadStates -> {
+            if (recyclerView.getAdapter() == hikePagingAdapter
+                    && loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                updateEmptyState(hikePagingAdapter.getItemCount() == 0);
+            }
+            return kotlin.Unit.INSTANCE;
+        });
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        recyclerView.setAdapter(hikeAdapter);
+        recyclerView.setAdapter(hikePagingAdapter);
 
         // Setup swipe to delete
         SwipeToDeleteCallback swipeToDeleteCallback = new SwipeToDeleteCallback(this, this);
@@ -245,16 +257,19 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
             }
         });
 
-        // Observe hikes from HikeListViewModel
+        // Observe paged hikes (full list)
+        if (currentUserId != -1) {
+            hikeListViewModel.getPagedHikes(currentUserId).observe(this, pagingData ->
+                    hikePagingAdapter.submitData(getLifecycle(), pagingData));
+        }
+
+        // Observe search results from HikeListViewModel
         hikeListViewModel.getHikes().observe(this, hikes -> {
-            if (hikes != null && !hikes.isEmpty()) {
-                hikeAdapter.setHikes(hikes);
-                llEmptyState.setVisibility(android.view.View.GONE);
-                recyclerView.setVisibility(android.view.View.VISIBLE);
-            } else {
-                llEmptyState.setVisibility(android.view.View.VISIBLE);
-                recyclerView.setVisibility(android.view.View.GONE);
+            if (recyclerView.getAdapter() != hikeAdapter) {
+                recyclerView.setAdapter(hikeAdapter);
             }
+            hikeAdapter.setHikes(hikes);
+            updateEmptyState(hikes == null || hikes.isEmpty());
         });
 
         // Observe errors
@@ -282,20 +297,38 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
     }
 
     private void loadHikes() {
-        SharedPreferences prefs = getSharedPreferences(Constants.PREFS_NAME, MODE_PRIVATE);
-        int userId = prefs.getInt(Constants.PREF_USER_ID, -1);
-
-        if (userId == -1) {
+        if (currentUserId == -1) {
             Toast.makeText(this, "Error: User not found", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        // Load hikes using ViewModel
-        hikeListViewModel.loadHikesByUserId(userId);
+        // Show the paged list, it refreshes itself when the hikes table changes
+        if (recyclerView.getAdapter() != hikePagingAdapter) {
+            recyclerView.setAdapter(hikePagingAdapter);
+            updateEmptyState(hikePagingAdapter.getItemCount() == 0);
+        }
+    }
+
+    private void updateEmptyState(boolean isEmpty) {
+        if (isEmpty) {
+            llEmptyState.setVisibility(android.view.View.VISIBLE);
+            recyclerView.setVisibility(android.view.View.GONE);
+        } else {
+            llEmptyState.setVisibility(android.view.View.GONE);
+            recyclerView.setVisibility(android.view.View.VISIBLE);
+        }
+    }
+
+    // Hike shown at a position of whichever adapter is active
+    private HikeListItem getHikeAt(int position) {
+        if (recyclerView.getAdapter() == hikePagingAdapter) {
+            return hikePagingAdapter.getHikeAt(position);
+        }
+        return hikeAdapter.getItem(position);
     }
 
     @Override
-    public void onHikeClick(Hike hike) {
+    public void onHikeClick(HikeListItem hike) {
         // Navigate to ObservationListActivity to view observations for this hike
         Intent intent = new Intent(this, ObservationListActivity.class);
         intent.putExtra("HIKE_ID", hike.getId());
@@ -304,7 +337,7 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
     }
 
     @Override
-    public void onHikeEdit(Hike hike) {
+    public void onHikeEdit(HikeListItem hike) {
         // Navigate to EditHikeActivity
         Intent intent = new Intent(this, EditHikeActivity.class);
         intent.putExtra(EditHikeActivity.EXTRA_HIKE_ID, hike.getId());
@@ -312,7 +345,7 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
     }
 
     @Override
-    public void onHikeMap(Hike hike) {
+    public void onHikeMap(HikeListItem hike) {
         // Check if coordinates are valid
         if (hike.getLatitude() == 0.0 && hike.getLongitude() == 0.0) {
             Toast.makeText(this, "No location data available for this hike", Toast.LENGTH_SHORT).show();
@@ -343,7 +376,7 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
     }
 
     @Override
-    public void onHikeDelete(Hike hike, int position) {
+    public void onHikeDelete(HikeListItem hike, int position) {
         // Show confirmation dialog for soft delete
         new AlertDialog.Builder(this)
                 .setTitle("Delete Hike")
@@ -357,7 +390,7 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
 
     @Override
     public void onSwipe(int position) {
-        Hike hikeToDelete = hikeAdapter.getItem(position);
+        HikeListItem hikeToDelete = getHikeAt(position);
         if (hikeToDelete == null) return;
 
         // Show confirmation dialog for soft delete
@@ -369,29 +402,26 @@ public class HikeListActivity extends AppCompatActivity implements HikeAdapter.O
                 })
                 .setNegativeButton("Cancel", (dialog, which) -> {
                     // Restore the item
-                    hikeAdapter.notifyItemChanged(position);
+                    recyclerView.getAdapter().notifyItemChanged(position);
                 })
                 .setOnCancelListener(dialog -> {
                     // Restore the item if dialog is cancelled
-                    hikeAdapter.notifyItemChanged(position);
+                    recyclerView.getAdapter().notifyItemChanged(position);
                 })
                 .show();
     }
 
-    private void softDeleteHike(Hike hike, int position) {
-        // Remove from adapter immediately for UX
-        hikeAdapter.removeItem(position);
+    private void softDeleteHike(HikeListItem hike, int position) {
+        // Remove search results immediately for UX, the paged list refreshes on the table change
+        if (recyclerView.getAdapter() == hikeAdapter) {
+            hikeAdapter.removeItem(position);
+            updateEmptyState(hikeAdapter.getItemCount() == 0);
+        }
 
         // Perform soft delete using ViewModel
         hikeListViewModel.softDeleteHike(hike.getId());
 
         Toast.makeText(this, "Hike deleted successfully", Toast.LENGTH_SHORT).show();
-
-        // Check if list is empty and show no hikes message
-        if (hikeAdapter.getItemCount() == 0) {
-            llEmptyState.setVisibility(android.view.View.VISIBLE);
-            recyclerView.setVisibility(android.view.View.GONE);
-        }
     }
 
 
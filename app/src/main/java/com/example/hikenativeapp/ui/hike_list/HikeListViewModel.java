@@ -5,8 +5,15 @@ import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+import com.example.hikenativeapp.data.paging.HikePagingSource;
 import com.example.hikenativeapp.data.repository.HikeRepository;
 
 import java.util.List;
@@ -16,18 +23,23 @@ public class HikeListViewModel extends ViewModel {
 
     private static final String TAG = "HikeListViewModel";
 
+    // About one screen and a half of rows per page
+    private static final int PAGE_SIZE = 30;
+
     private HikeRepository repository;
-    private MutableLiveData<List<Hike>> hikesLiveData = new MutableLiveData<>();
+    private MutableLiveData<List<HikeListItem>> hikesLiveData = new MutableLiveData<>();
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private MutableLiveData<Boolean> isLoading = new MutableLiveData<>();
     private MutableLiveData<Boolean> isEmpty = new MutableLiveData<>();
     private MutableLiveData<String> syncStatus = new MutableLiveData<>();
+    private LiveData<PagingData<HikeListItem>> pagedHikes;
+    private int pagedUserId = -1;
 
     public void setRepository(HikeRepository repository) {
         this.repository = repository;
     }
 
-    public LiveData<List<Hike>> getHikes() {
+    public LiveData<List<HikeListItem>> getHikes() {
         return hikesLiveData;
     }
 
@@ -47,6 +59,21 @@ public class HikeListViewModel extends ViewModel {
         return syncStatus;
     }
 
+    /**
+     * Paged hikes of a user, newest first, cached across configuration changes
+     */
+    public LiveData<PagingData<HikeListItem>> getPagedHikes(int userId) {
+        if (pagedHikes == null || pagedUserId != userId) {
+            pagedUserId = userId;
+            Pager<HikePagingSource.PageKey, HikeListItem> pager = new Pager<>(
+                    new PagingConfig(PAGE_SIZE, PAGE_SIZE / 2, false, PAGE_SIZE),
+                    () -> repository.createHikePagingSource(userId));
+            pagedHikes = PagingLiveData.cachedIn(PagingLiveData.getLiveData(pager),
+                    ViewModelKt.getViewModelScope(this));
+        }
+        return pagedHikes;
+    }
+
     public void loadHikesByUserId(int userId) {
         if (repository == null) {
             errorMessage.setValue("Repository not initialized");
@@ -56,7 +83,7 @@ public class HikeListViewModel extends ViewModel {
         isLoading.setValue(true);
         new Thread(() -> {
             try {
-                List<Hike> hikes = repository.getHikesByUserId(userId).get();
+                List<HikeListItem> hikes = repository.getHikeListItemsByUserId(userId).get();
                 hikesLiveData.postValue(hikes);
                 isEmpty.postValue(hikes == null || hikes.isEmpty());
                 isLoading.postValue(false);
@@ -114,7 +141,7 @@ public class HikeListViewModel extends ViewModel {
     // ==================== SEARCH ====================
 
     /**
-     * Simple search by name
+     * Search by name, location and description (full-text, prefix match)
      */
     public void searchHikesByName(int userId, String name) {
         if (repository == null) {
@@ -130,7 +157,7 @@ public class HikeListViewModel extends ViewModel {
         isLoading.setValue(true);
         new Thread(() -> {
             try {
-                List<Hike> hikes = repository.searchHikesByName(userId, name.trim()).get();
+                List<HikeListItem> hikes = repository.searchHikes(userId, name.trim()).get();
                 hikesLiveData.postValue(hikes);
                 isEmpty.postValue(hikes == null || hikes.isEmpty());
                 isLoading.postValue(false);
@@ -153,7 +180,7 @@ public class HikeListViewModel extends ViewModel {
         isLoading.setValue(true);
         new Thread(() -> {
             try {
-                List<Hike> hikes = repository.searchHikesByLengthRange(userId, minLength, maxLength).get();
+                List<HikeListItem> hikes = repository.searchHikesByLengthRange(userId, minLength, maxLength).get();
                 hikesLiveData.postValue(hikes);
                 isEmpty.postValue(hikes == null || hikes.isEmpty());
                 isLoading.postValue(false);
@@ -176,7 +203,7 @@ public class HikeListViewModel extends ViewModel {
         isLoading.setValue(true);
         new Thread(() -> {
             try {
-                List<Hike> hikes = repository.searchHikesByNameAndLength(
+                List<HikeListItem> hikes = repository.searchHikesWithLength(
                     userId, name != null ? name.trim() : "", minLength, maxLength).get();
                 hikesLiveData.postValue(hikes);
                 isEmpty.postValue(hikes == null || hikes.isEmpty());
@@ -2,6 +2,8 @@ package com.example.hikenativeapp.ui.observation_list;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.widget.LinearLayout;
@@ -18,12 +20,14 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hikenativeapp.R;
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
 import com.example.hikenativeapp.data.repository.ObservationRepository;
 import com.example.hikenativeapp.ui.adapter.ObservationAdapter;
 import com.example.hikenativeapp.ui.add_observation.AddObservationActivity;
 import com.example.hikenativeapp.ui.edit_observation.EditObservationActivity;
 import com.example.hikenativeapp.util.SwipeToDeleteCallback;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.google.android.material.textfield.TextInputEditText;
 
 import java.util.List;
 
@@ -38,6 +42,10 @@ public class ObservationListActivity extends AppCompatActivity
     private Toolbar toolbar;
     private TextView tvEmptyState;
     private LinearLayout llEmptyState;
+    private TextInputEditText etSearch;
+
+    // Bumped on every load, results of an older load or search are dropped
+    private int loadGeneration;
 
     private int hikeId;
     private String hikeName;
@@ -69,6 +77,7 @@ public class ObservationListActivity extends AppCompatActivity
         fabAddObservation = findViewById(R.id.fab_add_observation);
         tvEmptyState = findViewById(R.id.tv_empty_state);
         llEmptyState = findViewById(R.id.ll_empty_state);
+        etSearch = findViewById(R.id.et_search_observations);
 
         repository = new ObservationRepository(this);
 
@@ -86,6 +95,20 @@ public class ObservationListActivity extends AppCompatActivity
             intent.putExtra("HIKE_NAME", hikeName);
             startActivity(intent);
         });
+
+        // Full-text search as the user types, empty input shows every observation again
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                loadObservations();
+            }
+        });
     }
 
     private void setupViewModels() {
@@ -105,21 +128,42 @@ public class ObservationListActivity extends AppCompatActivity
     }
 
     private void loadObservations() {
+        String searchText = etSearch.getText() != null ? etSearch.getText().toString().trim() : "";
+        int generation = ++loadGeneration;
         new Thread(() -> {
-            List<Observation> observations = viewModel.getObservationsByHikeId(hikeId);
-            runOnUiThread(() -> {
-                if (observations != null && !observations.isEmpty()) {
+            if (searchText.isEmpty()) {
+                List<Observation> observations = viewModel.getObservationsByHikeId(hikeId);
+                runOnUiThread(() -> {
+                    if (generation != loadGeneration) {
+                        return;
+                    }
                     observationAdapter.setObservations(observations);
-                    recyclerView.setVisibility(android.view.View.VISIBLE);
-                    llEmptyState.setVisibility(android.view.View.GONE);
-                } else {
-                    recyclerView.setVisibility(android.view.View.GONE);
-                    llEmptyState.setVisibility(android.view.View.VISIBLE);
-                }
-            });
+                    showList(observations != null && !observations.isEmpty(), "No Observations Yet");
+                });
+            } else {
+                List<ObservationSearchResult> results = viewModel.searchObservations(hikeId, searchText);
+                runOnUiThread(() -> {
+                    if (generation != loadGeneration) {
+                        return;
+                    }
+                    observationAdapter.setSearchResults(results);
+                    showList(results != null && !results.isEmpty(), "No Matching Observations");
+                });
+            }
         }).start();
     }
 
+    private void showList(boolean hasItems, String emptyText) {
+        if (hasItems) {
+            recyclerView.setVisibility(android.view.View.VISIBLE);
+            llEmptyState.setVisibility(android.view.View.GONE);
+        } else {
+            tvEmptyState.setText(emptyText);
+            recyclerView.setVisibility(android.view.View.GONE);
+            llEmptyState.setVisibility(android.view.View.VISIBLE);
+        }
+    }
+
     @Override
     public void onObservationClick(Observation observation) {
         // View observation details - can be implemented later
@@ -161,8 +205,7 @@ public class ObservationListActivity extends AppCompatActivity
 
                 // Check if list is empty
                 if (observationAdapter.getItemCount() == 0) {
-                    recyclerView.setVisibility(android.view.View.GONE);
-                    llEmptyState.setVisibility(android.view.View.VISIBLE);
+                    showList(false, "No Observations Yet");
                 }
             });
         }).start();
@@ -4,6 +4,7 @@ import android.util.Log;
 import androidx.lifecycle.ViewModel;
 
 import com.example.hikenativeapp.data.local.entity.Observation;
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
 import com.example.hikenativeapp.data.repository.HikeRepository;
 import com.example.hikenativeapp.data.repository.ObservationRepository;
 
@@ -29,6 +30,16 @@ public class ObservationListViewModel extends ViewModel {
         }
     }
 
+    // Full-text search within the hike, empty for input with nothing searchable
+    public List<ObservationSearchResult> searchObservations(int hikeId, String text) {
+        try {
+            return repository.searchObservationsInHike(hikeId, text).get();
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e(TAG, "Error searching observations", e);
+            return null;
+        }
+    }
+
     public void deleteObservation(int observationId) {
         // Use softDeleteObservationAndSync to automatically sync to backend
         new Thread(() -> {
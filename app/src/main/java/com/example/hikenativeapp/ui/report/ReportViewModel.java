@@ -7,9 +7,12 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.hikenativeapp.data.local.model.TimeBucketStats;
 import com.example.hikenativeapp.data.report.ReportStatistics;
 import com.example.hikenativeapp.data.repository.ReportRepository;
 
+import java.util.List;
+
 /**
  * ViewModel cho Report Activity
  */
@@ -42,6 +45,15 @@ public class ReportViewModel extends AndroidViewModel {
         });
     }
 
+    // Chart series, kept up to date by Room while observed
+    public LiveData<List<TimeBucketStats>> getWeeklySeries(int userId, int weeks) {
+        return repository.observeLastWeeks(userId, weeks);
+    }
+
+    public LiveData<List<TimeBucketStats>> getMonthlySeries(int userId, int months) {
+        return repository.observeLastMonths(userId, months);
+    }
+
     public LiveData<ReportStatistics> getStatistics() {
         return statisticsLiveData;
     }
@@ -14,6 +14,7 @@ import com.bumptech.glide.Glide;
 import com.example.hikenativeapp.R;
 import com.example.hikenativeapp.data.local.AppDatabase;
 import com.example.hikenativeapp.data.local.entity.User;
+import com.example.hikenativeapp.data.repository.HikeRepository;
 import com.example.hikenativeapp.ui.auth.LoginActivity;
 import com.google.android.gms.auth.api.signin.GoogleSignIn;
 import com.google.android.gms.auth.api.signin.GoogleSignInClient;
@@ -28,6 +29,7 @@ public class UserSettingsActivity extends AppCompatActivity {
     private ImageView ivAvatar;
     private TextView tvDisplayName;
     private TextView tvEmail;
+    private MaterialButton btnResyncHikes;
     private MaterialButton btnLogout;
 
     private FirebaseAuth mAuth;
@@ -59,6 +61,7 @@ public class UserSettingsActivity extends AppCompatActivity {
         ivAvatar = findViewById(R.id.iv_avatar);
         tvDisplayName = findViewById(R.id.tv_display_name);
         tvEmail = findViewById(R.id.tv_email);
+        btnResyncHikes = findViewById(R.id.btn_resync_hikes);
         btnLogout = findViewById(R.id.btn_logout);
     }
 
@@ -132,10 +135,43 @@ public class UserSettingsActivity extends AppCompatActivity {
     }
 
     private void setupClickListeners() {
+        btnResyncHikes.setOnClickListener(v -> showResyncDialog());
         // Logout Button
         btnLogout.setOnClickListener(v -> showLogoutDialog());
     }
 
+    private void showResyncDialog() {
+        if (currentUser == null) {
+            Toast.makeText(this, "User data not loaded yet", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Re-sync All Hikes")
+                .setMessage("Send every hike to the server again? Use this if the chatbot is missing your hikes.")
+                .setPositiveButton("Re-sync", (dialog, which) -> resyncAllHikes(currentUser.getId()))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void resyncAllHikes(int userId) {
+        btnResyncHikes.setEnabled(false);
+        new Thread(() -> {
+            HikeRepository repository = new HikeRepository(this);
+            try {
+                int queued = repository.resyncAllHikes(userId).get();
+                runOnUiThread(() -> Toast.makeText(this,
+                        queued + " hikes queued for sync", Toast.LENGTH_SHORT).show());
+            } catch (Exception e) {
+                e.printStackTrace();
+                runOnUiThread(() -> Toast.makeText(this,
+                        "Error queueing sync: " + e.getMessage(), Toast.LENGTH_SHORT).show());
+            } finally {
+                repository.shutdown();
+                runOnUiThread(() -> btnResyncHikes.setEnabled(true));
+            }
+        }).start();
+    }
+
     private void showLogoutDialog() {
         new AlertDialog.Builder(this)
                 .setTitle("Logout")
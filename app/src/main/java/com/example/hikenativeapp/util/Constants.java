@@ -19,6 +19,12 @@ public class Constants {
     public static final String PREF_USER_NAME = "user_name";
     public static final String PREF_IS_LOGGED_IN = "is_logged_in";
     public static final String PREF_WEATHER_API_KEY = "weather_api_key";
+    public static final String PREF_PULL_CURSOR = "pull_cursor"; // Suffixed with the user id
+
+    // Sync constants
+    public static final int SYNC_MAX_IN_FLIGHT = 2; // Concurrent upload requests to the sync backend
+    public static final int SYNC_MAX_WAITING_CALLBACKS = 8; // Per hike, the oldest is dropped when full
+    public static final int SYNC_PULL_PAGE_SIZE = 200; // Hikes per pull sync page
 
 
 
@@ -27,6 +33,8 @@ public class Constants {
     public static final String STORMGLASS_API_KEY = BuildConfig.WEATHER_API_KEY;
 
     public static final int MAX_FORECAST_DAYS = 16; // StormGlass forecast limit
+    public static final int WEATHER_PREFETCH_INTERVAL_HOURS = 6; // Background refresh of upcoming hikes
+    public static final int WEATHER_PREFETCH_DAILY_BUDGET = 5; // StormGlass requests per day for the refresh, half the free quota
 
     // Weather conditions
     public static final int WEATHER_SUNNY = 0;
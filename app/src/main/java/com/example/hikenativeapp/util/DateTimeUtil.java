@@ -0,0 +1,73 @@
+package com.example.hikenativeapp.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Shared date/time formatting for the app.
+ * DateTimeFormatter is immutable and thread-safe, so the formatters are built once
+ * instead of creating a SimpleDateFormat on every call.
+ * Text formats match what the date/time pickers produce and what the backend expects.
+ */
+public class DateTimeUtil {
+
+    // Hike date, e.g. 2025-06-30
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    // Observation time, e.g. 2025-06-30 14:05
+    public static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    // Audit timestamps (created_at, last_updated), e.g. 2025-06-30 14:05:59
+    public static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private DateTimeUtil() {
+        throw new AssertionError("Cannot instantiate DateTimeUtil class");
+    }
+
+    public static String formatDate(LocalDate date) {
+        return date != null ? DATE_FORMAT.format(date) : "";
+    }
+
+    public static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? DATE_TIME_FORMAT.format(dateTime) : "";
+    }
+
+    public static String formatTimestamp(Instant instant) {
+        return instant != null ? TIMESTAMP_FORMAT.format(instant) : "";
+    }
+
+    /**
+     * @param text Date in yyyy-MM-dd format
+     * @return Parsed date, or null if the text is empty or invalid
+     */
+    public static LocalDate parseDate(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text.trim(), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param text Date and time in yyyy-MM-dd HH:mm format
+     * @return Parsed date and time, or null if the text is empty or invalid
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text.trim(), DATE_TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hikenativeapp.util;
+
+import java.util.Locale;
+
+/**
+ * Builds MATCH expressions for the FTS4 search tables from raw user input.
+ * Every word becomes a prefix term, so "mou ridg" matches "Mountain Ridge".
+ */
+public class FtsQueryUtil {
+
+    private FtsQueryUtil() {
+        throw new AssertionError("Cannot instantiate FtsQueryUtil class");
+    }
+
+    /**
+     * Convert user input to a prefix MATCH query
+     * @param input Text typed by the user
+     * @return MATCH expression such as "mou* ridg*", or null if nothing searchable remains
+     */
+    public static String toPrefixQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        // Drop FTS operators and punctuation so user input can never break the query syntax
+        String cleaned = input.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (String token : cleaned.split(" +")) {
+            // Reserved words are only operators when upper case, lower-casing above keeps them as terms
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append(token).append('*');
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hikenativeapp.util;
+
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+
+import com.example.hikenativeapp.data.local.model.ObservationSearchResult;
+
+/**
+ * Turns an FTS snippet with match markers into bold-highlighted text,
+ * so the UI never has to search the original strings again.
+ */
+public class SearchHighlightUtil {
+
+    private SearchHighlightUtil() {
+        throw new AssertionError("Cannot instantiate SearchHighlightUtil class");
+    }
+
+    /**
+     * @param snippet Snippet returned by an ObservationDao full-text query
+     * @return Text with the markers removed and matched terms in bold
+     */
+    public static CharSequence toHighlighted(String snippet) {
+        SpannableStringBuilder builder = new SpannableStringBuilder();
+        if (snippet == null) {
+            return builder;
+        }
+
+        int matchStart = -1;
+        for (int i = 0; i < snippet.length(); i++) {
+            char c = snippet.charAt(i);
+            if (c == ObservationSearchResult.MATCH_START) {
+                matchStart = builder.length();
+            } else if (c == ObservationSearchResult.MATCH_END) {
+                if (matchStart >= 0) {
+                    builder.setSpan(new StyleSpan(Typeface.BOLD), matchStart, builder.length(),
+                            Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                    matchStart = -1;
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.hikenativeapp.val;
 
+import com.example.hikenativeapp.util.DateTimeUtil;
+
 /**
  * Utility class for validating observation data
  */
@@ -26,6 +28,9 @@ public class ObservationValidation {
         if (observationTime == null || observationTime.trim().isEmpty()) {
             return "Observation time is required";
         }
+        if (DateTimeUtil.parseDateTime(observationTime) == null) {
+            return "Observation time must be in yyyy-MM-dd HH:mm format";
+        }
         return null;
     }
 
@@ -0,0 +1,131 @@
+package com.example.hikenativeapp.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class HostLimitInterceptorTest {
+
+    private MockWebServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @Before
+    public void startServer() throws IOException {
+        server = new MockWebServer();
+        // /slow is held until the test releases it
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if ("/slow".equals(request.getPath())) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setBody("ok");
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        release.countDown();
+        callers.shutdownNow();
+        server.shutdown();
+    }
+
+    private Future<Integer> execute(OkHttpClient client, HttpUrl url) {
+        return callers.submit(() -> {
+            try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+                response.body().string();
+                return response.code();
+            }
+        });
+    }
+
+    private void awaitRequests(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.getRequestCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, server.getRequestCount());
+    }
+
+    @Test
+    public void synchronousCallsBeyondTheLimitWait() throws Exception {
+        HostLimitInterceptor limit = new HostLimitInterceptor(2);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(limit).build();
+        String host = server.url("/slow").host();
+
+        List<Future<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            calls.add(execute(client, server.url("/slow")));
+        }
+
+        // Saturated: two on the wire, three callers blocked in the interceptor
+        awaitRequests(2);
+        Thread.sleep(100);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, limit.inFlight(host));
+
+        release.countDown();
+        for (Future<Integer> call : calls) {
+            assertEquals(200, (int) call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(5, server.getRequestCount());
+        assertEquals(0, limit.inFlight(host));
+    }
+
+    @Test
+    public void saturatedHostDoesNotHoldUpAnother() throws Exception {
+        HostLimitInterceptor limit = new HostLimitInterceptor(1);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(limit).build();
+        HttpUrl slow = server.url("/slow");
+        // Same server under another name, a different host for the limit
+        String otherHost = "localhost".equals(slow.host()) ? "127.0.0.1" : "localhost";
+        HttpUrl fast = slow.newBuilder().host(otherHost).encodedPath("/fast").build();
+
+        Future<Integer> held = execute(client, slow);
+        awaitRequests(1);
+
+        assertEquals(200, (int) execute(client, fast).get(5, TimeUnit.SECONDS));
+        assertFalse(held.isDone());
+        release.countDown();
+        assertEquals(200, (int) held.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedCallGivesItsPermitBack() throws Exception {
+        HostLimitInterceptor limit = new HostLimitInterceptor(1);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(limit).build();
+        HttpUrl url = server.url("/fast");
+        server.shutdown();
+
+        try {
+            execute(client, url).get(5, TimeUnit.SECONDS);
+            fail("Expected a connection failure");
+        } catch (java.util.concurrent.ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(0, limit.inFlight(url.host()));
+    }
+}
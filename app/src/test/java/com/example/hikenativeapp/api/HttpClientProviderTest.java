@@ -0,0 +1,194 @@
+package com.example.hikenativeapp.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class HttpClientProviderTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        // Connections to earlier servers would be counted too
+        HttpClientProvider.getClient().connectionPool().evictAll();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    // Explicit token, so AuthInterceptor does not ask Firebase for one
+    private Request request(String path) {
+        return new Request.Builder()
+                .url(server.url(path))
+                .header("Authorization", "Bearer test")
+                .build();
+    }
+
+    private static void execute(OkHttpClient client, Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+            response.body().string();
+        }
+    }
+
+    @Test
+    public void sameClientEveryTime() {
+        assertSame(HttpClientProvider.getClient(), HttpClientProvider.getClient());
+    }
+
+    @Test
+    public void clientWithOtherTimeoutsSharesTheStack() {
+        OkHttpClient shared = HttpClientProvider.getClient();
+        OkHttpClient slow = HttpClientProvider.getClient(90);
+
+        assertNotSame(shared, slow);
+        // Same sockets, same call queue and same on-disk cache as every other service
+        assertSame(shared.connectionPool(), slow.connectionPool());
+        assertSame(shared.dispatcher(), slow.dispatcher());
+        assertSame(shared.cache(), slow.cache());
+        assertEquals(shared.interceptors(), slow.interceptors());
+
+        assertEquals(90_000, slow.connectTimeoutMillis());
+        assertEquals(90_000, slow.readTimeoutMillis());
+        assertEquals(90_000, slow.writeTimeoutMillis());
+        assertEquals(30_000, shared.readTimeoutMillis());
+    }
+
+    @Test
+    public void retrofitUsesTheGivenClient() {
+        OkHttpClient client = HttpClientProvider.getClient(10);
+        assertSame(client, HttpClientProvider.createRetrofit("https://example.com/", client).callFactory());
+    }
+
+    @Test
+    public void dispatcherBoundsConcurrentCalls() {
+        // Calls beyond these limits wait in the dispatcher queue instead of opening more sockets
+        assertEquals(16, HttpClientProvider.getClient().dispatcher().getMaxRequests());
+        assertEquals(4, HttpClientProvider.getClient().dispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void synchronousCallsShareThePerHostLimit() throws Exception {
+        HostLimitInterceptor limit = null;
+        for (okhttp3.Interceptor interceptor : HttpClientProvider.getClient().interceptors()) {
+            if (interceptor instanceof HostLimitInterceptor) {
+                limit = (HostLimitInterceptor) interceptor;
+            }
+        }
+        assertNotNull(limit);
+
+        // Every client built from the shared one counts against the same permits
+        server.enqueue(new MockResponse().setBody("ok"));
+        execute(SyncService.createClient(), request("/sync/hike"));
+        assertEquals(0, limit.inFlight(server.getHostName()));
+        assertTrue(SyncService.createClient().interceptors().contains(limit));
+        assertTrue(ChatbotService.createClient().interceptors().contains(limit));
+    }
+
+    @Test
+    public void callsToOneHostReuseOneConnection() throws Exception {
+        OkHttpClient shared = HttpClientProvider.getClient();
+        for (int i = 0; i < 5; i++) {
+            server.enqueue(new MockResponse().setBody("ok"));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            execute(shared, request("/hikes/" + i));
+        }
+
+        // Sequence number is the index of the request on its connection: one socket for all five
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, server.takeRequest().getSequenceNumber());
+        }
+        assertEquals(1, shared.connectionPool().connectionCount());
+    }
+
+    @Test
+    public void syncAndChatbotCallsShareTheConnection() throws Exception {
+        OkHttpClient sync = SyncService.createClient();
+        OkHttpClient chatbot = ChatbotService.createClient();
+        assertSame(HttpClientProvider.getClient().connectionPool(), sync.connectionPool());
+        assertSame(HttpClientProvider.getClient().connectionPool(), chatbot.connectionPool());
+        assertSame(HttpClientProvider.getClient().dispatcher(), sync.dispatcher());
+        assertSame(HttpClientProvider.getClient().dispatcher(), chatbot.dispatcher());
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("ok"));
+        }
+
+        execute(sync, request("/sync/hikes"));
+        execute(chatbot, request("/chat"));
+        execute(sync, request("/sync/hikes"));
+
+        // The chatbot call went out on the socket the sync call opened
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+        assertEquals(2, server.takeRequest().getSequenceNumber());
+        assertEquals(1, HttpClientProvider.getClient().connectionPool().connectionCount());
+    }
+
+    @Test
+    public void syncAndChatbotQueueInTheSharedDispatcher() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(10, TimeUnit.SECONDS);
+                return new MockResponse().setBody("ok");
+            }
+        });
+        OkHttpClient sync = SyncService.createClient();
+        OkHttpClient chatbot = ChatbotService.createClient();
+        okhttp3.Dispatcher shared = HttpClientProvider.getClient().dispatcher();
+
+        CountDownLatch done = new CountDownLatch(6);
+        Callback callback = new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                done.countDown();
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            sync.newCall(request("/sync/hikes")).enqueue(callback);
+            chatbot.newCall(request("/chat")).enqueue(callback);
+        }
+
+        // Both services count against one per-host limit: four on the wire, the rest wait
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.getRequestCount() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, shared.runningCallsCount());
+        assertEquals(2, shared.queuedCallsCount());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(6, server.getRequestCount());
+    }
+}
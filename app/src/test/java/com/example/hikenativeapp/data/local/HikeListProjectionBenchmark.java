@@ -0,0 +1,194 @@
+package com.example.hikenativeapp.data.local;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.model.HikeListItem;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Timing and allocation harness for loading the hike list: full Hike rows, also with the two
+ * formatted timestamps the old no-arg constructor made per row, against the HikeListItem projection.
+ * Rows are read the way Room's generated code reads them, column indices once, then
+ * converters and setters per row. Allocation is of the JDBC driver, not of an Android CursorWindow.
+ * Not part of the normal test run, build.gradle.kts excludes *Benchmark unless -Pbenchmark is set:
+ *   ./gradlew :app:testDebugUnitTest -Pbenchmark --tests "*HikeListProjectionBenchmark"
+ * Median time and allocated bytes per load go to build/reports/benchmarks/hike-list-projection.txt,
+ * a host run is kept in app/benchmarks/hike-list-projection.txt.
+ */
+public class HikeListProjectionBenchmark {
+
+    private static final int[] HIKE_COUNTS = {1_000, 10_000};
+    private static final int OBSERVATIONS_PER_HIKE = 3;
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 31;
+
+    // SQL of HikeDao.getHikesByUserId, what the list screen loaded before the projection
+    private static final String FULL_ROWS = "SELECT * FROM hikes WHERE user_id = ? AND is_deleted = 0 " +
+            "ORDER BY hike_date DESC";
+    // SQL of HikeDao.getHikeListItemsByUserId
+    private static final String LIST_ITEMS = "SELECT " + HikeDao.LIST_ITEM_COLUMNS + " FROM hikes " +
+            "WHERE user_id = ? AND is_deleted = 0 ORDER BY hike_date DESC";
+
+    // Keeps the old timestamps from being optimized away
+    private static long timestampChars;
+
+    @Test
+    public void fullRowsVersusListItems() throws SQLException, IOException {
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "Hike list load, median of %d runs", MEASURED_RUNS));
+        report.add(String.format(Locale.ROOT, "%7s  %-26s %9s %14s", "hikes", "read into", "ms", "KiB allocated"));
+
+        for (int hikes : HIKE_COUNTS) {
+            try (HostHikeDatabase database = HostHikeDatabase.create(hikes, OBSERVATIONS_PER_HIKE);
+                 PreparedStatement fullRows = database.connection.prepareStatement(FULL_ROWS);
+                 PreparedStatement listItems = database.connection.prepareStatement(LIST_ITEMS)) {
+                fullRows.setInt(1, HostHikeDatabase.USER_ID);
+                listItems.setInt(1, HostHikeDatabase.USER_ID);
+
+                // Same hikes in the same order whichever way they are read
+                List<Hike> full = readHikes(fullRows, false);
+                List<HikeListItem> items = readListItems(listItems);
+                assertFalse(full.isEmpty());
+                assertEquals(full.size(), items.size());
+                for (int i = 0; i < full.size(); i++) {
+                    assertEquals(full.get(i).getId(), items.get(i).getId());
+                    assertEquals(full.get(i).getHikeDate(), items.get(i).getHikeDate());
+                    assertEquals(full.get(i).getName(), items.get(i).getName());
+                }
+
+                report.add(row(hikes, "Hike, old constructor", () -> readHikes(fullRows, true)));
+                report.add(row(hikes, "Hike", () -> readHikes(fullRows, false)));
+                report.add(row(hikes, "HikeListItem", () -> readListItems(listItems)));
+            }
+        }
+        HostHikeDatabase.report("hike-list-projection.txt", report);
+    }
+
+    private static String row(int hikes, String readInto, HostHikeDatabase.SqlTask load) throws SQLException {
+        long allocatedBefore = allocatedBytes();
+        long nanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS, load);
+        long allocated = allocatedBytes() - allocatedBefore;
+        String kib = allocatedBefore >= 0
+                ? String.valueOf(allocated / (WARMUP_RUNS + MEASURED_RUNS) / 1024) : "not tracked";
+        return String.format(Locale.ROOT, "%7d  %-26s %9.2f %14s", hikes, readInto, nanos / 1e6, kib);
+    }
+
+    private static List<Hike> readHikes(PreparedStatement query, boolean oldConstructor) throws SQLException {
+        List<Hike> hikes = new ArrayList<>();
+        try (ResultSet rows = query.executeQuery()) {
+            int id = rows.findColumn("id");
+            int userId = rows.findColumn("user_id");
+            int uuid = rows.findColumn("uuid");
+            int name = rows.findColumn("name");
+            int location = rows.findColumn("location");
+            int latitude = rows.findColumn("latitude");
+            int longitude = rows.findColumn("longitude");
+            int hikeDate = rows.findColumn("hike_date");
+            int parkingAvailable = rows.findColumn("parking_available");
+            int length = rows.findColumn("length");
+            int difficulty = rows.findColumn("difficulty");
+            int description = rows.findColumn("description");
+            int weatherCondition = rows.findColumn("weather_condition");
+            int temperature = rows.findColumn("temperature");
+            int estimatedDuration = rows.findColumn("estimated_duration");
+            int createdAt = rows.findColumn("created_at");
+            int lastUpdated = rows.findColumn("last_updated");
+            int isDeleted = rows.findColumn("is_deleted");
+            while (rows.next()) {
+                Hike hike = new Hike();
+                if (oldConstructor) {
+                    timestampChars += oldTimestamp().length() + oldTimestamp().length();
+                }
+                hike.setId(rows.getInt(id));
+                hike.setUserId(rows.getInt(userId));
+                hike.setUuid(rows.getString(uuid));
+                hike.setName(rows.getString(name));
+                hike.setLocation(rows.getString(location));
+                hike.setLatitude(rows.getDouble(latitude));
+                hike.setLongitude(rows.getDouble(longitude));
+                hike.setHikeDate(Converters.toLocalDate(nullableLong(rows, hikeDate)));
+                hike.setParkingAvailable(rows.getInt(parkingAvailable) != 0);
+                hike.setLength(rows.getDouble(length));
+                hike.setDifficulty(rows.getString(difficulty));
+                hike.setDescription(rows.getString(description));
+                hike.setWeatherCondition(rows.getString(weatherCondition));
+                hike.setTemperature(rows.getDouble(temperature));
+                hike.setEstimatedDuration(rows.getDouble(estimatedDuration));
+                hike.setCreatedAt(Converters.toInstant(nullableLong(rows, createdAt)));
+                hike.setLastUpdated(Converters.toInstant(nullableLong(rows, lastUpdated)));
+                hike.setDeleted(rows.getInt(isDeleted) != 0);
+                hikes.add(hike);
+            }
+        }
+        return hikes;
+    }
+
+    private static List<HikeListItem> readListItems(PreparedStatement query) throws SQLException {
+        List<HikeListItem> items = new ArrayList<>();
+        try (ResultSet rows = query.executeQuery()) {
+            int id = rows.findColumn("id");
+            int name = rows.findColumn("name");
+            int location = rows.findColumn("location");
+            int latitude = rows.findColumn("latitude");
+            int longitude = rows.findColumn("longitude");
+            int hikeDate = rows.findColumn("hike_date");
+            int parkingAvailable = rows.findColumn("parking_available");
+            int length = rows.findColumn("length");
+            int difficulty = rows.findColumn("difficulty");
+            int lastUpdated = rows.findColumn("last_updated");
+            int observationCount = rows.findColumn("observation_count");
+            while (rows.next()) {
+                HikeListItem item = new HikeListItem();
+                item.setId(rows.getInt(id));
+                item.setName(rows.getString(name));
+                item.setLocation(rows.getString(location));
+                item.setLatitude(rows.getDouble(latitude));
+                item.setLongitude(rows.getDouble(longitude));
+                item.setHikeDate(Converters.toLocalDate(nullableLong(rows, hikeDate)));
+                item.setParkingAvailable(rows.getInt(parkingAvailable) != 0);
+                item.setLength(rows.getDouble(length));
+                item.setDifficulty(rows.getString(difficulty));
+                item.setLastUpdated(Converters.toInstant(nullableLong(rows, lastUpdated)));
+                item.setObservationCount(rows.getInt(observationCount));
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static Long nullableLong(ResultSet rows, int column) throws SQLException {
+        long value = rows.getLong(column);
+        return rows.wasNull() ? null : value;
+    }
+
+    // What Hike() did for created_at and last_updated before the projection change
+    private static String oldTimestamp() {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
+        return sdf.format(new Date());
+    }
+
+    // Bytes allocated by this thread, -1 if the JVM does not track it
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
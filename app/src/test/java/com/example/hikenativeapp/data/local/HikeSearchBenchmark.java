@@ -0,0 +1,135 @@
+package com.example.hikenativeapp.data.local;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+import com.example.hikenativeapp.util.FtsQueryUtil;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Timing harness for the hike search box: the LIKE query it used against the hikes_fts prefix
+ * MATCH, one query per keystroke of "langbian", at 1k, 10k and 50k hikes.
+ * Not part of the normal test run, build.gradle.kts excludes *Benchmark unless -Pbenchmark is set:
+ *   ./gradlew :app:testDebugUnitTest -Pbenchmark --tests "*HikeSearchBenchmark"
+ * Median time per keystroke goes to build/reports/benchmarks/hike-search.txt, a host run is kept
+ * in app/benchmarks/hike-search.txt.
+ */
+public class HikeSearchBenchmark {
+
+    private static final int[] HIKE_COUNTS = {1_000, 10_000, 50_000};
+    private static final String TYPED = "langbian";
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 21;
+
+    // SQL of HikeDao.searchHikesByName, the search box before hikes_fts
+    private static final String LIKE_NAME = "SELECT " + HikeDao.LIST_ITEM_COLUMNS + " FROM hikes " +
+            "WHERE user_id = ? AND is_deleted = 0 AND name LIKE '%' || ? || '%' ORDER BY hike_date DESC";
+    // LIKE over the same three columns hikes_fts indexes, for a like-for-like comparison
+    private static final String LIKE_ALL_COLUMNS = "SELECT " + HikeDao.LIST_ITEM_COLUMNS + " FROM hikes " +
+            "WHERE user_id = ? AND is_deleted = 0 AND (name LIKE '%' || ? || '%' " +
+            "OR location LIKE '%' || ? || '%' OR description LIKE '%' || ? || '%') ORDER BY hike_date DESC";
+    // SQL of HikeDao.searchHikesFts
+    private static final String FTS = "SELECT " + HikeDao.LIST_ITEM_COLUMNS + " FROM hikes " +
+            "JOIN hikes_fts ON hikes.id = hikes_fts.rowid " +
+            "WHERE hikes_fts MATCH ? AND hikes.user_id = ? AND hikes.is_deleted = 0 " +
+            "ORDER BY length(offsets(hikes_fts)) DESC, hikes.hike_date DESC";
+
+    @Test
+    public void likeVersusFtsPerKeystroke() throws SQLException, IOException {
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "Search per keystroke of \"%s\", median of %d runs, ms",
+                TYPED, MEASURED_RUNS));
+        report.add(String.format(Locale.ROOT, "%7s  %-10s %9s %9s %10s %8s %8s", "hikes", "typed",
+                "LIKE rows", "LIKE name", "LIKE 3 col", "FTS rows", "FTS"));
+
+        for (int hikes : HIKE_COUNTS) {
+            try (HostHikeDatabase database = HostHikeDatabase.create(hikes, 0);
+                 PreparedStatement likeName = database.connection.prepareStatement(LIKE_NAME);
+                 PreparedStatement likeAll = database.connection.prepareStatement(LIKE_ALL_COLUMNS);
+                 PreparedStatement fts = database.connection.prepareStatement(FTS)) {
+                for (int typed = 1; typed <= TYPED.length(); typed++) {
+                    String input = TYPED.substring(0, typed);
+                    String match = FtsQueryUtil.toPrefixQuery(input);
+                    likeName.setInt(1, HostHikeDatabase.USER_ID);
+                    likeName.setString(2, input);
+                    likeAll.setInt(1, HostHikeDatabase.USER_ID);
+                    for (int i = 2; i <= 4; i++) {
+                        likeAll.setString(i, input);
+                    }
+                    fts.setString(1, match);
+                    fts.setInt(2, HostHikeDatabase.USER_ID);
+
+                    // FTS must return exactly the hikes with a word starting with every typed term
+                    Set<Integer> ftsIds = ids(fts);
+                    assertEquals(input, prefixMatches(database, match), ftsIds);
+                    assertTrue(input, ids(likeAll).containsAll(ftsIds));
+
+                    int likeRows = ids(likeName).size();
+                    long likeNameNanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS, () -> ids(likeName));
+                    long likeAllNanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS, () -> ids(likeAll));
+                    long ftsNanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS, () -> ids(fts));
+                    report.add(String.format(Locale.ROOT, "%7d  %-10s %9d %9.2f %10.2f %8d %8.2f", hikes,
+                            "\"" + input + "\"", likeRows, likeNameNanos / 1e6, likeAllNanos / 1e6,
+                            ftsIds.size(), ftsNanos / 1e6));
+                }
+            }
+        }
+        HostHikeDatabase.report("hike-search.txt", report);
+    }
+
+    // Reads every row like Room does, returns the hike ids
+    private static Set<Integer> ids(PreparedStatement query) throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (ResultSet rows = query.executeQuery()) {
+            int columns = rows.getMetaData().getColumnCount();
+            while (rows.next()) {
+                for (int i = 2; i <= columns; i++) {
+                    rows.getObject(i);
+                }
+                ids.add(rows.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    // Live hikes where each prefix term starts a word of name, location or description
+    private static Set<Integer> prefixMatches(HostHikeDatabase database, String match) throws SQLException {
+        String[] terms = match.replace("*", "").split(" ");
+        Set<Integer> ids = new HashSet<>();
+        try (PreparedStatement all = database.connection.prepareStatement("SELECT id, name || ' ' || location " +
+                "|| ' ' || description FROM hikes WHERE user_id = ? AND is_deleted = 0")) {
+            all.setInt(1, HostHikeDatabase.USER_ID);
+            try (ResultSet rows = all.executeQuery()) {
+                while (rows.next()) {
+                    String[] words = rows.getString(2).toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+                    boolean matches = true;
+                    for (String term : terms) {
+                        boolean found = false;
+                        for (String word : words) {
+                            if (word.startsWith(term)) {
+                                found = true;
+                                break;
+                            }
+                        }
+                        matches &= found;
+                    }
+                    if (matches) {
+                        ids.add(rows.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
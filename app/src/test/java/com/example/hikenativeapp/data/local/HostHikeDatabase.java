@@ -0,0 +1,203 @@
+package com.example.hikenativeapp.data.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * In-memory SQLite on the host (sqlite-jdbc) with the hikes, observations and hikes_fts tables
+ * as the Room entities declare them: same columns, indices and external-content FTS4 table,
+ * values stored the way Converters stores them. Only for the *Benchmark harnesses, which time
+ * queries on the JVM: the app runs on the schema Room generates, and a device is slower.
+ */
+public final class HostHikeDatabase implements AutoCloseable {
+
+    public static final int USER_ID = 1;
+
+    // Place names are built from syllables, so a typed prefix narrows like it does on real data
+    private static final String[] SYLLABLES = {"ba", "vi", "ta", "xua", "pu", "luong", "lang", "bi", "an",
+            "tam", "dao", "fan", "si", "pan", "moc", "son", "hoa", "ke", "mu", "cang", "chai", "sa"};
+    private static final String[] WORDS = {"trail", "summit", "ridge", "forest", "river", "waterfall",
+            "camp", "sunrise", "bamboo", "rocky", "steep", "meadow", "village", "lake", "pass"};
+
+    public final Connection connection;
+
+    private HostHikeDatabase(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Database with hikes of one user, a few of them soft-deleted, and observations on each
+     */
+    public static HostHikeDatabase create(int hikes, int observationsPerHike) throws SQLException {
+        HostHikeDatabase database = new HostHikeDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"));
+        database.createTables();
+        database.insert(hikes, observationsPerHike);
+        return database;
+    }
+
+    private void createTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE hikes (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "user_id INTEGER NOT NULL, uuid TEXT, name TEXT, location TEXT, latitude REAL NOT NULL, " +
+                    "longitude REAL NOT NULL, hike_date INTEGER, parking_available INTEGER NOT NULL, " +
+                    "length REAL NOT NULL, difficulty TEXT, description TEXT, weather_condition TEXT, " +
+                    "temperature REAL NOT NULL, estimated_duration REAL NOT NULL, created_at INTEGER, " +
+                    "last_updated INTEGER, is_deleted INTEGER NOT NULL)");
+            statement.execute("CREATE INDEX index_hikes_user_id_is_deleted_hike_date " +
+                    "ON hikes (user_id, is_deleted, hike_date)");
+            statement.execute("CREATE UNIQUE INDEX index_hikes_uuid ON hikes (uuid)");
+
+            statement.execute("CREATE TABLE observations (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "hike_id INTEGER NOT NULL, uuid TEXT, observation_text TEXT, observation_time INTEGER, " +
+                    "comments TEXT, photo_path TEXT, photo_remote_key TEXT, created_at INTEGER, " +
+                    "last_updated INTEGER, is_deleted INTEGER NOT NULL)");
+            statement.execute("CREATE INDEX index_observations_hike_id_is_deleted_observation_time " +
+                    "ON observations (hike_id, is_deleted, observation_time)");
+            statement.execute("CREATE UNIQUE INDEX index_observations_uuid ON observations (uuid)");
+
+            statement.execute("CREATE VIRTUAL TABLE hikes_fts USING FTS4(name TEXT, location TEXT, " +
+                    "description TEXT, content=`hikes`)");
+        }
+    }
+
+    private void insert(int hikes, int observationsPerHike) throws SQLException {
+        Random random = new Random(42);
+        long now = Instant.now().toEpochMilli();
+        LocalDate firstDate = LocalDate.of(2015, 1, 1);
+        connection.setAutoCommit(false);
+        try (PreparedStatement hike = connection.prepareStatement("INSERT INTO hikes (user_id, uuid, name, " +
+                "location, latitude, longitude, hike_date, parking_available, length, difficulty, description, " +
+                "weather_condition, temperature, estimated_duration, created_at, last_updated, is_deleted) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement observation = connection.prepareStatement("INSERT INTO observations (hike_id, " +
+                     "uuid, observation_text, observation_time, comments, photo_path, photo_remote_key, " +
+                     "created_at, last_updated, is_deleted) VALUES (?, ?, ?, ?, ?, NULL, NULL, ?, ?, ?)")) {
+            for (int i = 1; i <= hikes; i++) {
+                hike.setInt(1, USER_ID);
+                hike.setString(2, UUID.randomUUID().toString());
+                hike.setString(3, place(random) + " " + place(random) + " " + WORDS[random.nextInt(WORDS.length)]);
+                hike.setString(4, place(random) + " province");
+                hike.setDouble(5, 20 + random.nextDouble() * 3);
+                hike.setDouble(6, 103 + random.nextDouble() * 3);
+                LocalDate date = firstDate.plusDays(random.nextInt(3650));
+                hike.setLong(7, date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+                hike.setInt(8, random.nextBoolean() ? 1 : 0);
+                hike.setDouble(9, 2 + random.nextDouble() * 20);
+                hike.setString(10, random.nextBoolean() ? "Hard" : "Easy");
+                hike.setString(11, sentence(random, 40));
+                hike.setString(12, "Sunny");
+                hike.setDouble(13, 10 + random.nextInt(20));
+                hike.setDouble(14, 1 + random.nextInt(8));
+                hike.setLong(15, now);
+                hike.setLong(16, now);
+                hike.setInt(17, i % 50 == 0 ? 1 : 0);
+                hike.executeUpdate();
+
+                for (int j = 0; j < observationsPerHike; j++) {
+                    observation.setInt(1, i);
+                    observation.setString(2, UUID.randomUUID().toString());
+                    observation.setString(3, sentence(random, 12));
+                    observation.setLong(4, now + j * 60_000L);
+                    observation.setString(5, sentence(random, 6));
+                    observation.setLong(6, now);
+                    observation.setLong(7, now);
+                    observation.setInt(8, j == observationsPerHike - 1 && i % 10 == 0 ? 1 : 0);
+                    observation.addBatch();
+                }
+                if (observationsPerHike > 0) {
+                    observation.executeBatch();
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                // What Room's content triggers would have written row by row
+                statement.execute("INSERT INTO hikes_fts(hikes_fts) VALUES('rebuild')");
+                statement.execute("ANALYZE");
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static String place(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    // ==================== MEASURING ====================
+
+    /**
+     * Median wall time of the task in nanoseconds, after the warmup runs
+     */
+    public static long medianNanos(int warmup, int runs, SqlTask task) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2];
+    }
+
+    /**
+     * Write the lines to build/reports/benchmarks/<fileName> (or -Dbenchmark.reportDir)
+     */
+    public static void report(String fileName, List<String> lines) throws IOException {
+        File reportDir = new File(System.getProperty("benchmark.reportDir", "build/reports/benchmarks"));
+        if (!reportDir.isDirectory() && !reportDir.mkdirs()) {
+            throw new IOException("Cannot create " + reportDir);
+        }
+        try (Writer report = Files.newBufferedWriter(new File(reportDir, fileName).toPath(),
+                StandardCharsets.UTF_8)) {
+            report.write("Host JVM " + System.getProperty("java.version") + ", sqlite-jdbc, not a device\n");
+            for (String line : lines) {
+                report.write(line);
+                report.write('\n');
+            }
+        }
+    }
+
+    public interface SqlTask {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.hikenativeapp.data.local;
+
+import com.example.hikenativeapp.data.local.dao.HikeDao;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Timing harness for the observation counts on the hike list: one count query per row against
+ * the correlated subquery in HikeDao.LIST_ITEM_COLUMNS, and the LEFT JOIN ... GROUP BY it was
+ * chosen over, for the whole list and for the first page of the paged list.
+ * Not part of the normal test run, build.gradle.kts excludes *Benchmark unless -Pbenchmark is set:
+ *   ./gradlew :app:testDebugUnitTest -Pbenchmark --tests "*ObservationCountBenchmark"
+ * Median time per load goes to build/reports/benchmarks/observation-count.txt, a host run is kept
+ * in app/benchmarks/observation-count.txt.
+ */
+public class ObservationCountBenchmark {
+
+    private static final int[] HIKE_COUNTS = {1_000, 10_000};
+    private static final int OBSERVATIONS_PER_HIKE = 5;
+    // HikeListViewModel.PAGE_SIZE
+    private static final int PAGE_SIZE = 30;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 21;
+
+    // LIST_ITEM_COLUMNS before observation_count
+    private static final String COLUMNS_WITHOUT_COUNT = "hikes.id, hikes.name, hikes.location, hikes.latitude, " +
+            "hikes.longitude, hikes.hike_date, hikes.parking_available, hikes.length, hikes.difficulty, " +
+            "hikes.last_updated";
+    private static final String WHERE = " FROM hikes WHERE user_id = ? AND is_deleted = 0 ";
+    private static final String ORDER = "ORDER BY hike_date DESC, id DESC";
+
+    // SQL of ObservationDao.getObservationCountByHikeId, run once per row
+    private static final String COUNT_ONE = "SELECT COUNT(*) FROM observations WHERE hike_id = ? AND is_deleted = 0";
+    private static final String LIST_WITHOUT_COUNT = "SELECT " + COLUMNS_WITHOUT_COUNT + WHERE + ORDER;
+    private static final String LIST_SUBQUERY = "SELECT " + HikeDao.LIST_ITEM_COLUMNS + WHERE + ORDER;
+    private static final String LIST_JOIN = "SELECT " + COLUMNS_WITHOUT_COUNT + ", COUNT(observations.id) " +
+            "AS observation_count FROM hikes LEFT JOIN observations ON observations.hike_id = hikes.id " +
+            "AND observations.is_deleted = 0 WHERE hikes.user_id = ? AND hikes.is_deleted = 0 " +
+            "GROUP BY hikes.id ORDER BY hikes.hike_date DESC, hikes.id DESC";
+
+    @Test
+    public void perRowCountsVersusOneQuery() throws SQLException, IOException {
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "Hike list with observation counts, %d observations per hike, "
+                + "median of %d runs, ms", OBSERVATIONS_PER_HIKE, MEASURED_RUNS));
+        report.add(String.format(Locale.ROOT, "%7s  %-10s %14s %10s %10s", "hikes", "rows", "per-row count",
+                "subquery", "join"));
+
+        for (int hikes : HIKE_COUNTS) {
+            try (HostHikeDatabase database = HostHikeDatabase.create(hikes, OBSERVATIONS_PER_HIKE)) {
+                for (int limit : new int[]{PAGE_SIZE, Integer.MAX_VALUE}) {
+                    String paged = limit == Integer.MAX_VALUE ? "" : " LIMIT " + limit;
+                    try (PreparedStatement withoutCount = database.connection.prepareStatement(LIST_WITHOUT_COUNT + paged);
+                         PreparedStatement countOne = database.connection.prepareStatement(COUNT_ONE);
+                         PreparedStatement subquery = database.connection.prepareStatement(LIST_SUBQUERY + paged);
+                         PreparedStatement join = database.connection.prepareStatement(LIST_JOIN + paged)) {
+                        withoutCount.setInt(1, HostHikeDatabase.USER_ID);
+                        subquery.setInt(1, HostHikeDatabase.USER_ID);
+                        join.setInt(1, HostHikeDatabase.USER_ID);
+
+                        // Same hikes, order and counts whichever way they are loaded
+                        Map<Integer, Integer> perRow = perRowCounts(withoutCount, countOne);
+                        assertFalse(perRow.isEmpty());
+                        assertEquals(new ArrayList<>(perRow.entrySet()),
+                                new ArrayList<>(counts(subquery).entrySet()));
+                        assertEquals(new ArrayList<>(perRow.entrySet()),
+                                new ArrayList<>(counts(join).entrySet()));
+
+                        long perRowNanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS,
+                                () -> perRowCounts(withoutCount, countOne));
+                        long subqueryNanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS,
+                                () -> counts(subquery));
+                        long joinNanos = HostHikeDatabase.medianNanos(WARMUP_RUNS, MEASURED_RUNS,
+                                () -> counts(join));
+                        report.add(String.format(Locale.ROOT, "%7d  %-10s %14.2f %10.2f %10.2f", hikes,
+                                paged.isEmpty() ? "all" : "page " + limit, perRowNanos / 1e6,
+                                subqueryNanos / 1e6, joinNanos / 1e6));
+                    }
+                }
+            }
+        }
+        HostHikeDatabase.report("observation-count.txt", report);
+    }
+
+    // The list rows, then ObservationDao.getObservationCountByHikeId for each
+    private static Map<Integer, Integer> perRowCounts(PreparedStatement list, PreparedStatement countOne)
+            throws SQLException {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        for (int hikeId : readIds(list)) {
+            countOne.setInt(1, hikeId);
+            try (ResultSet count = countOne.executeQuery()) {
+                count.next();
+                counts.put(hikeId, count.getInt(1));
+            }
+        }
+        return counts;
+    }
+
+    private static List<Integer> readIds(PreparedStatement list) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rows = list.executeQuery()) {
+            int columns = rows.getMetaData().getColumnCount();
+            while (rows.next()) {
+                for (int i = 2; i <= columns; i++) {
+                    rows.getObject(i);
+                }
+                ids.add(rows.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    // Hike id to observation_count, in list order
+    private static Map<Integer, Integer> counts(PreparedStatement list) throws SQLException {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        try (ResultSet rows = list.executeQuery()) {
+            int columns = rows.getMetaData().getColumnCount();
+            int observationCount = rows.findColumn("observation_count");
+            while (rows.next()) {
+                for (int i = 2; i <= columns; i++) {
+                    rows.getObject(i);
+                }
+                counts.put(rows.getInt(1), rows.getInt(observationCount));
+            }
+        }
+        return counts;
+    }
+}
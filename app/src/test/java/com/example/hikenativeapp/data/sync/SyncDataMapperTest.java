@@ -0,0 +1,126 @@
+package com.example.hikenativeapp.data.sync;
+
+import com.example.hikenativeapp.data.local.entity.Hike;
+import com.example.hikenativeapp.data.local.entity.Observation;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SyncDataMapperTest {
+
+    private static Hike hike() {
+        Hike hike = new Hike(1, "Fansipan", "Sa Pa", LocalDate.of(2025, 4, 2), true, 12.5, "Hard",
+                "Summit of Indochina", "Sunny", 18, 6);
+        hike.setId(7);
+        hike.setUuid("hike-7");
+        return hike;
+    }
+
+    private static Observation observation(int id, String text) {
+        Observation observation = new Observation(7, text, LocalDateTime.of(2025, 4, 2, 9, 30), "Near the top");
+        observation.setId(id);
+        observation.setUuid("obs-" + id);
+        return observation;
+    }
+
+    private static List<Observation> observations() {
+        return Arrays.asList(observation(1, "Clouds"), observation(2, "Rhododendron"));
+    }
+
+    @Test
+    public void equalContentGivesEqualHash() {
+        String hash = SyncDataMapper.contentHash(hike(), observations());
+        assertEquals(hash, SyncDataMapper.contentHash(hike(), observations()));
+        // SHA-256 as lower-case hex
+        assertTrue(hash.matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    public void observationOrderDoesNotMatter() {
+        List<Observation> reversed = Arrays.asList(observation(2, "Rhododendron"), observation(1, "Clouds"));
+        assertEquals(SyncDataMapper.contentHash(hike(), observations()),
+                SyncDataMapper.contentHash(hike(), reversed));
+    }
+
+    @Test
+    public void timestampsAreNotContent() {
+        Hike touched = hike();
+        touched.setLastUpdated(Instant.now().plusSeconds(60));
+        Observation observation = observation(1, "Clouds");
+        observation.setLastUpdated(Instant.now().plusSeconds(60));
+
+        // Saving without changes must not trigger an upload
+        assertEquals(SyncDataMapper.contentHash(hike(), Collections.singletonList(observation(1, "Clouds"))),
+                SyncDataMapper.contentHash(touched, Collections.singletonList(observation)));
+    }
+
+    @Test
+    public void anyUploadedFieldChangesTheHash() {
+        String hash = SyncDataMapper.contentHash(hike(), observations());
+
+        Hike renamed = hike();
+        renamed.setName("Fansipan Peak");
+        assertNotEquals(hash, SyncDataMapper.contentHash(renamed, observations()));
+
+        Hike longer = hike();
+        longer.setLength(12.6);
+        assertNotEquals(hash, SyncDataMapper.contentHash(longer, observations()));
+
+        Observation edited = observation(2, "Rhododendron");
+        edited.setComments("At the second camp");
+        assertNotEquals(hash, SyncDataMapper.contentHash(hike(), Arrays.asList(observation(1, "Clouds"), edited)));
+
+        Observation withPhoto = observation(2, "Rhododendron");
+        withPhoto.setPhotoPath("/data/photo.jpg");
+        assertNotEquals(hash, SyncDataMapper.contentHash(hike(), Arrays.asList(observation(1, "Clouds"), withPhoto)));
+    }
+
+    @Test
+    public void addedOrRemovedObservationChangesTheHash() {
+        String hash = SyncDataMapper.contentHash(hike(), observations());
+        assertNotEquals(hash, SyncDataMapper.contentHash(hike(), Collections.singletonList(observation(1, "Clouds"))));
+        assertNotEquals(hash, SyncDataMapper.contentHash(hike(), Collections.emptyList()));
+    }
+
+    private static JsonObject json(HikeSyncRequest request) {
+        return new JsonParser().parse(new Gson().toJson(request)).getAsJsonObject();
+    }
+
+    @Test
+    public void fullRequestHasNoDeltaFlag() {
+        HikeSyncRequest request = SyncDataMapper.createSyncRequest(hike(), observations(), false,
+                Collections.<String, String>emptyMap());
+        assertFalse(request.isDelta());
+        // Left out, not false: a backend without delta support sees the payload it always did
+        assertFalse(json(request).has("delta"));
+        assertEquals(2, json(request).getAsJsonArray("observations").size());
+    }
+
+    @Test
+    public void deltaRequestSplitsChangesAndTombstones() {
+        Observation deleted = observation(2, "Rhododendron");
+        deleted.setDeleted(true);
+        Map<String, String> noPhotos = Collections.emptyMap();
+        HikeSyncRequest request = SyncDataMapper.createDeltaSyncRequest(hike(),
+                Arrays.asList(observation(1, "Clouds"), deleted), noPhotos);
+
+        assertTrue(request.isDelta());
+        JsonObject json = json(request);
+        assertTrue(json.get("delta").getAsBoolean());
+        assertEquals(1, json.getAsJsonArray("observations").size());
+        assertEquals("obs-2", json.getAsJsonArray("deleted_observation_uuids").get(0).getAsString());
+        assertEquals(2, json.getAsJsonArray("deleted_observation_ids").get(0).getAsInt());
+    }
+}
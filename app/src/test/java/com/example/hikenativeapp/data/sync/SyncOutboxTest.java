@@ -0,0 +1,266 @@
+package com.example.hikenativeapp.data.sync;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SyncOutboxTest {
+
+    private static final long SECOND = 1000;
+    private static final long HOUR = 3600 * SECOND;
+
+    private static void assertDelayBetween(int attempt, long min, long max) {
+        for (int i = 0; i < 200; i++) {
+            long delay = SyncOutbox.backoffDelay(attempt);
+            assertTrue("attempt " + attempt + ": " + delay, delay >= min && delay <= max);
+        }
+    }
+
+    @Test
+    public void backoffDoublesPerAttempt() {
+        // 50-100% of 30s, 1m, 2m, ...
+        assertDelayBetween(1, 15 * SECOND, 30 * SECOND);
+        assertDelayBetween(2, 30 * SECOND, 60 * SECOND);
+        assertDelayBetween(3, 60 * SECOND, 120 * SECOND);
+        assertDelayBetween(5, 240 * SECOND, 480 * SECOND);
+    }
+
+    @Test
+    public void backoffIsCappedAtAnHour() {
+        assertDelayBetween(8, HOUR / 2, HOUR);
+        // The shift is bounded too, a long failing entry must not overflow into a negative delay
+        assertDelayBetween(64, HOUR / 2, HOUR);
+        assertDelayBetween(Integer.MAX_VALUE, HOUR / 2, HOUR);
+    }
+
+    @Test
+    public void backoffIsJittered() {
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            delays.add(SyncOutbox.backoffDelay(3));
+        }
+        // Devices reconnecting together do not all retry at the same moment
+        assertTrue(delays.size() > 1);
+    }
+
+    // Batches as lists of observation counts, one item per hike
+    private static List<List<Integer>> split(List<Integer> observationCounts) {
+        return SyncOutbox.splitIntoBatches(observationCounts, Integer::intValue);
+    }
+
+    @Test
+    public void batchesHoldAtMostMaxHikes() {
+        List<Integer> hikes = Collections.nCopies(SyncOutbox.MAX_BATCH_HIKES * 2 + 3, 1);
+
+        List<List<Integer>> batches = split(hikes);
+        assertEquals(3, batches.size());
+        assertEquals(SyncOutbox.MAX_BATCH_HIKES, batches.get(0).size());
+        assertEquals(SyncOutbox.MAX_BATCH_HIKES, batches.get(1).size());
+        assertEquals(3, batches.get(2).size());
+    }
+
+    @Test
+    public void batchesHoldAtMostMaxObservations() {
+        int half = SyncOutbox.MAX_BATCH_OBSERVATIONS / 2;
+        // The third hike would go over the limit, the fourth fits with it
+        List<List<Integer>> batches = split(Arrays.asList(half, half, 1, half - 1, 10));
+        assertEquals(Arrays.asList(
+                Arrays.asList(half, half),
+                Arrays.asList(1, half - 1, 10)), batches);
+    }
+
+    @Test
+    public void oversizedHikeGetsItsOwnBatch() {
+        int tooMany = SyncOutbox.MAX_BATCH_OBSERVATIONS + 1;
+        List<List<Integer>> batches = split(Arrays.asList(3, tooMany, 4));
+        assertEquals(Arrays.asList(
+                Collections.singletonList(3),
+                Collections.singletonList(tooMany),
+                Collections.singletonList(4)), batches);
+    }
+
+    @Test
+    public void splitKeepsEveryHikeInOrder() {
+        List<Integer> hikes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            hikes.add(i * 7 % 60);
+        }
+        List<Integer> joined = new ArrayList<>();
+        for (List<Integer> batch : split(hikes)) {
+            assertFalse(batch.isEmpty());
+            joined.addAll(batch);
+        }
+        assertEquals(hikes, joined);
+        assertTrue(split(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void runBoundedKeepsAtMostPermitsInFlight() throws Exception {
+        // More threads than permits, only the semaphore limits concurrency
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> done = new CopyOnWriteArrayList<>();
+        try {
+            List<Integer> items = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                items.add(i);
+            }
+            SyncOutbox.runBounded(items, item -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.add(item);
+            }, executor, new Semaphore(2));
+
+            // Every task finished before runBounded returned
+            assertEquals(20, done.size());
+            assertEquals(new HashSet<>(items), new HashSet<>(done));
+            assertTrue("max in flight " + maxRunning.get(), maxRunning.get() <= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void runBoundedWaitsForAllBeforeRethrowing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Semaphore permits = new Semaphore(2);
+        CountDownLatch slowDone = new CountDownLatch(1);
+        try {
+            SyncOutbox.runBounded(Arrays.asList(1, 2), item -> {
+                if (item == 1) {
+                    throw new IllegalStateException("upload failed");
+                }
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slowDone.countDown();
+            }, executor, permits);
+            fail("Expected the failure of the first task");
+        } catch (ExecutionException e) {
+            assertEquals("upload failed", e.getCause().getMessage());
+            // The next pass must not start while a batch of this one is still running
+            assertTrue(slowDone.await(0, TimeUnit.MILLISECONDS));
+            // A failed task gives its permit back
+            assertEquals(2, permits.availablePermits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void saturatedPassBlocksTheDrainThreadUntilAPermitFrees() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Semaphore permits = new Semaphore(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        Thread drain = new Thread(() -> {
+            try {
+                SyncOutbox.runBounded(Arrays.asList(1, 2, 3, 4, 5), item -> {
+                    started.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, executor, permits);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            drain.start();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (started.get() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            Thread.sleep(50);
+
+            // Queue full: two uploads running, the drain thread waits instead of submitting more
+            assertEquals(2, started.get());
+            assertEquals(0, permits.availablePermits());
+            assertEquals(Thread.State.WAITING, drain.getState());
+
+            release.countDown();
+            drain.join(5_000);
+            assertFalse(drain.isAlive());
+            assertEquals(5, started.get());
+            assertEquals(2, permits.availablePermits());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void burstOfCallersKeepsOnlyTheNewest() {
+        List<Integer> waiting = new ArrayList<>();
+        List<Integer> released = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            released.addAll(SyncOutbox.addCapped(waiting, i, 8));
+            assertTrue(waiting.size() <= 8);
+        }
+
+        // Every caller is answered once: 92 released in arrival order, the last 8 wait for the upload
+        assertEquals(92, released.size());
+        for (int i = 0; i < released.size(); i++) {
+            assertEquals(i, (int) released.get(i));
+        }
+        assertEquals(Arrays.asList(92, 93, 94, 95, 96, 97, 98, 99), waiting);
+    }
+
+    @Test
+    public void addCappedReleasesTheOldest() {
+        List<String> waiting = new ArrayList<>();
+        assertTrue(SyncOutbox.addCapped(waiting, "a", 2).isEmpty());
+        assertTrue(SyncOutbox.addCapped(waiting, "b", 2).isEmpty());
+
+        assertEquals(Collections.singletonList("a"), SyncOutbox.addCapped(waiting, "c", 2));
+        assertEquals(Arrays.asList("b", "c"), waiting);
+    }
+
+    @Test
+    public void deltaOnlyWhenAdvertisedForASyncedLiveHike() {
+        Instant syncedUntil = Instant.parse("2025-04-02T09:30:00Z");
+        assertTrue(SyncOutbox.useDelta(false, syncedUntil, true));
+
+        // A backend that never advertised deltas may replace the whole hike
+        assertFalse(SyncOutbox.useDelta(false, syncedUntil, false));
+        // Never synced: the backend has nothing to apply a delta to
+        assertFalse(SyncOutbox.useDelta(false, null, true));
+        // Deleted hikes are always sent in full
+        assertFalse(SyncOutbox.useDelta(true, syncedUntil, true));
+    }
+
+    @Test
+    public void capabilityListIsCommaSeparatedAndCaseInsensitive() {
+        assertTrue(SyncOutbox.hasCapability("delta", "delta"));
+        assertTrue(SyncOutbox.hasCapability("gzip, Delta", "delta"));
+        assertFalse(SyncOutbox.hasCapability("gzip", "delta"));
+        assertFalse(SyncOutbox.hasCapability("deltas", "delta"));
+        assertFalse(SyncOutbox.hasCapability(null, "delta"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.hikenativeapp.data.weather;
+
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HourlySeriesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private static long epoch(LocalDate date, int hour) {
+        return LocalDateTime.of(date, LocalTime.of(hour, 0)).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * All hours of DAY, DAY+1 from 15:00 only, nothing on DAY+2, DAY+3 00:00-05:00.
+     * Arrays are longer than size like the ones the adapter builds, the spare slots are 0.
+     */
+    private static HourlySeries series() {
+        List<Long> times = new ArrayList<>();
+        for (int h = 0; h < 24; h++) {
+            times.add(epoch(DAY, h));
+        }
+        for (int h = 15; h < 24; h++) {
+            times.add(epoch(DAY.plusDays(1), h));
+        }
+        for (int h = 0; h < 6; h++) {
+            times.add(epoch(DAY.plusDays(3), h));
+        }
+        int size = times.size();
+        long[] t = new long[size + 10];
+        float[] temperature = new float[size + 10];
+        for (int i = 0; i < size; i++) {
+            t[i] = times.get(i);
+            temperature[i] = i;
+        }
+        return new HourlySeries(t, temperature, new float[size + 10], new float[size + 10], size,
+                Instant.parse("2025-03-10T00:30:00Z"));
+    }
+
+    @Test
+    public void middayWhenPresent() {
+        assertEquals(12, series().middayIndex(DAY));
+    }
+
+    @Test
+    public void firstHourOfTheDateWithoutMidday() {
+        // DAY+1 starts at 15:00, index 24
+        assertEquals(24, series().middayIndex(DAY.plusDays(1)));
+        // DAY+3 ends before noon
+        assertEquals(33, series().middayIndex(DAY.plusDays(3)));
+    }
+
+    @Test
+    public void minusOneOutsideTheSeries() {
+        HourlySeries series = series();
+        assertEquals(-1, series.middayIndex(DAY.minusDays(1)));
+        assertEquals(-1, series.middayIndex(DAY.plusDays(2)));
+        assertEquals(-1, series.middayIndex(DAY.plusDays(4)));
+        // The zeros past size are 1970-01-01 and must not be found
+        assertEquals(-1, series.middayIndex(LocalDate.of(1970, 1, 1)));
+    }
+
+    @Test
+    public void emptySeriesHasNoDays() {
+        HourlySeries empty = new HourlySeries(new long[4], new float[4], new float[4], new float[4], 0, Instant.now());
+        assertEquals(-1, empty.middayIndex(DAY));
+        assertTrue(empty.toDailyForecasts(0, 0).isEmpty());
+    }
+
+    @Test
+    public void dailyForecastsSkipDaysWithoutHours() {
+        List<WeatherForecast> forecasts = series().toDailyForecasts(210, 1058);
+        assertEquals(3, forecasts.size());
+        assertEquals(DAY, forecasts.get(0).getForecastDate());
+        assertEquals(12.0, forecasts.get(0).getTemperature(), 0.0);
+        assertEquals(DAY.plusDays(1), forecasts.get(1).getForecastDate());
+        assertEquals(24.0, forecasts.get(1).getTemperature(), 0.0);
+        assertEquals(DAY.plusDays(3), forecasts.get(2).getForecastDate());
+        assertEquals(33.0, forecasts.get(2).getTemperature(), 0.0);
+    }
+}
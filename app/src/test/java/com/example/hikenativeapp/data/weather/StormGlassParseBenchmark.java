@@ -0,0 +1,201 @@
+package com.example.hikenativeapp.data.weather;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Timing harness for a recorded StormGlass response: the streaming StormGlassSeriesAdapter
+ * against reflective Gson into an object per hour plus the copy into the series (the
+ * StormGlassResponse model and HourlySeries.fromResponse it replaced).
+ * Not part of the normal test run, build.gradle.kts excludes *Benchmark unless -Pbenchmark is set.
+ * Record the 16-day window of WeatherService once and pass the file:
+ *   curl -H "Authorization: $KEY" "https://api.stormglass.io/v2/weather/point?lat=22.3&lng=103.8
+ *     &params=airTemperature,cloudCover,precipitation&start=...&end=..." > forecast.json
+ *   ./gradlew :app:testDebugUnitTest -Pbenchmark -Pstormglass.payload=forecast.json --tests "*StormGlassParseBenchmark"
+ * Median time and allocated bytes per parse go to build/reports/benchmarks/stormglass-parse.txt.
+ */
+public class StormGlassParseBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 1000;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    @Test
+    public void streamingVersusReflectiveParse() throws IOException {
+        String payload = System.getProperty("stormglass.payload");
+        assumeTrue("No recorded StormGlass response, set -Pstormglass.payload", payload != null && !payload.isEmpty());
+        String json = new String(Files.readAllBytes(new File(payload).toPath()), StandardCharsets.UTF_8);
+
+        StormGlassSeriesAdapter adapter = new StormGlassSeriesAdapter();
+        Gson gson = new Gson();
+        ToIntFunction<String> streaming = body -> {
+            try {
+                return adapter.fromJson(body).size();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        ToIntFunction<String> reflective = body -> toSeries(gson.fromJson(body, ReflectiveResponse.class)).size();
+
+        // Both parsers must read the same hours before their cost is compared
+        HourlySeries streamed = adapter.fromJson(json);
+        HourlySeries reflected = toSeries(gson.fromJson(json, ReflectiveResponse.class));
+        assertTrue("Recorded response has no hours", streamed.size() > 0);
+        assertEquals(reflected.size(), streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals(reflected.timeAt(i), streamed.timeAt(i));
+            assertEquals(reflected.temperatureAt(i), streamed.temperatureAt(i), 0f);
+            assertEquals(reflected.cloudCoverAt(i), streamed.cloudCoverAt(i), 0f);
+            assertEquals(reflected.precipitationAt(i), streamed.precipitationAt(i), 0f);
+        }
+
+        Result stream = measure(streaming, json);
+        Result reflect = measure(reflective, json);
+        if (stream.bytesPerParse >= 0 && reflect.bytesPerParse >= 0) {
+            // The point of the adapter: no object per hour
+            assertTrue("Streaming parse allocated " + stream + ", reflective " + reflect,
+                    stream.bytesPerParse < reflect.bytesPerParse);
+        }
+
+        File reportDir = new File(System.getProperty("benchmark.reportDir", "build/reports/benchmarks"));
+        assertTrue(reportDir.isDirectory() || reportDir.mkdirs());
+        try (Writer report = Files.newBufferedWriter(new File(reportDir, "stormglass-parse.txt").toPath(),
+                StandardCharsets.UTF_8)) {
+            report.write("StormGlass parse of " + payload + " (" + json.length() + " chars, "
+                    + streamed.size() + " hours), median of " + MEASURED_ITERATIONS + " runs\n");
+            report.write("streaming adapter: " + stream + "\n");
+            report.write("reflective model:  " + reflect + "\n");
+        }
+    }
+
+    private static Result measure(ToIntFunction<String> parse, String json) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += parse.applyAsInt(json);
+        }
+
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            sink += parse.applyAsInt(json);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+        assertTrue(sink > 0);
+
+        Arrays.sort(nanos);
+        return new Result(nanos[MEASURED_ITERATIONS / 2],
+                allocated >= 0 ? allocated / MEASURED_ITERATIONS : -1);
+    }
+
+    // What HourlySeries.fromResponse did with the reflective model
+    private static HourlySeries toSeries(ReflectiveResponse response) {
+        int capacity = response.hours.size();
+        long[] times = new long[capacity];
+        float[] temperature = new float[capacity];
+        float[] cloudCover = new float[capacity];
+        float[] precipitation = new float[capacity];
+        int size = 0;
+        for (ReflectiveHour hour : response.hours) {
+            try {
+                times[size] = OffsetDateTime.parse(hour.time).toEpochSecond();
+            } catch (DateTimeParseException | NullPointerException e) {
+                continue;
+            }
+            temperature[size] = (float) value(hour.airTemperature);
+            cloudCover[size] = (float) value(hour.cloudCover);
+            precipitation[size] = (float) value(hour.precipitation);
+            size++;
+        }
+        return new HourlySeries(times, temperature, cloudCover, precipitation, size, Instant.now());
+    }
+
+    private static double value(ReflectiveDataPoint point) {
+        if (point == null) {
+            return 0.0;
+        }
+        if (point.noaa != null) {
+            return point.noaa;
+        }
+        return point.sg != null ? point.sg : 0.0;
+    }
+
+    // Bytes allocated by this thread, -1 if the JVM does not track it
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static class Result {
+        final long medianNanos;
+        final long bytesPerParse;
+
+        Result(long medianNanos, long bytesPerParse) {
+            this.medianNanos = medianNanos;
+            this.bytesPerParse = bytesPerParse;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f ms, %s", medianNanos / 1_000_000.0,
+                    bytesPerParse >= 0 ? bytesPerParse / 1024 + " KiB allocated" : "allocation not tracked");
+        }
+    }
+
+    // Shape of the removed StormGlassResponse, the baseline of the streaming adapter
+    private static class ReflectiveResponse {
+        @SerializedName("hours")
+        List<ReflectiveHour> hours;
+    }
+
+    private static class ReflectiveHour {
+        @SerializedName("time")
+        String time;
+
+        @SerializedName("airTemperature")
+        ReflectiveDataPoint airTemperature;
+
+        @SerializedName("cloudCover")
+        ReflectiveDataPoint cloudCover;
+
+        @SerializedName("precipitation")
+        ReflectiveDataPoint precipitation;
+    }
+
+    private static class ReflectiveDataPoint {
+        @SerializedName("noaa")
+        Double noaa;
+
+        @SerializedName("sg")
+        Double sg;
+
+        @SerializedName("icon")
+        Double icon;
+
+        @SerializedName("meteo")
+        Double meteo;
+    }
+}
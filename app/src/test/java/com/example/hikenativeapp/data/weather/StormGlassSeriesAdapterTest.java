@@ -0,0 +1,160 @@
+package com.example.hikenativeapp.data.weather;
+
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * StormGlassSeriesAdapter against a 16-day StormGlass point response (all sources and meta)
+ */
+public class StormGlassSeriesAdapterTest {
+
+    static final String FIXTURE = "stormglass/forecast_16_days.json";
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 10);
+
+    private final StormGlassSeriesAdapter adapter = new StormGlassSeriesAdapter();
+
+    static String readFixture() throws IOException {
+        try (InputStream in = StormGlassSeriesAdapterTest.class.getClassLoader().getResourceAsStream(FIXTURE)) {
+            assertNotNull("Missing test resource " + FIXTURE, in);
+            StringBuilder json = new StringBuilder();
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                json.append(buffer, 0, read);
+            }
+            return json.toString();
+        }
+    }
+
+    @Test
+    public void readsEveryHourOfTheFixture() throws IOException {
+        HourlySeries series = adapter.fromJson(readFixture());
+
+        assertEquals(16 * 24, series.size());
+        assertEquals(16, series.toDailyForecasts(0, 0).size());
+    }
+
+    @Test
+    public void middayValuesMatchTheTreeModel() throws IOException {
+        String json = readFixture();
+        HourlySeries series = adapter.fromJson(json);
+        JsonObject root = new JsonParser().parse(json).getAsJsonObject();
+
+        for (JsonElement element : root.getAsJsonArray("hours")) {
+            JsonObject hour = element.getAsJsonObject();
+            OffsetDateTime time = OffsetDateTime.parse(hour.get("time").getAsString());
+            if (time.getHour() != 12) {
+                continue;
+            }
+            WeatherForecast forecast = series.toDailyForecast(0, 0, time.toLocalDate());
+            assertNotNull(forecast);
+            assertEquals(expected(hour, "airTemperature"), forecast.getTemperature(), 0.001);
+            assertEquals(expected(hour, "cloudCover"), forecast.getCloudCover(), 0.001);
+            assertEquals(expected(hour, "precipitation"), forecast.getPrecipitation(), 0.001);
+        }
+    }
+
+    @Test
+    public void fallsBackToSgWhenNoaaIsMissing() throws IOException {
+        // The fixture has no noaa values for its last two days
+        String json = readFixture();
+        HourlySeries series = adapter.fromJson(json);
+        JsonObject lastMidday = new JsonParser().parse(json).getAsJsonObject()
+                .getAsJsonArray("hours").get(15 * 24 + 12).getAsJsonObject();
+        JsonObject temperature = lastMidday.getAsJsonObject("airTemperature");
+        assertFalse(temperature.has("noaa"));
+
+        WeatherForecast forecast = series.toDailyForecast(0, 0, FIRST_DAY.plusDays(15));
+        assertEquals(temperature.get("sg").getAsDouble(), forecast.getTemperature(), 0.001);
+    }
+
+    @Test
+    public void missingParamIsZeroAndUnreadableTimeIsSkipped() throws IOException {
+        String json = "{\"hours\":["
+                + "{\"time\":\"2025-03-10T11:00:00+00:00\",\"airTemperature\":{\"sg\":4.5}},"
+                + "{\"time\":\"not a time\",\"airTemperature\":{\"noaa\":99}},"
+                + "{\"time\":\"2025-03-10T12:00:00+00:00\",\"airTemperature\":{\"noaa\":\"n/a\",\"sg\":6.5},"
+                + "\"cloudCover\":null}"
+                + "],\"meta\":{\"cost\":1}}";
+        HourlySeries series = adapter.fromJson(json);
+
+        assertEquals(2, series.size());
+        WeatherForecast forecast = series.toDailyForecast(0, 0, FIRST_DAY);
+        assertEquals(6.5, forecast.getTemperature(), 0.001);
+        assertEquals(0.0, forecast.getCloudCover(), 0.0);
+        assertEquals(0.0, forecast.getPrecipitation(), 0.0);
+    }
+
+    @Test
+    public void nullRoundTrips() throws IOException {
+        assertNull(adapter.fromJson("null"));
+        assertEquals("null", adapter.toJson(null));
+    }
+
+    @Test
+    public void writtenSeriesReadsBackTheSameValues() throws IOException {
+        HourlySeries series = adapter.fromJson(readFixture());
+        HourlySeries copy = adapter.fromJson(new StringReader(adapter.toJson(series)));
+
+        assertEquals(series.size(), copy.size());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals(series.timeAt(i), copy.timeAt(i));
+            assertEquals(series.temperatureAt(i), copy.temperatureAt(i), 0f);
+            assertEquals(series.cloudCoverAt(i), copy.cloudCoverAt(i), 0f);
+            assertEquals(series.precipitationAt(i), copy.precipitationAt(i), 0f);
+        }
+    }
+
+    @Test
+    public void forecastsCoverTheWholeWindow() throws IOException {
+        List<WeatherForecast> forecasts = adapter.fromJson(readFixture()).toDailyForecasts(21, 105);
+
+        assertEquals(FIRST_DAY, forecasts.get(0).getForecastDate());
+        assertEquals(FIRST_DAY.plusDays(15), forecasts.get(forecasts.size() - 1).getForecastDate());
+    }
+
+    @Test
+    public void timeFastPathMatchesTheParser() {
+        String[] times = {"2025-03-10T00:00:00+00:00", "2024-02-29T23:59:59+00:00",
+                "1999-12-31T12:30:15+00:00", "2025-03-10T12:00:00+02:00", "2025-03-10T12:00:00Z"};
+        for (String time : times) {
+            assertEquals(time, OffsetDateTime.parse(time).toEpochSecond(), StormGlassSeriesAdapter.parseTime(time));
+        }
+    }
+
+    @Test(expected = DateTimeException.class)
+    public void timeFastPathRejectsAnImpossibleDate() {
+        StormGlassSeriesAdapter.parseTime("2025-02-30T12:00:00+00:00");
+    }
+
+    // Same source preference as the adapter: noaa, else sg, else 0
+    private static double expected(JsonObject hour, String param) {
+        JsonObject sources = hour.getAsJsonObject(param);
+        if (sources == null) {
+            return 0;
+        }
+        if (sources.has("noaa")) {
+            return sources.get("noaa").getAsFloat();
+        }
+        return sources.has("sg") ? sources.get("sg").getAsFloat() : 0;
+    }
+}
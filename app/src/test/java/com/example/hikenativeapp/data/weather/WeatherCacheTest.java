@@ -0,0 +1,140 @@
+package com.example.hikenativeapp.data.weather;
+
+import com.example.hikenativeapp.data.local.entity.WeatherForecast;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WeatherCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private static WeatherForecast forecast(LocalDate date, Instant fetchedAt) {
+        return new WeatherForecast(210, 1058, date, 18, 40, 0, fetchedAt);
+    }
+
+    @Test
+    public void ttlShrinksAsTheDateGetsCloser() {
+        assertEquals(Duration.ofHours(1), WeatherCache.ttl(TODAY, TODAY));
+        assertEquals(Duration.ofHours(3), WeatherCache.ttl(TODAY.plusDays(1), TODAY));
+        assertEquals(Duration.ofHours(6), WeatherCache.ttl(TODAY.plusDays(2), TODAY));
+        assertEquals(Duration.ofHours(6), WeatherCache.ttl(TODAY.plusDays(3), TODAY));
+        assertEquals(Duration.ofHours(12), WeatherCache.ttl(TODAY.plusDays(4), TODAY));
+        assertEquals(Duration.ofHours(12), WeatherCache.ttl(TODAY.plusDays(16), TODAY));
+    }
+
+    @Test
+    public void pastDatesUseTheShortestTtl() {
+        assertEquals(Duration.ofHours(1), WeatherCache.ttl(TODAY.minusDays(1), TODAY));
+    }
+
+    @Test
+    public void freshThenUsableThenExpired() {
+        Instant now = Instant.parse("2025-03-10T08:00:00Z");
+
+        WeatherForecast recent = forecast(TODAY, now.minusSeconds(59 * 60));
+        assertTrue(WeatherCache.isFresh(recent, now));
+        assertTrue(WeatherCache.isUsable(recent, now));
+
+        // Past the 1h TTL, still shown while a refresh runs
+        WeatherForecast stale = forecast(TODAY, now.minusSeconds(2 * 3600));
+        assertFalse(WeatherCache.isFresh(stale, now));
+        assertTrue(WeatherCache.isUsable(stale, now));
+
+        WeatherForecast expired = forecast(TODAY, now.minusSeconds(3 * 3600));
+        assertFalse(WeatherCache.isFresh(expired, now));
+        assertFalse(WeatherCache.isUsable(expired, now));
+    }
+
+    @Test
+    public void neverFetchedIsNeverFresh() {
+        Instant now = Instant.parse("2025-03-10T08:00:00Z");
+        assertFalse(WeatherCache.isFresh(forecast(TODAY, null), now));
+        assertFalse(WeatherCache.isUsable(forecast(TODAY, null), now));
+    }
+
+    @Test
+    public void todayIsTakenInUtc() {
+        // 23:30 UTC is already the next day east of Greenwich, the forecast of the 11th is still tomorrow
+        Instant now = Instant.parse("2025-03-10T23:30:00Z");
+        WeatherForecast tomorrow = forecast(TODAY.plusDays(1), now.minusSeconds(2 * 3600));
+        assertTrue(WeatherCache.isFresh(tomorrow, now));
+    }
+
+    // Hourly series over whole UTC days
+    private static HourlySeries series(LocalDate from, int days, Instant fetchedAt) {
+        int size = days * 24;
+        long[] times = new long[size];
+        long start = from.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        for (int i = 0; i < size; i++) {
+            times[i] = start + i * 3600L;
+        }
+        return new HourlySeries(times, new float[size], new float[size], new float[size], size, fetchedAt);
+    }
+
+    @Test
+    public void pastDayIsKeptNextToTheWindow() {
+        Instant fetchedAt = Instant.parse("2025-03-10T08:00:00Z");
+        HourlySeries window = series(TODAY, 17, fetchedAt);
+        HourlySeries pastDay = series(TODAY.minusDays(3), 1, fetchedAt.plusSeconds(60));
+
+        List<HourlySeries> merged = WeatherCache.mergeSeries(Arrays.asList(window), pastDay);
+        assertEquals(Arrays.asList(pastDay, window), merged);
+
+        // Both answer their own days, each with its own fetch time
+        assertNotNull(merged.get(0).toDailyForecast(210, 1058, TODAY.minusDays(3)));
+        assertEquals(fetchedAt, merged.get(1).toDailyForecast(210, 1058, TODAY.plusDays(5)).getFetchedAt());
+    }
+
+    @Test
+    public void newWindowReplacesTheOldOneButNotThePastDay() {
+        Instant fetchedAt = Instant.parse("2025-03-10T08:00:00Z");
+        HourlySeries oldWindow = series(TODAY, 17, fetchedAt);
+        HourlySeries pastDay = series(TODAY.minusDays(3), 1, fetchedAt);
+        HourlySeries newWindow = series(TODAY, 17, fetchedAt.plusSeconds(3600));
+
+        assertEquals(Arrays.asList(newWindow, pastDay),
+                WeatherCache.mergeSeries(Arrays.asList(pastDay, oldWindow), newWindow));
+    }
+
+    @Test
+    public void firstSeriesOfACell() {
+        HourlySeries window = series(TODAY, 17, Instant.parse("2025-03-10T08:00:00Z"));
+        assertEquals(Arrays.asList(window), WeatherCache.mergeSeries(null, window));
+    }
+
+    @Test
+    public void seriesOfACellAreCappedOldestOut() {
+        Instant fetchedAt = Instant.parse("2025-03-10T08:00:00Z");
+        List<HourlySeries> cell = null;
+        HourlySeries[] days = new HourlySeries[WeatherCache.MAX_SERIES_PER_CELL + 1];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = series(TODAY.minusDays(i + 1), 1, fetchedAt);
+            cell = WeatherCache.mergeSeries(cell, days[i]);
+        }
+
+        assertEquals(WeatherCache.MAX_SERIES_PER_CELL, cell.size());
+        assertSame(days[days.length - 1], cell.get(0));
+        assertFalse(cell.contains(days[0]));
+    }
+
+    @Test
+    public void pruneAgeIsPastTheLongestUsableAge() {
+        Instant now = Instant.parse("2025-03-10T08:00:00Z");
+        Instant cutoff = now.minus(WeatherCache.maxUsableAge());
+
+        // Rows the prune keeps may be stale, but a row it drops is never usable, whatever its date
+        LocalDate farOut = TODAY.plusDays(16);
+        assertTrue(WeatherCache.isUsable(forecast(farOut, cutoff.plusSeconds(1)), now));
+        assertFalse(WeatherCache.isUsable(forecast(farOut, cutoff), now));
+        assertFalse(WeatherCache.isUsable(forecast(TODAY.minusDays(1), cutoff), now));
+    }
+}
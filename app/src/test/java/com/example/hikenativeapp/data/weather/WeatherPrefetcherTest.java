@@ -0,0 +1,231 @@
+package com.example.hikenativeapp.data.weather;
+
+import android.content.SharedPreferences;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WeatherPrefetcherTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 2);
+
+    @Test
+    public void budgetCapsTheRequestsOfADay() {
+        SharedPreferences prefs = new MapPreferences();
+
+        assertTrue(WeatherPrefetcher.takeBudget(prefs, DAY, 3));
+        assertTrue(WeatherPrefetcher.takeBudget(prefs, DAY, 3));
+        assertTrue(WeatherPrefetcher.takeBudget(prefs, DAY, 3));
+        assertFalse(WeatherPrefetcher.takeBudget(prefs, DAY, 3));
+        // A refused request is not counted: one more fits a budget of four
+        assertTrue(WeatherPrefetcher.takeBudget(prefs, DAY, 4));
+        assertFalse(WeatherPrefetcher.takeBudget(prefs, DAY, 4));
+    }
+
+    @Test
+    public void budgetStartsOverOnANewDay() {
+        SharedPreferences prefs = new MapPreferences();
+        assertTrue(WeatherPrefetcher.takeBudget(prefs, DAY, 1));
+        assertFalse(WeatherPrefetcher.takeBudget(prefs, DAY, 1));
+
+        assertTrue(WeatherPrefetcher.takeBudget(prefs, DAY.plusDays(1), 1));
+        assertFalse(WeatherPrefetcher.takeBudget(prefs, DAY.plusDays(1), 1));
+    }
+
+    @Test
+    public void zeroBudgetMakesNoRequests() {
+        assertFalse(WeatherPrefetcher.takeBudget(new MapPreferences(), DAY, 0));
+    }
+
+    @Test
+    public void passesRunAfterTheInitialDelayAndEveryIntervalAfterThePrevious() throws Exception {
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(2);
+        List<long[]> runs = new ArrayList<>(); // start and end of each pass, nanoseconds
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch fourPasses = new CountDownLatch(4);
+
+        long scheduledAt = System.nanoTime();
+        WeatherPrefetcher.schedulePasses(executor, () -> {
+            long start = System.nanoTime();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            synchronized (runs) {
+                runs.add(new long[]{start, System.nanoTime()});
+            }
+            fourPasses.countDown();
+        }, 100, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fourPasses.await(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        synchronized (runs) {
+            assertTrue(runs.get(0)[0] - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(100));
+            // Fixed delay: the interval is counted from the end of the previous pass, a slow pass is not caught up
+            for (int i = 1; i < runs.size(); i++) {
+                assertTrue(runs.get(i)[0] - runs.get(i - 1)[1] >= TimeUnit.MILLISECONDS.toNanos(50));
+            }
+        }
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void failingPassDoesNotStopTheSchedule() throws Exception {
+        ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+        AtomicInteger passes = new AtomicInteger();
+        CountDownLatch threePasses = new CountDownLatch(3);
+
+        WeatherPrefetcher.schedulePasses(executor, () -> {
+            threePasses.countDown();
+            if (passes.incrementAndGet() == 1) {
+                throw new IllegalStateException("Database closed");
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(threePasses.await(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    // In-memory SharedPreferences, enough for the budget counters
+    private static class MapPreferences implements SharedPreferences {
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public Map<String, ?> getAll() {
+            return new HashMap<>(values);
+        }
+
+        @Override
+        public String getString(String key, String defValue) {
+            return values.containsKey(key) ? (String) values.get(key) : defValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Set<String> getStringSet(String key, Set<String> defValues) {
+            return values.containsKey(key) ? (Set<String>) values.get(key) : defValues;
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            return values.containsKey(key) ? (Integer) values.get(key) : defValue;
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            return values.containsKey(key) ? (Long) values.get(key) : defValue;
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            return values.containsKey(key) ? (Float) values.get(key) : defValue;
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            return values.containsKey(key) ? (Boolean) values.get(key) : defValue;
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public Editor edit() {
+            Map<String, Object> changes = new HashMap<>();
+            return new Editor() {
+                @Override
+                public Editor putString(String key, String value) {
+                    changes.put(key, value);
+                    return this;
+                }
+
+                @Override
+                public Editor putStringSet(String key, Set<String> value) {
+                    changes.put(key, value);
+                    return this;
+                }
+
+                @Override
+                public Editor putInt(String key, int value) {
+                    changes.put(key, value);
+                    return this;
+                }
+
+                @Override
+                public Editor putLong(String key, long value) {
+                    changes.put(key, value);
+                    return this;
+                }
+
+                @Override
+                public Editor putFloat(String key, float value) {
+                    changes.put(key, value);
+                    return this;
+                }
+
+                @Override
+                public Editor putBoolean(String key, boolean value) {
+                    changes.put(key, value);
+                    return this;
+                }
+
+                @Override
+                public Editor remove(String key) {
+                    changes.put(key, null);
+                    return this;
+                }
+
+                @Override
+                public Editor clear() {
+                    values.clear();
+                    return this;
+                }
+
+                @Override
+                public boolean commit() {
+                    apply();
+                    return true;
+                }
+
+                @Override
+                public void apply() {
+                    for (Map.Entry<String, Object> change : changes.entrySet()) {
+                        if (change.getValue() == null) {
+                            values.remove(change.getKey());
+                        } else {
+                            values.put(change.getKey(), change.getValue());
+                        }
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        }
+    }
+}
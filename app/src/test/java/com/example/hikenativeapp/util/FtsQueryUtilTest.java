@@ -0,0 +1,27 @@
+package com.example.hikenativeapp.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FtsQueryUtilTest {
+
+    @Test
+    public void everyWordBecomesAPrefixTerm() {
+        assertEquals("mou* ridg*", FtsQueryUtil.toPrefixQuery("Mou  Ridg "));
+        assertEquals("đà* lạt*", FtsQueryUtil.toPrefixQuery("Đà Lạt"));
+    }
+
+    @Test
+    public void operatorsAndPunctuationAreDropped() {
+        assertEquals("ridge* or* valley*", FtsQueryUtil.toPrefixQuery("ridge OR \"valley\"*"));
+        assertEquals("a* b*", FtsQueryUtil.toPrefixQuery("a-(b)"));
+    }
+
+    @Test
+    public void nothingSearchableGivesNull() {
+        assertNull(FtsQueryUtil.toPrefixQuery(null));
+        assertNull(FtsQueryUtil.toPrefixQuery("  "));
+        assertNull(FtsQueryUtil.toPrefixQuery("*\"():"));
+    }
+}